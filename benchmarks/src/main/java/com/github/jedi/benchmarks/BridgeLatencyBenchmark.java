@@ -0,0 +1,140 @@
+/*
+ *  Copyright (C) 2026  agent <agent at local>
+ * 
+ *  This file is part of jedi.
+ * 
+ *  jedi is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ * 
+ *  jedi is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU LEsser General Public License for more details.
+ * 
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with jedi.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.jedi.benchmarks;
+
+import com.github.jedi.DefaultPayloadCodec;
+import com.github.jedi.DispatcherConfiguration;
+import com.github.jedi.EventBridge;
+import com.github.jedi.EventDispatcher;
+import com.github.jedi.LongEventListener;
+import com.github.jedi.Topic;
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Latency of an {@link com.github.jedi.EventBridge} from triggering an event
+ * on the publishing dispatcher until the listener of the subscribing
+ * dispatcher has run, sampled so that JMH reports percentiles. Both ends run
+ * in the benchmark JVM and dispatch synchronously, so the result is the time
+ * spent in the ring: encoding, the poll of the subscriber and decoding. The
+ * subscriber either spins between events or parks right away.
+ *
+ * @author agent <agent at local>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(1)
+public class BridgeLatencyBenchmark {
+
+    /**
+     * time the subscriber spins after an event, in µs
+     */
+    @Param({"1000", "0"})
+    public long spinMicros;
+    /**
+     * the bridge file
+     */
+    private File file;
+    /**
+     * the dispatcher publishing into the bridge
+     */
+    private EventDispatcher publisher;
+    /**
+     * the dispatcher subscribed to the bridge
+     */
+    private EventDispatcher subscriber;
+    /**
+     * the publishing end of the bridge
+     */
+    private EventBridge publishing;
+    /**
+     * the subscribing end of the bridge
+     */
+    private EventBridge subscribing;
+    /**
+     * the topic of the event on the publishing dispatcher
+     */
+    private Topic topic;
+    /**
+     * sequence of the last triggered event
+     */
+    private long sequence;
+    /**
+     * sequence of the last event received by the subscriber
+     */
+    private volatile long received;
+
+    @Setup
+    public void setUp() throws IOException {
+        DispatcherConfiguration configuration = new DispatcherConfiguration();
+        configuration.setSynchronous(true);
+        publisher = EventDispatcher.getInstance("bridge-publisher-" + System.nanoTime(),
+                configuration);
+        subscriber = EventDispatcher.getInstance("bridge-subscriber-" + System.nanoTime(),
+                configuration);
+        file = File.createTempFile("jedi-bridge", ".ring");
+        publishing = EventBridge.publish(file, 1 << 20, publisher, "ping");
+        subscribing = EventBridge.subscribe(file, new DefaultPayloadCodec(false), subscriber,
+                spinMicros, TimeUnit.MICROSECONDS);
+        subscriber.addListener("ping", new LongEventListener() {
+            @Override
+            public void handleEvent(String name, long value) {
+                received = value;
+            }
+        });
+        topic = publisher.getTopic("ping");
+    }
+
+    @TearDown
+    public void tearDown() {
+        subscribing.close();
+        publishing.close();
+        subscriber.stop();
+        publisher.stop();
+        file.delete();
+    }
+
+    @Benchmark
+    public long roundTrip() {
+        long next = ++sequence;
+        publisher.triggerLong(topic, null, next);
+        while (received != next) {
+            Thread.onSpinWait();
+        }
+        return next;
+    }
+}
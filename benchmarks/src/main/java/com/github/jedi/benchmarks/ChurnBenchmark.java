@@ -0,0 +1,110 @@
+/*
+ *  Copyright (C) 2026  agent <agent at local>
+ * 
+ *  This file is part of jedi.
+ * 
+ *  jedi is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ * 
+ *  jedi is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU LEsser General Public License for more details.
+ * 
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with jedi.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.jedi.benchmarks;
+
+import com.github.jedi.DispatcherConfiguration;
+import com.github.jedi.Event;
+import com.github.jedi.EventDispatcher;
+import com.github.jedi.EventListener;
+import com.github.jedi.Topic;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Dispatching while another thread keeps registering and removing a
+ * listener of the same event. JMH reports the throughput of both threads;
+ * compared with {@link FanOutBenchmark} it shows what registration churn
+ * costs the dispatching thread.
+ *
+ * @author agent <agent at local>
+ */
+@State(Scope.Group)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ChurnBenchmark {
+
+    /**
+     * the data of every event
+     */
+    private static final Object DATA = "data";
+    /**
+     * number of listeners registered for the whole run
+     */
+    @Param({"10", "1000"})
+    public int listeners;
+    /**
+     * the dispatcher under test
+     */
+    private EventDispatcher dispatcher;
+    /**
+     * the topic of the event
+     */
+    private Topic topic;
+    /**
+     * the listener which is registered and removed
+     */
+    private final EventListener churner = new FanOutBenchmark.CountingListener();
+
+    @Setup
+    public void setUp() {
+        DispatcherConfiguration configuration = new DispatcherConfiguration();
+        configuration.setSynchronous(true);
+        dispatcher = EventDispatcher.getInstance("churn-" + System.nanoTime(), configuration);
+        topic = dispatcher.getTopic("event");
+        for (int i = 0; i < listeners; i++) {
+            dispatcher.addListener(topic, new FanOutBenchmark.CountingListener());
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        dispatcher.stop();
+    }
+
+    @Benchmark
+    @Group("churn")
+    @GroupThreads(1)
+    public void dispatch() {
+        dispatcher.dispatchNow(topic, null, DATA);
+    }
+
+    @Benchmark
+    @Group("churn")
+    @GroupThreads(1)
+    public void register() {
+        dispatcher.addListener(topic, churner);
+        dispatcher.removeListener(topic, churner);
+    }
+}
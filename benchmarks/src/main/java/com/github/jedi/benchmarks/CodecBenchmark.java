@@ -0,0 +1,141 @@
+/*
+ *  Copyright (C) 2026  agent <agent at local>
+ * 
+ *  This file is part of jedi.
+ * 
+ *  jedi is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ * 
+ *  jedi is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU LEsser General Public License for more details.
+ * 
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with jedi.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.jedi.benchmarks;
+
+import com.github.jedi.Event;
+import com.github.jedi.EventCodec;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Encoding and decoding an event with the
+ * {@link com.github.jedi.EventCodec} compared with Java serialization of the
+ * same name, context, data and time. The codec keeps its name dictionary
+ * between events like it does within a journal segment.
+ *
+ * @author agent <agent at local>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CodecBenchmark {
+
+    /**
+     * the encoded event
+     */
+    private Event event;
+    /**
+     * encodes the event
+     */
+    private final EventCodec encoder = new EventCodec();
+    /**
+     * decodes the event, knows its name already
+     */
+    private final EventCodec decoder = new EventCodec();
+    /**
+     * the buffer the event is encoded into
+     */
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(4096);
+    /**
+     * the event encoded by a codec which has seen its name before
+     */
+    private ByteBuffer encoded;
+    /**
+     * the event written using Java serialization
+     */
+    private byte[] serialized;
+
+    @Setup
+    public void setUp() throws IOException {
+        event = new Event("market.price", "feed-1", Long.valueOf(4217));
+        encoder.encode(event, buffer);
+        buffer.flip();
+        decoder.decode(buffer);
+        buffer.clear();
+        encoder.encode(event, buffer);
+        buffer.flip();
+        encoded = buffer.slice();
+        serialized = serialize(event);
+    }
+
+    @Benchmark
+    public int codecEncode() {
+        buffer.clear();
+        encoder.encode(event, buffer);
+        return buffer.position();
+    }
+
+    @Benchmark
+    public Event codecDecode() {
+        return decoder.decode(encoded.duplicate());
+    }
+
+    @Benchmark
+    public byte[] javaEncode() throws IOException {
+        return serialize(event);
+    }
+
+    @Benchmark
+    public Object javaDecode() throws IOException, ClassNotFoundException {
+        ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(serialized));
+        try {
+            return in.readObject();
+        } finally {
+            in.close();
+        }
+    }
+
+    /**
+     * Writes name, context, data and time of an event using Java
+     * serialization
+     *
+     * @param event the event
+     * @return the serialized event
+     * @throws IOException never
+     */
+    private static byte[] serialize(Event event) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+        ObjectOutputStream out = new ObjectOutputStream(bytes);
+        try {
+            out.writeObject(new Object[]{event.getName(), event.getContext(), event.getData(),
+                event.getTime()});
+        } finally {
+            out.close();
+        }
+        return bytes.toByteArray();
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ *  Copyright (C) 2026  agent <agent at local>
+ * 
+ *  This file is part of jedi.
+ * 
+ *  jedi is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ * 
+ *  jedi is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU LEsser General Public License for more details.
+ * 
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with jedi.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.jedi.benchmarks;
+
+import com.github.jedi.DispatcherConfiguration;
+import com.github.jedi.Event;
+import com.github.jedi.EventDispatcher;
+import com.github.jedi.EventListener;
+import com.github.jedi.Topic;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Cost of dispatching one event to a growing number of listeners. The event
+ * is dispatched on the calling thread of a synchronous dispatcher, so the
+ * result is the cost of the listener collection without any queueing.
+ *
+ * @author agent <agent at local>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FanOutBenchmark {
+
+    /**
+     * the data of every event
+     */
+    private static final Object DATA = "data";
+    /**
+     * number of listeners of the event
+     */
+    @Param({"1", "10", "100", "1000", "10000"})
+    public int listeners;
+    /**
+     * the dispatcher under test
+     */
+    private EventDispatcher dispatcher;
+    /**
+     * the topic of the event
+     */
+    private Topic topic;
+
+    @Setup
+    public void setUp() {
+        DispatcherConfiguration configuration = new DispatcherConfiguration();
+        configuration.setSynchronous(true);
+        dispatcher = EventDispatcher.getInstance("fanout-" + System.nanoTime(), configuration);
+        topic = dispatcher.getTopic("event");
+        for (int i = 0; i < listeners; i++) {
+            dispatcher.addListener(topic, new CountingListener());
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        dispatcher.stop();
+    }
+
+    @Benchmark
+    public void dispatch() {
+        dispatcher.dispatchNow(topic, null, DATA);
+    }
+
+    /**
+     * A listener which only counts its events
+     */
+    static final class CountingListener implements EventListener {
+
+        /**
+         * number of handled events
+         */
+        long count;
+
+        @Override
+        public void handleEvent(Event event) {
+            count++;
+        }
+    }
+}
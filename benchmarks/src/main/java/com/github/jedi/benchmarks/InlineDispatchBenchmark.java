@@ -0,0 +1,154 @@
+/*
+ *  Copyright (C) 2026  agent <agent at local>
+ * 
+ *  This file is part of jedi.
+ * 
+ *  jedi is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ * 
+ *  jedi is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU LEsser General Public License for more details.
+ * 
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with jedi.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.jedi.benchmarks;
+
+import com.github.jedi.DispatcherConfiguration;
+import com.github.jedi.EventDispatcher;
+import com.github.jedi.LongEventListener;
+import com.github.jedi.Topic;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Throughput of queued against inline dispatching, end to end: every
+ * operation dispatches a batch of events and waits until their listeners have
+ * run. Compares
+ * {@link com.github.jedi.EventDispatcher#trigger(com.github.jedi.Topic, java.lang.Object, java.lang.Object)}
+ * on a queued and on a synchronous dispatcher with
+ * {@link com.github.jedi.EventDispatcher#dispatchNow(com.github.jedi.Topic, java.lang.Object, java.lang.Object)}
+ * on a queued dispatcher. With a chain, each listener triggers the event of
+ * the next link in the same way, which the inline modes queue on the
+ * dispatching thread instead of recursing.
+ *
+ * @author agent <agent at local>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(1)
+public class InlineDispatchBenchmark {
+
+    /**
+     * number of events dispatched per operation
+     */
+    private static final int BATCH = 100;
+    /**
+     * how the events are dispatched: <code>queued</code>,
+     * <code>synchronous</code> or <code>dispatchNow</code>
+     */
+    @Param({"queued", "synchronous", "dispatchNow"})
+    public String mode;
+    /**
+     * number of events each dispatched event triggers one after another
+     */
+    @Param({"0", "3"})
+    public int chain;
+    /**
+     * the dispatcher under test
+     */
+    private EventDispatcher dispatcher;
+    /**
+     * the topics of the links of the chain, the first one is dispatched by
+     * the benchmark
+     */
+    private Topic[] links;
+    /**
+     * number of events which have reached the end of the chain
+     */
+    private volatile long handled;
+    /**
+     * number of events dispatched by the benchmark so far
+     */
+    private long dispatched;
+
+    @Setup
+    public void setUp() {
+        DispatcherConfiguration configuration = new DispatcherConfiguration();
+        configuration.setQueueCapacity(1 << 16);
+        configuration.setSynchronous(mode.equals("synchronous"));
+        dispatcher = EventDispatcher.getInstance("inline-" + System.nanoTime(), configuration);
+        links = new Topic[chain + 1];
+        for (int i = 0; i <= chain; i++) {
+            links[i] = dispatcher.getTopic("link-" + i);
+        }
+        for (int i = 0; i < chain; i++) {
+            final Topic next = links[i + 1];
+            dispatcher.addListener(links[i], new LongEventListener() {
+                @Override
+                public void handleEvent(String name, long value) {
+                    dispatch(next, value);
+                }
+            });
+        }
+        dispatcher.addListener(links[chain], new LongEventListener() {
+            @Override
+            public void handleEvent(String name, long value) {
+                /* only the dispatching thread writes */
+                handled = value;
+            }
+        });
+    }
+
+    @TearDown
+    public void tearDown() {
+        dispatcher.stop();
+    }
+
+    /**
+     * Dispatches an event according to the mode
+     *
+     * @param topic the topic of the event
+     * @param value the sequence of the event
+     */
+    private void dispatch(Topic topic, long value) {
+        if (mode.equals("dispatchNow")) {
+            dispatcher.dispatchNow(topic, null, value);
+        } else {
+            dispatcher.triggerLong(topic, null, value);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public long dispatchBatch() {
+        for (int i = 0; i < BATCH; i++) {
+            dispatch(links[0], ++dispatched);
+        }
+        while (handled != dispatched) {
+            Thread.onSpinWait();
+        }
+        return dispatched;
+    }
+}
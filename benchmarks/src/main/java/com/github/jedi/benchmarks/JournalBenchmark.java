@@ -0,0 +1,140 @@
+/*
+ *  Copyright (C) 2026  agent <agent at local>
+ * 
+ *  This file is part of jedi.
+ * 
+ *  jedi is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ * 
+ *  jedi is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU LEsser General Public License for more details.
+ * 
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with jedi.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.jedi.benchmarks;
+
+import com.github.jedi.BackpressurePolicy;
+import com.github.jedi.DispatcherConfiguration;
+import com.github.jedi.Event;
+import com.github.jedi.EventDispatcher;
+import com.github.jedi.EventListener;
+import com.github.jedi.Topic;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Trigger throughput with and without a journal. A journal is either flushed
+ * in the background every sync interval, or every trigger waits for its
+ * event to be forced to disk; threads triggering at the same time share one
+ * flush, which the multi producer case shows. The journal is kept in a
+ * temporary directory, so the result depends on the file system behind it.
+ *
+ * @author agent <agent at local>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JournalBenchmark {
+
+    /**
+     * the data of every event
+     */
+    private static final Object DATA = "data";
+    /**
+     * how events are journaled: <code>none</code>, <code>async</code> for
+     * background flushes or <code>syncOnTrigger</code> for a group commit
+     * per trigger
+     */
+    @Param({"none", "async", "syncOnTrigger"})
+    public String journal;
+    /**
+     * the journal directory, <code>null</code> without journal
+     */
+    private File directory;
+    /**
+     * the dispatcher under test
+     */
+    private EventDispatcher dispatcher;
+    /**
+     * the topic of the events
+     */
+    private Topic topic;
+
+    @Setup
+    public void setUp() throws IOException {
+        DispatcherConfiguration configuration = new DispatcherConfiguration();
+        configuration.setQueueCapacity(1 << 16);
+        configuration.setBackpressurePolicy(BackpressurePolicy.BLOCK);
+        if (!journal.equals("none")) {
+            directory = Files.createTempDirectory("jedi-journal").toFile();
+            configuration.setJournalDirectory(directory);
+            configuration.setJournalSyncOnTrigger(journal.equals("syncOnTrigger"));
+        }
+        dispatcher = EventDispatcher.getInstance("journal-" + System.nanoTime(), configuration);
+        topic = dispatcher.getTopic("event");
+        dispatcher.addListener(topic, new EventListener() {
+            @Override
+            public void handleEvent(Event event) {
+            }
+        });
+    }
+
+    @TearDown
+    public void tearDown() {
+        dispatcher.stop();
+        if (directory != null) {
+            delete(directory);
+        }
+    }
+
+    /**
+     * Deletes
+     * <code>file</code> and everything below it
+     *
+     * @param file the file or directory to delete
+     */
+    private static void delete(File file) {
+        File[] children = file.listFiles();
+        if (children != null) {
+            for (File child : children) {
+                delete(child);
+            }
+        }
+        file.delete();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void singleProducer() {
+        dispatcher.trigger(topic, null, DATA);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void multiProducer() {
+        dispatcher.trigger(topic, null, DATA);
+    }
+}
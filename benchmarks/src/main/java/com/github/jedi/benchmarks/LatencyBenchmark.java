@@ -0,0 +1,121 @@
+/*
+ *  Copyright (C) 2026  agent <agent at local>
+ * 
+ *  This file is part of jedi.
+ * 
+ *  jedi is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ * 
+ *  jedi is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU LEsser General Public License for more details.
+ * 
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with jedi.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.jedi.benchmarks;
+
+import com.github.jedi.DispatcherConfiguration;
+import com.github.jedi.EventDispatcher;
+import com.github.jedi.LongEventListener;
+import com.github.jedi.Topic;
+import com.github.jedi.WaitStrategy;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * End-to-end latency from triggering an event until its listener has run,
+ * sampled so that JMH reports percentiles. Compares a queued dispatcher
+ * parking its worker, a queued dispatcher spinning its worker, a synchronous
+ * dispatcher and
+ * {@link com.github.jedi.EventDispatcher#dispatchNow(com.github.jedi.Topic, java.lang.Object, java.lang.Object)}
+ * on a queued dispatcher.
+ *
+ * @author agent <agent at local>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(1)
+public class LatencyBenchmark {
+
+    /**
+     * how the event is dispatched: <code>queued</code>,
+     * <code>queuedBusySpin</code>, <code>synchronous</code> or
+     * <code>dispatchNow</code>
+     */
+    @Param({"queued", "queuedBusySpin", "synchronous", "dispatchNow"})
+    public String mode;
+    /**
+     * the dispatcher under test
+     */
+    private EventDispatcher dispatcher;
+    /**
+     * the topic of the event
+     */
+    private Topic topic;
+    /**
+     * sequence of the last triggered event
+     */
+    private long sequence;
+    /**
+     * sequence of the last handled event
+     */
+    private volatile long handled;
+
+    @Setup
+    public void setUp() {
+        DispatcherConfiguration configuration = new DispatcherConfiguration();
+        if (mode.equals("queuedBusySpin")) {
+            configuration.setQueueCapacity(1024);
+            configuration.setWaitStrategy(WaitStrategy.BUSY_SPIN);
+        } else if (mode.equals("synchronous")) {
+            configuration.setSynchronous(true);
+        }
+        dispatcher = EventDispatcher.getInstance("latency-" + System.nanoTime(), configuration);
+        topic = dispatcher.getTopic("ping");
+        dispatcher.addListener(topic, new LongEventListener() {
+            @Override
+            public void handleEvent(String name, long value) {
+                handled = value;
+            }
+        });
+    }
+
+    @TearDown
+    public void tearDown() {
+        dispatcher.stop();
+    }
+
+    @Benchmark
+    public long roundTrip() {
+        long next = ++sequence;
+        if (mode.equals("dispatchNow")) {
+            dispatcher.dispatchNow(topic, null, next);
+        } else {
+            dispatcher.triggerLong(topic, null, next);
+        }
+        while (handled != next) {
+            Thread.onSpinWait();
+        }
+        return next;
+    }
+}
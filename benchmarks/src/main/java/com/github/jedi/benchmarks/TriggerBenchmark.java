@@ -0,0 +1,142 @@
+/*
+ *  Copyright (C) 2026  agent <agent at local>
+ * 
+ *  This file is part of jedi.
+ * 
+ *  jedi is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ * 
+ *  jedi is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU LEsser General Public License for more details.
+ * 
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with jedi.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.jedi.benchmarks;
+
+import com.github.jedi.BackpressurePolicy;
+import com.github.jedi.DispatcherConfiguration;
+import com.github.jedi.Event;
+import com.github.jedi.EventDispatcher;
+import com.github.jedi.EventListener;
+import com.github.jedi.Topic;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Throughput of {@link com.github.jedi.EventDispatcher#trigger(com.github.jedi.Topic, java.lang.Object, java.lang.Object)}
+ * with one and with several producers. The queue is bounded and blocks when
+ * it is full, so the result is the rate the dispatcher sustains end to end.
+ * Events are spread over 16 names and dispatched by a single worker thread,
+ * the scaling across workers is measured by
+ * {@link com.github.jedi.benchmarks.WorkerScalingBenchmark}.
+ *
+ * @author agent <agent at local>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TriggerBenchmark {
+
+    /**
+     * number of event names
+     */
+    private static final int NAMES = 16;
+    /**
+     * the data of every event
+     */
+    private static final Object DATA = "data";
+    /**
+     * CPU work of a listener per event, in JMH tokens
+     */
+    @Param({"0", "100"})
+    public int work;
+    /**
+     * the dispatcher under test
+     */
+    private EventDispatcher dispatcher;
+    /**
+     * the topics of the event names
+     */
+    private Topic[] topics;
+
+    @Setup
+    public void setUp() {
+        DispatcherConfiguration configuration = new DispatcherConfiguration();
+        configuration.setQueueCapacity(1 << 16);
+        configuration.setBackpressurePolicy(BackpressurePolicy.BLOCK);
+        dispatcher = EventDispatcher.getInstance("trigger-" + System.nanoTime(), configuration);
+        final long tokens = work;
+        EventListener listener = new EventListener() {
+            @Override
+            public void handleEvent(Event event) {
+                if (tokens > 0) {
+                    Blackhole.consumeCPU(tokens);
+                }
+            }
+        };
+        topics = new Topic[NAMES];
+        for (int i = 0; i < NAMES; i++) {
+            topics[i] = dispatcher.getTopic("event-" + i);
+            dispatcher.addListener(topics[i], listener);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        dispatcher.stop();
+    }
+
+    /**
+     * The position of a producer in the event names
+     */
+    @State(Scope.Thread)
+    public static class Producer {
+
+        /**
+         * the next name
+         */
+        private int next;
+
+        /**
+         * Returns the index of the next name
+         *
+         * @return the index
+         */
+        int next() {
+            return next++ & (NAMES - 1);
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void singleProducer(Producer producer) {
+        dispatcher.trigger(topics[producer.next()], null, DATA);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void multiProducer(Producer producer) {
+        dispatcher.trigger(topics[producer.next()], null, DATA);
+    }
+}
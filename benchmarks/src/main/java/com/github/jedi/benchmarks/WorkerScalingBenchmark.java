@@ -0,0 +1,164 @@
+/*
+ *  Copyright (C) 2026  agent <agent at local>
+ * 
+ *  This file is part of jedi.
+ * 
+ *  jedi is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ * 
+ *  jedi is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU LEsser General Public License for more details.
+ * 
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with jedi.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.jedi.benchmarks;
+
+import com.github.jedi.BackpressurePolicy;
+import com.github.jedi.DispatcherConfiguration;
+import com.github.jedi.Event;
+import com.github.jedi.EventDispatcher;
+import com.github.jedi.EventKeyExtractor;
+import com.github.jedi.EventListener;
+import com.github.jedi.Topic;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Scaling of a partitioned dispatcher from one to several worker threads.
+ * Four producers trigger events spread over 16 names, which the dispatcher
+ * partitions either by name or by a key extractor reading the data. The
+ * queues are bounded and block when they are full, so the result is the rate
+ * the workers sustain. With listeners doing some work, the rate grows with
+ * the number of workers up to the number of cores.
+ *
+ * @author agent <agent at local>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WorkerScalingBenchmark {
+
+    /**
+     * number of event names
+     */
+    private static final int NAMES = 16;
+    /**
+     * the data of the events, one per name
+     */
+    private static final Integer[] DATA = new Integer[NAMES];
+
+    static {
+        for (int i = 0; i < NAMES; i++) {
+            DATA[i] = i;
+        }
+    }
+
+    /**
+     * number of worker threads of the dispatcher
+     */
+    @Param({"1", "2", "4", "8"})
+    public int workers;
+    /**
+     * CPU work of a listener per event, in JMH tokens
+     */
+    @Param({"0", "100"})
+    public int work;
+    /**
+     * <code>true</code> to partition by a key extractor instead of the name
+     */
+    @Param({"false", "true"})
+    public boolean keyed;
+    /**
+     * the dispatcher under test
+     */
+    private EventDispatcher dispatcher;
+    /**
+     * the topics of the event names
+     */
+    private Topic[] topics;
+
+    @Setup
+    public void setUp() {
+        DispatcherConfiguration configuration = new DispatcherConfiguration();
+        configuration.setQueueCapacity(1 << 14);
+        configuration.setBackpressurePolicy(BackpressurePolicy.BLOCK);
+        configuration.setWorkerThreads(workers);
+        if (keyed) {
+            configuration.setKeyExtractor(new EventKeyExtractor() {
+                @Override
+                public Object getKey(Event event) {
+                    return event.getData();
+                }
+            });
+        }
+        dispatcher = EventDispatcher.getInstance("scaling-" + System.nanoTime(), configuration);
+        final long tokens = work;
+        EventListener listener = new EventListener() {
+            @Override
+            public void handleEvent(Event event) {
+                if (tokens > 0) {
+                    Blackhole.consumeCPU(tokens);
+                }
+            }
+        };
+        topics = new Topic[NAMES];
+        for (int i = 0; i < NAMES; i++) {
+            topics[i] = dispatcher.getTopic("event-" + i);
+            dispatcher.addListener(topics[i], listener);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        dispatcher.stop();
+    }
+
+    /**
+     * The position of a producer in the event names
+     */
+    @State(Scope.Thread)
+    public static class Producer {
+
+        /**
+         * the next name
+         */
+        private int next;
+
+        /**
+         * Returns the index of the next name
+         *
+         * @return the index
+         */
+        int next() {
+            return next++ & (NAMES - 1);
+        }
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void trigger(Producer producer) {
+        int i = producer.next();
+        dispatcher.trigger(topics[i], null, DATA[i]);
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ *  Copyright (C) 2026  agent <agent at local>
+ * 
+ *  This file is part of jedi.
+ * 
+ *  jedi is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ * 
+ *  jedi is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU LEsser General Public License for more details.
+ * 
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with jedi.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.jedi;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Marks a journaled {@link com.github.jedi.Event} as done once every listener
+ * has been called for it. The dispatching pass holds the acknowledgement, and
+ * so does every listener called after the pass: batch listeners, listeners on
+ * a {@link com.github.jedi.ListenerLane} and retries of failed listeners. The
+ * journal position is only marked as done when the last of them has settled,
+ * so a crash before that replays the event.
+ *
+ * @author agent <agent at local>
+ */
+final class Acknowledgement {
+
+    /**
+     * number of holders which have not settled yet
+     */
+    private final AtomicInteger pending = new AtomicInteger(1);
+    /**
+     * the journal segment of a plain event, <code>null</code> for a conflated
+     * one
+     */
+    private final EventJournal.Segment segment;
+    /**
+     * offset of a plain event within <code>segment</code>
+     */
+    private final int offset;
+    /**
+     * the queued stand-in of a conflated event, <code>null</code> for a plain
+     * one
+     */
+    private final Event marker;
+    /**
+     * the dispatched event of a conflated event
+     */
+    private final Event latest;
+    /**
+     * the conflation slot of a conflated event
+     */
+    private final Conflation.Slot slot;
+
+    /**
+     * Creates a new Acknowledgement of a plain event, held by the dispatching
+     * pass. The position is taken from the event, since a pooled event may be
+     * reused before the acknowledgement is settled.
+     *
+     * @param segment the journal segment of the event
+     * @param offset offset of the event within <code>segment</code>
+     */
+    Acknowledgement(EventJournal.Segment segment, int offset) {
+        this.segment = segment;
+        this.offset = offset;
+        this.marker = null;
+        this.latest = null;
+        this.slot = null;
+    }
+
+    /**
+     * Creates a new Acknowledgement of a conflated event, held by the
+     * dispatching pass. Conflated events are never pooled.
+     *
+     * @param marker the queued stand-in
+     * @param latest the dispatched event
+     * @param slot the conflation slot
+     */
+    Acknowledgement(Event marker, Event latest, Conflation.Slot slot) {
+        this.segment = null;
+        this.offset = 0;
+        this.marker = marker;
+        this.latest = latest;
+        this.slot = slot;
+    }
+
+    /**
+     * Adds a holder, which has to call {@link #settle()} once its listener has
+     * been called
+     */
+    void hold() {
+        pending.incrementAndGet();
+    }
+
+    /**
+     * Removes a holder, the last one marks the event as done in the journal
+     */
+    void settle() {
+        if (pending.decrementAndGet() != 0) {
+            return;
+        }
+        if (segment != null) {
+            segment.acknowledge(offset);
+        }
+        if (slot != null) {
+            latest.acknowledge();
+            marker.acknowledge();
+            slot.acknowledge();
+        }
+    }
+}
@@ -0,0 +1,46 @@
+/*
+ *  Copyright (C) 2026  agent <agent at local>
+ * 
+ *  This file is part of jedi.
+ * 
+ *  jedi is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ * 
+ *  jedi is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU LEsser General Public License for more details.
+ * 
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with jedi.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.jedi;
+
+/**
+ * Determines what happens when an {@link com.github.jedi.Event} is triggered
+ * on an {@link com.github.jedi.EventDispatcher} whose bounded
+ * {@link com.github.jedi.EventQueue} is full.
+ *
+ * @author agent <agent at local>
+ */
+public enum BackpressurePolicy {
+
+    /**
+     * The triggering thread waits until a slot becomes free.
+     */
+    BLOCK,
+    /**
+     * The triggered event is dropped.
+     */
+    DROP_NEWEST,
+    /**
+     * The oldest enqueued event is dropped to make room for the triggered one.
+     */
+    DROP_OLDEST,
+    /**
+     * An {@link IllegalStateException} is thrown to the triggering thread.
+     */
+    FAIL
+}
@@ -0,0 +1,54 @@
+/*
+ *  Copyright (C) 2026  agent <agent at local>
+ * 
+ *  This file is part of jedi.
+ * 
+ *  jedi is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ * 
+ *  jedi is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU LEsser General Public License for more details.
+ * 
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with jedi.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.jedi;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * An {@link com.github.jedi.EventListener} which receives the events drained
+ * by a dispatcher thread in one pass as a single list, so that it can
+ * amortize expensive work like database writes or network flushes.<br>
+ * Within a pass, a BatchEventListener is called after the plain listeners
+ * have handled the drained events. Where events are not dispatched in passes,
+ * for example by unordered {@link com.github.jedi.VirtualThreadMode#PER_EVENT}
+ * dispatchers, it receives single element lists.
+ *
+ * @author agent <agent at local>
+ */
+public interface BatchEventListener extends EventListener {
+
+    /**
+     * This method is called with all registered events dispatched in one pass,
+     * in the order they were triggered. The list belongs to the listener.
+     *
+     * @param events the events of the pass
+     */
+    public void handleEvents(List<Event> events);
+
+    /**
+     * Handles a single event as a batch of one
+     *
+     * @param event event info
+     */
+    @Override
+    public default void handleEvent(Event event) {
+        handleEvents(Collections.singletonList(event));
+    }
+}
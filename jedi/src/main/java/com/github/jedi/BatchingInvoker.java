@@ -0,0 +1,129 @@
+/*
+ *  Copyright (C) 2026  agent <agent at local>
+ * 
+ *  This file is part of jedi.
+ * 
+ *  jedi is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ * 
+ *  jedi is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU LEsser General Public License for more details.
+ * 
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with jedi.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.jedi;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A {@link com.github.jedi.ListenerInvoker} used for one dispatching pass of
+ * a {@link com.github.jedi.DispatchWorker}. Plain listeners are passed on to
+ * the dispatcher's invoker right away, events for
+ * {@link com.github.jedi.BatchEventListener}s are collected until
+ * {@link #flush()} hands each of them its list. The failure of a batch
+ * listener is handled by the dispatcher's
+ * {@link com.github.jedi.GuardedInvoker}. A journaled event is only marked as
+ * done once the batch listeners have been handed it. Instances are confined to their
+ * worker thread.
+ *
+ * @author agent <agent at local>
+ */
+class BatchingInvoker implements ListenerInvoker {
+
+    /**
+     * calls the plain listeners
+     */
+    private final ListenerInvoker delegate;
+    /**
+     * the batch listeners which received events during the current pass
+     */
+    private final List<EventListenerData> batchListeners = new ArrayList<EventListenerData>();
+    /**
+     * the events of each batch listener, same index as in
+     * <code>batchListeners</code>
+     */
+    private final List<List<Event>> batches = new ArrayList<List<Event>>();
+    /**
+     * records the calls of the batch listeners, <code>null</code> without
+     * metrics
+     */
+    private final DispatcherMetrics metrics;
+    /**
+     * handles the failures of the batch listeners
+     */
+    private final GuardedInvoker guard;
+
+    /**
+     * Creates a new BatchingInvoker
+     *
+     * @param delegate calls the plain listeners
+     * @param metrics records the calls of the batch listeners, may be
+     * <code>null</code>
+     * @param guard handles the failures of the batch listeners
+     */
+    BatchingInvoker(ListenerInvoker delegate, DispatcherMetrics metrics,
+            GuardedInvoker guard) {
+        this.delegate = delegate;
+        this.metrics = metrics;
+        this.guard = guard;
+    }
+
+    @Override
+    public void invoke(EventListenerData data, Event event) {
+        if (!(data.getListener() instanceof BatchEventListener)) {
+            delegate.invoke(data, event);
+            return;
+        }
+        /* the journal acknowledgement waits for the flush */
+        event.hold();
+        for (int i = 0; i < batchListeners.size(); i++) {
+            if (batchListeners.get(i) == data) {
+                batches.get(i).add(event);
+                return;
+            }
+        }
+        List<Event> batch = new ArrayList<Event>();
+        batch.add(event);
+        batchListeners.add(data);
+        batches.add(batch);
+    }
+
+    /**
+     * Hands every batch listener the events it received during the current
+     * pass and starts a new pass
+     */
+    void flush() {
+        if (batchListeners.isEmpty()) {
+            return;
+        }
+        try {
+            for (int i = 0; i < batchListeners.size(); i++) {
+                EventListener listener = batchListeners.get(i).getListener();
+                long start = (metrics == null) ? 0 : System.nanoTime();
+                try {
+                    ((BatchEventListener) listener).handleEvents(batches.get(i));
+                } catch (VirtualMachineError error) {
+                    throw error;
+                } catch (Throwable ex) {
+                    guard.failed((BatchEventListener) listener, batches.get(i), ex);
+                } finally {
+                    if (metrics != null) {
+                        metrics.handled(listener, System.nanoTime() - start);
+                    }
+                    for (Event event : batches.get(i)) {
+                        event.settle();
+                    }
+                }
+            }
+        } finally {
+            batchListeners.clear();
+            batches.clear();
+        }
+    }
+}
@@ -0,0 +1,265 @@
+/*
+ *  Copyright (C) 2026  agent <agent at local>
+ * 
+ *  This file is part of jedi.
+ * 
+ *  jedi is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ * 
+ *  jedi is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU LEsser General Public License for more details.
+ * 
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with jedi.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.jedi;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Conflates the queued {@link com.googlecode.jedi.Event}s of one name. The
+ * first event of a key is queued as usual and stands in for its key; the
+ * following events are merged into it until it is dispatched, so that a
+ * backlog holds at most one event per key. The merged event is dispatched at
+ * the position of the first one.<br>
+ * Journaled events are merged holding the lock of their slot, which keeps
+ * the events merged away until the slot has been dispatched. Only then they
+ * are marked as done in the journal, so that a crash replays all of them.
+ *
+ * @author agent <agent at local>
+ */
+final class Conflation {
+
+    /**
+     * which events are conflated into one
+     */
+    private final ConflationMode mode;
+    /**
+     * merges a queued event with a newer one
+     */
+    private final EventMerger merger;
+    /**
+     * the queued event of each key
+     */
+    private final ConcurrentMap<Object, Slot> pending = new ConcurrentHashMap<Object, Slot>();
+
+    /**
+     * Creates a new Conflation
+     *
+     * @param mode which events are conflated into one
+     * @param merger merges a queued event with a newer one
+     */
+    Conflation(ConflationMode mode, EventMerger merger) {
+        if (mode == null) {
+            throw new IllegalArgumentException("No conflation mode given!");
+        }
+        if (merger == null) {
+            throw new IllegalArgumentException("No merger given!");
+        }
+        this.mode = mode;
+        this.merger = merger;
+    }
+
+    /**
+     * Merges
+     * <code>event</code> into the queued event of its key, or makes it the
+     * queued event of its key if there is none
+     *
+     * @param event an unpooled event
+     * @return <code>event</code> if it has to be queued, <code>null</code> if
+     * it has been merged
+     */
+    Event offer(Event event) {
+        Object key = (mode == ConflationMode.PER_NAME)
+                ? event.getName() : new Key(event.getName(), event.getContext());
+        while (true) {
+            Slot slot = pending.get(key);
+            if (slot == null) {
+                slot = new Slot(key, event);
+                if (pending.putIfAbsent(key, slot) == null) {
+                    event.setConflated(slot);
+                    return event;
+                }
+                continue;
+            }
+            if (event.isJournaled()) {
+                if (slot.absorb(event)) {
+                    return null;
+                }
+                pending.remove(key, slot);
+                continue;
+            }
+            Event previous = slot.latest.get();
+            if (previous == null) {
+                /* already dispatched, the key is free again */
+                pending.remove(key, slot);
+                continue;
+            }
+            Event merged = merge(previous, event);
+            if (slot.latest.compareAndSet(previous, merged)) {
+                return null;
+            }
+        }
+    }
+
+    /**
+     * Merges two events
+     *
+     * @param previous the queued event
+     * @param event the new event
+     * @return the merged event
+     */
+    private Event merge(Event previous, Event event) {
+        Event merged = merger.merge(previous, event);
+        if (merged == null) {
+            throw new IllegalStateException("EventMerger returned no event!");
+        }
+        return merged;
+    }
+
+    /**
+     * Returns the number of keys which have a queued event
+     *
+     * @return number of queued events
+     */
+    int size() {
+        return pending.size();
+    }
+
+    /**
+     * The queued event of a key
+     */
+    final class Slot {
+
+        /**
+         * the key of the slot
+         */
+        private final Object key;
+        /**
+         * the event to be dispatched, <code>null</code> once dispatched
+         */
+        private final AtomicReference<Event> latest;
+        /**
+         * journaled events merged away, marked as done once the slot has been
+         * dispatched, guarded by this slot
+         */
+        private List<Event> absorbed;
+
+        /**
+         * Creates a new Slot
+         *
+         * @param key the key of the slot
+         * @param event the first event of the key
+         */
+        private Slot(Object key, Event event) {
+            this.key = key;
+            this.latest = new AtomicReference<Event>(event);
+        }
+
+        /**
+         * Takes the event to be dispatched in place of the queued
+         * <code>marker</code> and frees the key
+         *
+         * @param marker the queued event
+         * @return the event to be dispatched
+         */
+        Event take(Event marker) {
+            marker.setConflated(null);
+            Event event;
+            synchronized (this) {
+                event = latest.getAndSet(null);
+            }
+            pending.remove(key, this);
+            return (event != null) ? event : marker;
+        }
+
+        /**
+         * Merges the journaled
+         * <code>event</code> into this slot
+         *
+         * @param event the new event
+         * @return <code>false</code> if the slot has already been dispatched
+         */
+        private synchronized boolean absorb(Event event) {
+            Event previous = latest.get();
+            if (previous == null) {
+                return false;
+            }
+            Event merged = merge(previous, event);
+            latest.set(merged);
+            if (absorbed == null) {
+                absorbed = new ArrayList<Event>(4);
+            }
+            if (merged != previous) {
+                absorbed.add(previous);
+            }
+            if (merged != event) {
+                absorbed.add(event);
+            }
+            return true;
+        }
+
+        /**
+         * Marks the journaled events merged into this slot as done, called
+         * once the slot has been dispatched
+         */
+        synchronized void acknowledge() {
+            if (absorbed != null) {
+                for (Event event : absorbed) {
+                    event.acknowledge();
+                }
+                absorbed = null;
+            }
+        }
+    }
+
+    /**
+     * Key of an event conflated per name and context
+     */
+    private static final class Key {
+
+        /**
+         * name of the event
+         */
+        private final String name;
+        /**
+         * context of the event
+         */
+        private final Object context;
+
+        /**
+         * Creates a new Key
+         *
+         * @param name name of the event
+         * @param context context of the event
+         */
+        private Key(String name, Object context) {
+            this.name = name;
+            this.context = context;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            final Key other = (Key) obj;
+            return ((name == null) ? other.name == null : name.equals(other.name))
+                    && ((context == null) ? other.context == null : context.equals(other.context));
+        }
+
+        @Override
+        public int hashCode() {
+            int hash = (name != null) ? name.hashCode() : 0;
+            return 31 * hash + ((context != null) ? context.hashCode() : 0);
+        }
+    }
+}
@@ -0,0 +1,40 @@
+/*
+ *  Copyright (C) 2026  agent <agent at local>
+ * 
+ *  This file is part of jedi.
+ * 
+ *  jedi is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ * 
+ *  jedi is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU LEsser General Public License for more details.
+ * 
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with jedi.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.jedi;
+
+/**
+ * Determines which queued {@link com.googlecode.jedi.Event}s are conflated
+ * into one.
+ *
+ * @see com.github.jedi.EventDispatcher#setConflation(java.lang.String,
+ * com.github.jedi.ConflationMode, com.github.jedi.EventMerger)
+ * @author agent <agent at local>
+ */
+public enum ConflationMode {
+
+    /**
+     * At most one event per name is queued
+     */
+    PER_NAME,
+    /**
+     * At most one event per name and context is queued, contexts are compared
+     * using <code>equals()</code>
+     */
+    PER_CONTEXT
+}
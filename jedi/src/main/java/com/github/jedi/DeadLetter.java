@@ -0,0 +1,120 @@
+/*
+ *  Copyright (C) 2026  agent <agent at local>
+ * 
+ *  This file is part of jedi.
+ * 
+ *  jedi is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ * 
+ *  jedi is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU LEsser General Public License for more details.
+ * 
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with jedi.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.jedi;
+
+/**
+ * An {@link com.github.jedi.Event} a listener failed to handle. Once a
+ * listener has thrown an exception or error for an event and all retries configured
+ * by {@link com.github.jedi.DispatcherConfiguration#setListenerRetries(int)}
+ * have failed as well, the dispatcher keeps the event, the listener and the
+ * last exception as a dead letter, which can be drained by
+ * {@link com.github.jedi.EventDispatcher#drainDeadLetters()}.
+ *
+ * @author agent <agent at local>
+ */
+public final class DeadLetter {
+
+    /**
+     * the listener which failed
+     */
+    private final EventListener listener;
+    /**
+     * a copy of the event the listener failed to handle
+     */
+    private final Event event;
+    /**
+     * what the last attempt threw
+     */
+    private final Throwable cause;
+    /**
+     * the number of invocations which failed
+     */
+    private final int attempts;
+    /**
+     * the time the last attempt failed
+     */
+    private final long time;
+
+    /**
+     * Creates a new DeadLetter
+     *
+     * @param listener the listener which failed
+     * @param event a copy of the event the listener failed to handle
+     * @param cause what the last attempt threw
+     * @param attempts the number of invocations which failed
+     */
+    DeadLetter(EventListener listener, Event event, Throwable cause, int attempts) {
+        this.listener = listener;
+        this.event = event;
+        this.cause = cause;
+        this.attempts = attempts;
+        this.time = System.currentTimeMillis();
+    }
+
+    /**
+     * Returns the listener which failed
+     *
+     * @return the listener
+     */
+    public EventListener getListener() {
+        return listener;
+    }
+
+    /**
+     * Returns the event the listener failed to handle
+     *
+     * @return the event
+     */
+    public Event getEvent() {
+        return event;
+    }
+
+    /**
+     * Returns what the listener threw on its last attempt
+     *
+     * @return the exception or error
+     */
+    public Throwable getCause() {
+        return cause;
+    }
+
+    /**
+     * Returns how often the listener was called for the event
+     *
+     * @return the number of failed invocations
+     */
+    public int getAttempts() {
+        return attempts;
+    }
+
+    /**
+     * Returns the time the last attempt failed
+     *
+     * @return the time in ms since the epoch
+     */
+    public long getTime() {
+        return time;
+    }
+
+    @Override
+    public String toString() {
+        return "DeadLetter " + event.getName() + " of " + listener + " after " + attempts
+                + " attempts: " + cause;
+    }
+}
@@ -0,0 +1,226 @@
+/*
+ *  Copyright (C) 2026  agent <agent at local>
+ * 
+ *  This file is part of jedi.
+ * 
+ *  jedi is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ * 
+ *  jedi is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU LEsser General Public License for more details.
+ * 
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with jedi.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.jedi;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A {@link com.github.jedi.ListenerInvoker} enforcing an execution deadline
+ * on every listener invocation. Before a listener is called, a timeout is
+ * scheduled on the shared {@link com.github.jedi.TimingWheel}, and cancelled
+ * when the listener returns. If the timeout fires first, the listener is
+ * flagged as slow and the overrun is handled according to the
+ * {@link com.github.jedi.DeadlinePolicy}. Isolated listeners run on a
+ * bulkhead: an ordered {@link com.github.jedi.ListenerLane} of their own,
+ * bounded as configured.
+ *
+ * @author agent <agent at local>
+ */
+class DeadlineInvoker implements ListenerInvoker {
+
+    /**
+     * static {@link org.slf4j.Logger} instance
+     */
+    private static final Logger log = LoggerFactory.getLogger(DeadlineInvoker.class.getName());
+    /**
+     * calls the listeners within their deadline
+     */
+    private final ListenerInvoker delegate;
+    /**
+     * the deadline of an invocation in ms
+     */
+    private final long deadline;
+    /**
+     * what happens on an overrun
+     */
+    private final DeadlinePolicy policy;
+    /**
+     * capacity of a bulkhead, less than 1 for no limit
+     */
+    private final int bulkheadCapacity;
+    /**
+     * what happens when a bulkhead is full
+     */
+    private final BackpressurePolicy bulkheadPolicy;
+    /**
+     * runs the isolated listeners
+     */
+    private final ExecutorService executor;
+    /**
+     * the dispatcher of the listeners
+     */
+    private final EventDispatcher dispatcher;
+    /**
+     * the lanes of all isolated listeners
+     */
+    private final ConcurrentMap<EventListener, ListenerLane> isolated =
+            new ConcurrentHashMap<EventListener, ListenerLane>();
+    /**
+     * the listeners which have overrun their deadline
+     */
+    private final Set<EventListener> slow = Collections.newSetFromMap(
+            new ConcurrentHashMap<EventListener, Boolean>());
+
+    /**
+     * Creates a new DeadlineInvoker
+     *
+     * @param delegate calls the listeners within their deadline
+     * @param threadName base name of the isolation threads
+     * @param configuration deadline, deadline policy and bulkheads
+     * @param dispatcher the dispatcher of the listeners
+     */
+    DeadlineInvoker(ListenerInvoker delegate, String threadName,
+            DispatcherConfiguration configuration, EventDispatcher dispatcher) {
+        this.delegate = delegate;
+        this.dispatcher = dispatcher;
+        this.deadline = configuration.getExecutionDeadline();
+        this.policy = configuration.getDeadlinePolicy();
+        this.bulkheadCapacity = configuration.getBulkheadCapacity();
+        this.bulkheadPolicy = configuration.getBulkheadPolicy();
+        this.executor = VirtualThreads.newExecutor(threadName + "-isolated-");
+    }
+
+    @Override
+    public void invoke(EventListenerData data, Event event) {
+        ListenerLane lane = isolated.get(data.getListener());
+        if (lane != null) {
+            /* a pooled event is reused as soon as this pass is over */
+            long before = lane.getDropped();
+            lane.submit(event.defer());
+            long dropped = lane.getDropped();
+            /* both drop policies count here, DROP_OLDEST accepts the event */
+            if (dropped != before && (dropped & (dropped - 1)) == 0) {
+                log.warn("The bulkhead of {} is full, {} events dropped so far",
+                        data.getListener(), dropped);
+            }
+            return;
+        }
+        TimingWheel.Timeout timeout = TimingWheel.shared().schedule(
+                new Overrun(data.getListener(), event.getName(), Thread.currentThread()),
+                deadline, TimeUnit.MILLISECONDS);
+        try {
+            delegate.invoke(data, event);
+        } finally {
+            timeout.cancel();
+        }
+    }
+
+    /**
+     * Drops the lane of a listener which has been removed from the dispatcher
+     *
+     * @param listener the removed listener
+     */
+    void listenerRemoved(EventListener listener) {
+        isolated.remove(listener);
+        slow.remove(listener);
+    }
+
+    /**
+     * Returns the listeners which have overrun their deadline
+     *
+     * @return the slow listeners
+     */
+    Set<EventListener> getSlowListeners() {
+        return new HashSet<EventListener>(slow);
+    }
+
+    /**
+     * Returns the listeners which have been isolated
+     *
+     * @return the isolated listeners
+     */
+    Set<EventListener> getIsolatedListeners() {
+        return new HashSet<EventListener>(isolated.keySet());
+    }
+
+    /**
+     * Calls an isolated listener on the dispatching thread again and clears
+     * its slow flag. Events already on its bulkhead are still handed to it
+     * there, so they may overlap with the following ones.
+     *
+     * @param listener the listener
+     * @return <code>false</code> if the listener has not been isolated
+     */
+    boolean reintegrate(EventListener listener) {
+        slow.remove(listener);
+        return isolated.remove(listener) != null;
+    }
+
+    /**
+     * Stops the isolation threads
+     */
+    void stop() {
+        executor.shutdownNow();
+        isolated.clear();
+    }
+
+    /**
+     * Handles an invocation which overran its deadline, runs on the wheel
+     * thread
+     */
+    private final class Overrun implements Runnable {
+
+        /**
+         * the overrunning listener
+         */
+        private final EventListener listener;
+        /**
+         * name of the event being handled
+         */
+        private final String name;
+        /**
+         * the thread the listener runs on
+         */
+        private final Thread thread;
+
+        /**
+         * Creates a new Overrun
+         *
+         * @param listener the listener being called
+         * @param name name of the event being handled
+         * @param thread the thread the listener runs on
+         */
+        private Overrun(EventListener listener, String name, Thread thread) {
+            this.listener = listener;
+            this.name = name;
+            this.thread = thread;
+        }
+
+        @Override
+        public void run() {
+            log.warn("{} exceeded its deadline of {} ms handling {} on {}",
+                    new Object[]{listener, deadline, name, thread.getName()});
+            slow.add(listener);
+            if (policy == DeadlinePolicy.ISOLATE
+                    && isolated.putIfAbsent(listener,
+                            new ListenerLane(dispatcher.wrap(listener), executor,
+                                    bulkheadCapacity, bulkheadPolicy)) == null) {
+                log.warn("{} has been isolated", listener);
+            }
+        }
+    }
+}
@@ -0,0 +1,44 @@
+/*
+ *  Copyright (C) 2026  agent <agent at local>
+ * 
+ *  This file is part of jedi.
+ * 
+ *  jedi is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ * 
+ *  jedi is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU LEsser General Public License for more details.
+ * 
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with jedi.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.jedi;
+
+/**
+ * Determines what an {@link com.github.jedi.EventDispatcher} does with a
+ * listener which takes longer than the configured execution deadline to
+ * handle an event.
+ *
+ * @see com.github.jedi.DispatcherConfiguration#setExecutionDeadline(long)
+ * @author agent <agent at local>
+ */
+public enum DeadlinePolicy {
+
+    /**
+     * The overrun is logged as a warning, nothing else changes.
+     */
+    REPORT,
+    /**
+     * The overrun is logged and all following events for the listener are
+     * handed to it on a separate thread, in order, so that it can't stall the
+     * dispatcher again. The invocation which overran can't be aborted and
+     * still blocks until it returns.
+     *
+     * @see com.github.jedi.DispatcherConfiguration#setBulkheadCapacity(int)
+     */
+    ISOLATE
+}
@@ -0,0 +1,203 @@
+/*
+ *  Copyright (C) 2026  agent <agent at local>
+ * 
+ *  This file is part of jedi.
+ * 
+ *  jedi is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ * 
+ *  jedi is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU LEsser General Public License for more details.
+ * 
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with jedi.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.jedi;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * The default {@link com.github.jedi.PayloadCodec}. Strings, byte arrays,
+ * booleans and boxed integers, longs and doubles are written as a tag
+ * followed by a compact encoding of their value, everything else using Java
+ * serialization. Java serialization may be turned off for payloads read from
+ * untrusted sources, as deserializing them can run arbitrary code; such a
+ * codec rejects other values.
+ *
+ * @author agent <agent at local>
+ */
+public class DefaultPayloadCodec implements PayloadCodec {
+
+    /**
+     * tag of a <code>String</code>
+     */
+    private static final byte STRING = 0;
+    /**
+     * tag of an <code>Integer</code>
+     */
+    private static final byte INTEGER = 1;
+    /**
+     * tag of a <code>Long</code>
+     */
+    private static final byte LONG = 2;
+    /**
+     * tag of a <code>Double</code>
+     */
+    private static final byte DOUBLE = 3;
+    /**
+     * tag of <code>Boolean.FALSE</code>
+     */
+    private static final byte FALSE = 4;
+    /**
+     * tag of <code>Boolean.TRUE</code>
+     */
+    private static final byte TRUE = 5;
+    /**
+     * tag of a <code>byte[]</code>
+     */
+    private static final byte BYTES = 6;
+    /**
+     * tag of an object written using Java serialization
+     */
+    private static final byte SERIALIZED = 7;
+    /**
+     * whether values without a tag of their own are written and read using
+     * Java serialization
+     */
+    private final boolean serialization;
+
+    /**
+     * Creates a new DefaultPayloadCodec using Java serialization
+     */
+    public DefaultPayloadCodec() {
+        this(true);
+    }
+
+    /**
+     * Creates a new DefaultPayloadCodec
+     *
+     * @param serialization <code>true</code> if values without a tag of their
+     * own are written and read using Java serialization, <code>false</code>
+     * if they are rejected
+     */
+    public DefaultPayloadCodec(boolean serialization) {
+        this.serialization = serialization;
+    }
+
+    @Override
+    public void encode(Object value, ByteBuffer buffer) {
+        if (value instanceof String) {
+            buffer.put(STRING);
+            Varints.putString(buffer, (String) value);
+        } else if (value instanceof Integer) {
+            buffer.put(INTEGER);
+            Varints.putZigZag(buffer, (Integer) value);
+        } else if (value instanceof Long) {
+            buffer.put(LONG);
+            Varints.putZigZag(buffer, (Long) value);
+        } else if (value instanceof Double) {
+            buffer.put(DOUBLE);
+            buffer.putDouble((Double) value);
+        } else if (value instanceof Boolean) {
+            buffer.put(((Boolean) value) ? TRUE : FALSE);
+        } else if (value instanceof byte[]) {
+            byte[] bytes = (byte[]) value;
+            buffer.put(BYTES);
+            Varints.putVarLong(buffer, bytes.length);
+            buffer.put(bytes);
+        } else {
+            if (!serialization) {
+                throw new IllegalArgumentException(value.getClass().getName()
+                        + " can't be encoded without serialization!");
+            }
+            byte[] bytes = serialize(value);
+            buffer.put(SERIALIZED);
+            Varints.putVarLong(buffer, bytes.length);
+            buffer.put(bytes);
+        }
+    }
+
+    @Override
+    public Object decode(ByteBuffer buffer) {
+        byte tag = buffer.get();
+        switch (tag) {
+            case STRING:
+                return Varints.getString(buffer);
+            case INTEGER:
+                return (int) Varints.getZigZag(buffer);
+            case LONG:
+                return Varints.getZigZag(buffer);
+            case DOUBLE:
+                return buffer.getDouble();
+            case FALSE:
+                return Boolean.FALSE;
+            case TRUE:
+                return Boolean.TRUE;
+            case BYTES:
+                byte[] bytes = new byte[Varints.getLength(buffer)];
+                buffer.get(bytes);
+                return bytes;
+            case SERIALIZED:
+                if (!serialization) {
+                    throw new IllegalArgumentException("Serialized payloads are not accepted!");
+                }
+                byte[] serialized = new byte[Varints.getLength(buffer)];
+                buffer.get(serialized);
+                return deserialize(serialized);
+            default:
+                throw new IllegalArgumentException("Unknown payload tag " + tag + "!");
+        }
+    }
+
+    /**
+     * Writes a value using Java serialization
+     *
+     * @param value the value
+     * @return the serialized value
+     */
+    private static byte[] serialize(Object value) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+        try {
+            ObjectOutputStream out = new ObjectOutputStream(bytes);
+            try {
+                out.writeObject(value);
+            } finally {
+                out.close();
+            }
+        } catch (IOException ex) {
+            throw new IllegalArgumentException(value.getClass().getName()
+                    + " can't be serialized!", ex);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Reads a value written using Java serialization
+     *
+     * @param bytes the serialized value
+     * @return the value
+     */
+    private static Object deserialize(byte[] bytes) {
+        try {
+            ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes));
+            try {
+                return in.readObject();
+            } finally {
+                in.close();
+            }
+        } catch (IOException ex) {
+            throw new IllegalArgumentException("Payload can't be deserialized!", ex);
+        } catch (ClassNotFoundException ex) {
+            throw new IllegalArgumentException("Payload can't be deserialized!", ex);
+        }
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ *  Copyright (C) 2026  agent <agent at local>
+ * 
+ *  This file is part of jedi.
+ * 
+ *  jedi is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ * 
+ *  jedi is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU LEsser General Public License for more details.
+ * 
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with jedi.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.jedi;
+
+import java.util.List;
+
+/**
+ * Decides on which thread and in which order the
+ * {@link com.github.jedi.Event}s triggered on an
+ * {@link com.github.jedi.EventDispatcher} are dispatched.
+ *
+ * @author agent <agent at local>
+ */
+interface DispatchEngine {
+
+    /**
+     * Starts the engine. Calling this method more than once has no effect.
+     */
+    void start();
+
+    /**
+     * Hands the given
+     * <code>event</code> over to the engine for dispatching.
+     *
+     * @param event <code>Event</code> to be dispatched
+     * @return <code>false</code> if the event has been dropped
+     */
+    boolean submit(Event event);
+
+    /**
+     * Hands all given
+     * <code>events</code> over to the engine for dispatching, with as few
+     * handoffs as possible.
+     *
+     * @param events <code>Event</code>s to be dispatched
+     * @return the number of events which have not been dropped
+     */
+    int submitAll(List<Event> events);
+
+    /**
+     * Returns the number of events waiting to be dispatched
+     *
+     * @return the number of queued events
+     */
+    int size();
+
+    /**
+     * Stops the engine and discards all events not yet dispatched.
+     */
+    void stop();
+}
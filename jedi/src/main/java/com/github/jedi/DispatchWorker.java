@@ -0,0 +1,186 @@
+/*
+ *  Copyright (C) 2026  agent <agent at local>
+ * 
+ *  This file is part of jedi.
+ * 
+ *  jedi is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ * 
+ *  jedi is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU LEsser General Public License for more details.
+ * 
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with jedi.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.jedi;
+
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A thread owning an {@link com.github.jedi.EventQueue} which it drains,
+ * dispatching every event on its {@link com.github.jedi.EventDispatcher}.
+ *
+ * @author agent <agent at local>
+ */
+class DispatchWorker implements Runnable {
+
+    /**
+     * static {@link org.slf4j.Logger} instance
+     */
+    private static final Logger log = LoggerFactory.getLogger(DispatchWorker.class.getName());
+    /**
+     * the dispatcher the events are dispatched on
+     */
+    private final EventDispatcher dispatcher;
+    /**
+     * queued events of this worker
+     */
+    private final EventQueue queue;
+    /**
+     * the thread running this worker
+     */
+    private final Thread thread;
+    /**
+     * <code>false</code> as soon as this worker has been stopped
+     */
+    private volatile boolean running = true;
+    /**
+     * maximum number of events dispatched in one pass
+     */
+    private final int maxBatchSize;
+
+    /**
+     * Creates a new DispatchWorker
+     *
+     * @param dispatcher the dispatcher the events are dispatched on
+     * @param queue queued events of this worker
+     * @param threadName name of the worker thread
+     * @param virtual <code>true</code> to run on a virtual thread
+     * @param maxBatchSize maximum number of events dispatched in one pass
+     */
+    DispatchWorker(EventDispatcher dispatcher, EventQueue queue, String threadName,
+            boolean virtual, int maxBatchSize) {
+        this.maxBatchSize = maxBatchSize;
+        this.dispatcher = dispatcher;
+        this.queue = queue;
+        this.thread = virtual ? VirtualThreads.newThread(this, threadName)
+                : new Thread(this, threadName);
+    }
+
+    /**
+     * Starts the worker thread if it has not been started yet
+     */
+    synchronized void start() {
+        if (running && thread.getState() == Thread.State.NEW) {
+            thread.start();
+        }
+    }
+
+    /**
+     * Enqueues the given
+     * <code>event</code>
+     *
+     * @param event <code>Event</code> to be dispatched
+     * @return <code>false</code> if the queue dropped the event
+     */
+    boolean offer(Event event) {
+        return queue.offer(event);
+    }
+
+    /**
+     * Enqueues all given
+     * <code>events</code>
+     *
+     * @param events <code>Event</code>s to be dispatched
+     * @return the number of events the queue did not drop
+     */
+    int offerAll(List<Event> events) {
+        return queue.offerAll(events);
+    }
+
+    /**
+     * Returns the queue of this worker
+     *
+     * @return queue of this worker
+     */
+    EventQueue getQueue() {
+        return queue;
+    }
+
+    /**
+     * The dispatching loop. The thread blocks until the
+     * <code>queue</code> holds an event and then drains it, dispatching every
+     * enqueued event without waiting for further signals. Producers only ever
+     * touch the <code>queue</code>, so they never contend with this thread
+     * for a lock.<br>
+     * A pass ends when the queue is empty or <code>maxBatchSize</code> events
+     * have been dispatched. The events of a pass are then handed to the
+     * {@link com.github.jedi.BatchEventListener}s.
+     */
+    @Override
+    public void run() {
+        BatchingInvoker invoker = new BatchingInvoker(dispatcher.getInvoker(),
+                dispatcher.getMetrics(), dispatcher.getGuard());
+        Event[] pass = new Event[maxBatchSize];
+        while (running) {
+            try {
+                Event event = queue.take();
+                int count = 0;
+                try {
+                    do {
+                        pass[count] = event;
+                        dispatcher.dispatchEvent(event, invoker);
+                    } while (++count < maxBatchSize && running
+                            && (event = queue.poll()) != null);
+                } finally {
+                    try {
+                        invoker.flush();
+                    } finally {
+                        /* pooled events may only be reused after the batch listeners */
+                        for (int i = 0; i < count; i++) {
+                            pass[i].release();
+                            pass[i] = null;
+                        }
+                    }
+                }
+            } catch (InterruptedException ex) {
+                /* stop() interrupts a waiting thread, running decides */
+            } catch (Throwable ex) {
+                /* listener failures never get here, but nothing may end the partition */
+                log.error("Dispatching failed on " + thread.getName(), ex);
+            }
+        }
+        cancelQueued();
+    }
+
+    /**
+     * Stops the worker thread, which discards all queued events once its
+     * current pass is done
+     */
+    synchronized void stop() {
+        running = false;
+        if (thread.getState() == Thread.State.NEW) {
+            /* there is no thread to drain the queue */
+            cancelQueued();
+        } else {
+            thread.interrupt();
+        }
+    }
+
+    /**
+     * Discards all queued events, failing their requests. Only called by the
+     * consumer of the queue.
+     */
+    private void cancelQueued() {
+        Event event;
+        while ((event = queue.poll()) != null) {
+            event.cancel();
+        }
+    }
+}
@@ -0,0 +1,781 @@
+/*
+ *  Copyright (C) 2026  agent <agent at local>
+ * 
+ *  This file is part of jedi.
+ * 
+ *  jedi is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ * 
+ *  jedi is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU LEsser General Public License for more details.
+ * 
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with jedi.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.jedi;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Settings for a named {@link com.github.jedi.EventDispatcher}. A
+ * configuration is only read when the dispatcher is created using
+ * {@link com.github.jedi.EventDispatcher#getInstance(java.lang.String, com.github.jedi.DispatcherConfiguration)},
+ * changing it afterwards has no effect on existing dispatchers.
+ *
+ * @author agent <agent at local>
+ */
+public class DispatcherConfiguration {
+
+    /**
+     * capacity of the event queue, a value less than 1 means unbounded
+     */
+    private int queueCapacity = -1;
+    /**
+     * how the dispatcher and blocked producers wait on a bounded queue
+     */
+    private WaitStrategy waitStrategy = WaitStrategy.PARK;
+    /**
+     * what happens if a bounded queue is full
+     */
+    private BackpressurePolicy backpressurePolicy = BackpressurePolicy.BLOCK;
+    /**
+     * number of threads dispatching events
+     */
+    private int workerThreads = 1;
+    /**
+     * extracts the key events are partitioned by, <code>null</code> for the
+     * event name
+     */
+    private EventKeyExtractor keyExtractor;
+    /**
+     * which part of dispatching runs on virtual threads
+     */
+    private VirtualThreadMode virtualThreadMode = VirtualThreadMode.NONE;
+    /**
+     * whether events are delivered in the order they were triggered
+     */
+    private boolean orderedDelivery = true;
+    /**
+     * maximum number of concurrent unordered deliveries to each listener,
+     * less than 1 for no limit
+     */
+    private int concurrencyLimit = -1;
+    /**
+     * maximum number of events a worker dispatches in one pass
+     */
+    private int maxBatchSize = 1024;
+    /**
+     * number of reusable event slots, 0 for no pooling
+     */
+    private int eventPoolSize;
+    /**
+     * maximum time in ms a listener may take to handle an event, not
+     * positive for no deadline
+     */
+    private long executionDeadline = -1;
+    /**
+     * what happens when a listener overruns the deadline
+     */
+    private DeadlinePolicy deadlinePolicy = DeadlinePolicy.REPORT;
+    /**
+     * capacity of the bulkhead of an isolated listener
+     */
+    private int bulkheadCapacity;
+    /**
+     * what happens when the bulkhead of an isolated listener is full
+     */
+    private BackpressurePolicy bulkheadPolicy = BackpressurePolicy.BLOCK;
+    /**
+     * weight of each priority lane, <code>null</code> for a single lane
+     */
+    private int[] priorityWeights;
+    /**
+     * whether events are dispatched on the triggering thread
+     */
+    private boolean synchronous;
+    /**
+     * directory of the journals, <code>null</code> for no journal
+     */
+    private File journalDirectory;
+    /**
+     * converts context and data of journaled events to bytes
+     */
+    private PayloadCodec journalPayloadCodec = new DefaultPayloadCodec();
+    /**
+     * size of a journal segment in bytes
+     */
+    private int journalSegmentSize = 64 << 20;
+    /**
+     * time in ms between two flushes of the journal
+     */
+    private long journalSyncInterval = 10;
+    /**
+     * whether triggering waits until the event has been flushed
+     */
+    private boolean journalSyncOnTrigger;
+    /**
+     * whether the dispatcher records metrics
+     */
+    private boolean metricsEnabled;
+    /**
+     * how often a failed listener invocation is retried
+     */
+    private int listenerRetries;
+    /**
+     * time in ms before the first retry of a failed invocation
+     */
+    private long retryBackoff = 100;
+    /**
+     * maximum time in ms between two retries of a failed invocation
+     */
+    private long maxRetryBackoff = 10000;
+    /**
+     * maximum number of dead letters kept
+     */
+    private int deadLetterCapacity = 1000;
+
+    /**
+     * Returns the capacity of the event queue. A value less than 1 means the
+     * queue is unbounded.
+     *
+     * @return capacity of the event queue
+     */
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    /**
+     * Sets the capacity of the event queue. A positive value makes the
+     * dispatcher use a pre-allocated {@link com.github.jedi.RingBufferEventQueue}
+     * instead of the unbounded {@link com.github.jedi.LinkedEventQueue}.
+     *
+     * @param queueCapacity capacity of the event queue, less than 1 for an
+     * unbounded queue
+     */
+    public void setQueueCapacity(int queueCapacity) {
+        this.queueCapacity = queueCapacity;
+    }
+
+    /**
+     * Returns how threads wait on a bounded queue
+     *
+     * @return the wait strategy
+     */
+    public WaitStrategy getWaitStrategy() {
+        return waitStrategy;
+    }
+
+    /**
+     * Sets how threads wait on a bounded queue
+     *
+     * @param waitStrategy the wait strategy
+     */
+    public void setWaitStrategy(WaitStrategy waitStrategy) {
+        if (waitStrategy == null) {
+            throw new IllegalArgumentException("No wait strategy given!");
+        }
+        this.waitStrategy = waitStrategy;
+    }
+
+    /**
+     * Returns what happens if a bounded queue is full
+     *
+     * @return the backpressure policy
+     */
+    public BackpressurePolicy getBackpressurePolicy() {
+        return backpressurePolicy;
+    }
+
+    /**
+     * Sets what happens if a bounded queue is full
+     *
+     * @param backpressurePolicy the backpressure policy
+     */
+    public void setBackpressurePolicy(BackpressurePolicy backpressurePolicy) {
+        if (backpressurePolicy == null) {
+            throw new IllegalArgumentException("No backpressure policy given!");
+        }
+        this.backpressurePolicy = backpressurePolicy;
+    }
+
+    /**
+     * Returns the number of threads dispatching events
+     *
+     * @return number of worker threads
+     */
+    public int getWorkerThreads() {
+        return workerThreads;
+    }
+
+    /**
+     * Sets the number of threads dispatching events. With more than one
+     * thread, events are partitioned onto the threads by their key: events
+     * with equal keys are dispatched in order by the same thread, events with
+     * different keys in parallel. Every thread has its own queue of
+     * {@link #getQueueCapacity()}.
+     *
+     * @param workerThreads number of worker threads
+     */
+    public void setWorkerThreads(int workerThreads) {
+        if (workerThreads < 1) {
+            throw new IllegalArgumentException("At least one worker thread is needed!");
+        }
+        this.workerThreads = workerThreads;
+    }
+
+    /**
+     * Returns the extractor of the key events are partitioned by
+     *
+     * @return the key extractor, <code>null</code> if events are partitioned
+     * by their name
+     */
+    public EventKeyExtractor getKeyExtractor() {
+        return keyExtractor;
+    }
+
+    /**
+     * Sets the extractor of the key events are partitioned by. A value of
+     * <code>null</code> partitions the events by their name.
+     *
+     * @param keyExtractor the key extractor
+     */
+    public void setKeyExtractor(EventKeyExtractor keyExtractor) {
+        this.keyExtractor = keyExtractor;
+    }
+
+    /**
+     * Returns which part of dispatching runs on virtual threads
+     *
+     * @return the virtual thread mode
+     */
+    public VirtualThreadMode getVirtualThreadMode() {
+        return virtualThreadMode;
+    }
+
+    /**
+     * Sets which part of dispatching runs on virtual threads. On JVMs without
+     * virtual threads, platform daemon threads are used instead.
+     *
+     * @param virtualThreadMode the virtual thread mode
+     */
+    public void setVirtualThreadMode(VirtualThreadMode virtualThreadMode) {
+        if (virtualThreadMode == null) {
+            throw new IllegalArgumentException("No virtual thread mode given!");
+        }
+        this.virtualThreadMode = virtualThreadMode;
+    }
+
+    /**
+     * Returns whether events are delivered in the order they were triggered
+     *
+     * @return <code>true</code> for ordered delivery
+     */
+    public boolean isOrderedDelivery() {
+        return orderedDelivery;
+    }
+
+    /**
+     * Sets whether events are delivered in the order they were triggered.
+     * Only unordered delivery lets a single listener, or with
+     * {@link com.github.jedi.VirtualThreadMode#PER_EVENT} a single partition,
+     * handle several events at once.
+     *
+     * @param orderedDelivery <code>true</code> for ordered delivery
+     */
+    public void setOrderedDelivery(boolean orderedDelivery) {
+        this.orderedDelivery = orderedDelivery;
+    }
+
+    /**
+     * Returns the maximum number of concurrent unordered deliveries
+     *
+     * @return the concurrency limit, less than 1 for no limit
+     */
+    public int getConcurrencyLimit() {
+        return concurrencyLimit;
+    }
+
+    /**
+     * Sets the maximum number of concurrent unordered deliveries to each
+     * listener, in both {@link com.github.jedi.VirtualThreadMode}s. With
+     * {@link com.github.jedi.VirtualThreadMode#PER_EVENT} the virtual thread
+     * of an event waits while the listener is at its limit, the other
+     * listeners of the event have been called before or are called after.
+     * With {@link com.github.jedi.VirtualThreadMode#PER_LISTENER} the worker
+     * handing the event to the listener waits instead.
+     *
+     * @param concurrencyLimit the concurrency limit, less than 1 for no limit
+     */
+    public void setConcurrencyLimit(int concurrencyLimit) {
+        this.concurrencyLimit = concurrencyLimit;
+    }
+
+    /**
+     * Returns the maximum number of events a worker thread dispatches in one
+     * pass
+     *
+     * @return the maximum batch size
+     */
+    public int getMaxBatchSize() {
+        return maxBatchSize;
+    }
+
+    /**
+     * Sets the maximum number of events a worker thread dispatches in one
+     * pass, which is also the maximum size of the lists handed to
+     * {@link com.github.jedi.BatchEventListener}s.
+     *
+     * @param maxBatchSize the maximum batch size
+     */
+    public void setMaxBatchSize(int maxBatchSize) {
+        if (maxBatchSize < 1) {
+            throw new IllegalArgumentException("The batch size must be positive!");
+        }
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    /**
+     * Returns the number of reusable event slots
+     *
+     * @return the size of the event pool, 0 if events are not pooled
+     */
+    public int getEventPoolSize() {
+        return eventPoolSize;
+    }
+
+    /**
+     * Sets the number of reusable event slots. With a positive value the
+     * dispatcher pre-allocates that many events. Triggering claims and fills a
+     * free slot instead of creating a new event, and the slot is reused as
+     * soon as all listeners have run; only if all slots are in use a new event
+     * is created.<br>
+     * <b>Listeners must not keep the events they receive</b> but a
+     * {@link com.github.jedi.Event#copy()} of them. Pooling can't be combined
+     * with {@link com.github.jedi.VirtualThreadMode#PER_LISTENER}.
+     *
+     * @param eventPoolSize the size of the event pool, 0 for no pooling
+     */
+    public void setEventPoolSize(int eventPoolSize) {
+        if (eventPoolSize < 0) {
+            throw new IllegalArgumentException("The pool size must not be negative!");
+        }
+        this.eventPoolSize = eventPoolSize;
+    }
+
+    /**
+     * Returns the maximum time in ms a listener may take to handle an event
+     *
+     * @return the execution deadline, not positive for no deadline
+     */
+    public long getExecutionDeadline() {
+        return executionDeadline;
+    }
+
+    /**
+     * Sets the maximum time in ms a listener may take to handle an event.
+     * Overruns are detected by the {@link com.github.jedi.TimingWheel} shared
+     * by all dispatchers and handled according to the
+     * {@link #setDeadlinePolicy(com.github.jedi.DeadlinePolicy) deadline policy}.
+     * The deadline can't be combined with
+     * {@link com.github.jedi.VirtualThreadMode#PER_LISTENER}.
+     *
+     * @param executionDeadline the execution deadline, not positive for no
+     * deadline
+     */
+    public void setExecutionDeadline(long executionDeadline) {
+        this.executionDeadline = executionDeadline;
+    }
+
+    /**
+     * Returns what happens when a listener overruns the execution deadline
+     *
+     * @return the deadline policy
+     */
+    public DeadlinePolicy getDeadlinePolicy() {
+        return deadlinePolicy;
+    }
+
+    /**
+     * Sets what happens when a listener overruns the execution deadline
+     *
+     * @param deadlinePolicy the deadline policy
+     */
+    public void setDeadlinePolicy(DeadlinePolicy deadlinePolicy) {
+        if (deadlinePolicy == null) {
+            throw new IllegalArgumentException("No deadline policy given!");
+        }
+        this.deadlinePolicy = deadlinePolicy;
+    }
+
+    /**
+     * Returns how many events the bulkhead of an isolated listener holds
+     *
+     * @return the bulkhead capacity, less than 1 for no limit
+     */
+    public int getBulkheadCapacity() {
+        return bulkheadCapacity;
+    }
+
+    /**
+     * Sets how many events the bulkhead of a listener isolated by
+     * {@link com.github.jedi.DeadlinePolicy#ISOLATE} holds before it has been
+     * called for them. Without a limit, a listener which keeps overrunning
+     * its deadline collects an ever growing backlog.
+     *
+     * @param bulkheadCapacity the bulkhead capacity, less than 1 for no limit
+     */
+    public void setBulkheadCapacity(int bulkheadCapacity) {
+        this.bulkheadCapacity = bulkheadCapacity;
+    }
+
+    /**
+     * Returns what happens when the bulkhead of an isolated listener is full
+     *
+     * @return the bulkhead policy
+     */
+    public BackpressurePolicy getBulkheadPolicy() {
+        return bulkheadPolicy;
+    }
+
+    /**
+     * Sets what happens when the bulkhead of an isolated listener is full:
+     * {@link com.github.jedi.BackpressurePolicy#BLOCK} makes the dispatching
+     * thread wait, which slows down the whole dispatcher to the pace of the
+     * listener, the drop policies discard events for this listener only.
+     *
+     * @param bulkheadPolicy the bulkhead policy, anything but
+     * {@link com.github.jedi.BackpressurePolicy#FAIL}
+     */
+    public void setBulkheadPolicy(BackpressurePolicy bulkheadPolicy) {
+        if (bulkheadPolicy == null) {
+            throw new IllegalArgumentException("No bulkhead policy given!");
+        }
+        if (bulkheadPolicy == BackpressurePolicy.FAIL) {
+            throw new IllegalArgumentException(bulkheadPolicy + " can't be used for bulkheads!");
+        }
+        this.bulkheadPolicy = bulkheadPolicy;
+    }
+
+    /**
+     * Returns the weight of each priority lane
+     *
+     * @return the weights, index is the priority, <code>null</code> for a
+     * single lane
+     */
+    public int[] getPriorityWeights() {
+        return (priorityWeights == null) ? null : priorityWeights.clone();
+    }
+
+    /**
+     * Splits the event queue into one lane per priority, see
+     * {@link com.github.jedi.PriorityEventQueue}. Each lane gets the capacity,
+     * wait strategy and backpressure policy of this configuration. The lanes
+     * are drained weighted-fair, in every round each lane may hand out as
+     * many events as its weight. Priority lanes are not used with
+     * {@link com.github.jedi.VirtualThreadMode#PER_EVENT} and
+     * {@link com.github.jedi.VirtualThreadMode#PER_LISTENER}, which don't
+     * queue events.
+     *
+     * @param priorityWeights the weight of each lane, index is the priority,
+     * <code>null</code> or a single weight for a single lane
+     */
+    public void setPriorityWeights(int... priorityWeights) {
+        if (priorityWeights != null) {
+            for (int weight : priorityWeights) {
+                if (weight < 1) {
+                    throw new IllegalArgumentException("Weights must be positive!");
+                }
+            }
+        }
+        this.priorityWeights = (priorityWeights == null) ? null : priorityWeights.clone();
+    }
+
+    /**
+     * Returns whether events are dispatched on the thread triggering them
+     *
+     * @return <code>true</code> for synchronous dispatching
+     */
+    public boolean isSynchronous() {
+        return synchronous;
+    }
+
+    /**
+     * Sets whether events are dispatched on the thread triggering them,
+     * without a queue or a worker thread. Events triggered by a listener are
+     * queued on its thread and dispatched after the current event, see
+     * {@link com.github.jedi.EventDispatcher#dispatchNow(java.lang.String, java.lang.Object, java.lang.Object)}.
+     * The settings of the queue and the worker threads are ignored, virtual
+     * threads can't be used. Scheduled triggers are dispatched on a thread of
+     * the dispatcher's own.
+     *
+     * @param synchronous <code>true</code> for synchronous dispatching
+     */
+    public void setSynchronous(boolean synchronous) {
+        this.synchronous = synchronous;
+    }
+
+    /**
+     * Returns the directory of the journals
+     *
+     * @return the directory, <code>null</code> for no journal
+     */
+    public File getJournalDirectory() {
+        return journalDirectory;
+    }
+
+    /**
+     * Makes the dispatcher write every triggered event to a write-ahead
+     * journal before it is queued. Each dispatcher keeps its journal in a
+     * subdirectory named like the dispatcher. Events which have not been
+     * dispatched when the JVM dies or the dispatcher is stopped are replayed
+     * by {@link com.github.jedi.EventDispatcher#replayJournal()}. Their
+     * context and data are written using the
+     * {@link #setJournalPayloadCodec(com.github.jedi.PayloadCodec) journal payload codec}.
+     *
+     * @param journalDirectory the directory, <code>null</code> for no
+     * journal
+     */
+    public void setJournalDirectory(File journalDirectory) {
+        this.journalDirectory = journalDirectory;
+    }
+
+    /**
+     * Returns what writes context and data of journaled events
+     *
+     * @return the payload codec
+     */
+    public PayloadCodec getJournalPayloadCodec() {
+        return journalPayloadCodec;
+    }
+
+    /**
+     * Sets what writes context and data of journaled events. Events are
+     * written by an {@link com.github.jedi.EventCodec} using this codec.
+     *
+     * @param journalPayloadCodec the payload codec
+     */
+    public void setJournalPayloadCodec(PayloadCodec journalPayloadCodec) {
+        if (journalPayloadCodec == null) {
+            throw new IllegalArgumentException("No payload codec given!");
+        }
+        this.journalPayloadCodec = journalPayloadCodec;
+    }
+
+    /**
+     * Returns the size of a journal segment in bytes
+     *
+     * @return the segment size
+     */
+    public int getJournalSegmentSize() {
+        return journalSegmentSize;
+    }
+
+    /**
+     * Sets the size of a journal segment in bytes, which limits the size of a
+     * single event. Segments are mapped into memory and deleted once all
+     * their events have been dispatched.
+     *
+     * @param journalSegmentSize the segment size
+     */
+    public void setJournalSegmentSize(int journalSegmentSize) {
+        if (journalSegmentSize < 4096) {
+            throw new IllegalArgumentException("Segments must hold at least 4096 bytes!");
+        }
+        this.journalSegmentSize = journalSegmentSize;
+    }
+
+    /**
+     * Returns the time in ms between two flushes of the journal
+     *
+     * @return the sync interval
+     */
+    public long getJournalSyncInterval() {
+        return journalSyncInterval;
+    }
+
+    /**
+     * Sets the time in ms between two flushes of the journal. All events
+     * appended in between are forced to disk at once.
+     *
+     * @param journalSyncInterval the sync interval
+     */
+    public void setJournalSyncInterval(long journalSyncInterval) {
+        if (journalSyncInterval < 1) {
+            throw new IllegalArgumentException("Sync interval must be positive!");
+        }
+        this.journalSyncInterval = journalSyncInterval;
+    }
+
+    /**
+     * Returns whether triggering waits until the event has been flushed
+     *
+     * @return <code>true</code> if triggering waits
+     */
+    public boolean isJournalSyncOnTrigger() {
+        return journalSyncOnTrigger;
+    }
+
+    /**
+     * Sets whether triggering waits until the event has been flushed to the
+     * journal. Threads triggering at the same time share a single flush,
+     * which starts right away instead of after the sync interval.
+     *
+     * @param journalSyncOnTrigger <code>true</code> if triggering waits
+     */
+    public void setJournalSyncOnTrigger(boolean journalSyncOnTrigger) {
+        this.journalSyncOnTrigger = journalSyncOnTrigger;
+    }
+
+    /**
+     * Returns whether the dispatcher records metrics
+     *
+     * @return <code>true</code> if metrics are recorded
+     */
+    public boolean isMetricsEnabled() {
+        return metricsEnabled;
+    }
+
+    /**
+     * Sets whether the dispatcher records
+     * {@link com.github.jedi.DispatcherMetrics} and registers them with the
+     * platform MBean server. Without metrics, recording costs a single check
+     * per event.
+     *
+     * @param metricsEnabled <code>true</code> to record metrics
+     */
+    public void setMetricsEnabled(boolean metricsEnabled) {
+        this.metricsEnabled = metricsEnabled;
+    }
+
+    /**
+     * Returns how often a failed listener invocation is retried
+     *
+     * @return the number of retries
+     */
+    public int getListenerRetries() {
+        return listenerRetries;
+    }
+
+    /**
+     * Sets how often the invocation of a listener which threw an exception is
+     * retried before the event becomes a
+     * {@link com.github.jedi.DeadLetter}. Retries never run on the
+     * dispatching threads, so the listener may get the event after later
+     * ones. The retries of a listener run one after another, in the order
+     * they fall due, but concurrently with the regular calls of the listener
+     * on the dispatching threads; a listener which may be retried has to be
+     * thread-safe.
+     *
+     * @param listenerRetries the number of retries
+     */
+    public void setListenerRetries(int listenerRetries) {
+        if (listenerRetries < 0) {
+            throw new IllegalArgumentException("The number of retries must not be negative!");
+        }
+        this.listenerRetries = listenerRetries;
+    }
+
+    /**
+     * Returns the time in ms before the first retry of a failed invocation
+     *
+     * @return the retry backoff in ms
+     */
+    public long getRetryBackoff() {
+        return retryBackoff;
+    }
+
+    /**
+     * Sets the time in ms before the first retry of a failed invocation. The
+     * backoff doubles with every further retry, up to the
+     * {@link #setMaxRetryBackoff(long) maximum backoff}.
+     *
+     * @param retryBackoff the retry backoff in ms
+     */
+    public void setRetryBackoff(long retryBackoff) {
+        if (retryBackoff < 0) {
+            throw new IllegalArgumentException("The retry backoff must not be negative!");
+        }
+        this.retryBackoff = retryBackoff;
+    }
+
+    /**
+     * Returns the maximum time in ms between two retries of a failed
+     * invocation
+     *
+     * @return the maximum retry backoff in ms
+     */
+    public long getMaxRetryBackoff() {
+        return maxRetryBackoff;
+    }
+
+    /**
+     * Sets the maximum time in ms between two retries of a failed invocation
+     *
+     * @param maxRetryBackoff the maximum retry backoff in ms
+     */
+    public void setMaxRetryBackoff(long maxRetryBackoff) {
+        if (maxRetryBackoff < 0) {
+            throw new IllegalArgumentException("The retry backoff must not be negative!");
+        }
+        this.maxRetryBackoff = maxRetryBackoff;
+    }
+
+    /**
+     * Returns how many dead letters the dispatcher keeps
+     *
+     * @return the dead letter capacity
+     */
+    public int getDeadLetterCapacity() {
+        return deadLetterCapacity;
+    }
+
+    /**
+     * Sets how many {@link com.github.jedi.DeadLetter}s the dispatcher keeps
+     * until they are drained. When the buffer is full, the oldest dead letter
+     * is dropped. The same number limits the retries waiting at a time,
+     * further failures become dead letters right away, so a listener failing
+     * on every event can't pile up memory.
+     *
+     * @param deadLetterCapacity the dead letter capacity, 0 to keep none
+     */
+    public void setDeadLetterCapacity(int deadLetterCapacity) {
+        if (deadLetterCapacity < 0) {
+            throw new IllegalArgumentException("The dead letter capacity must not be negative!");
+        }
+        this.deadLetterCapacity = deadLetterCapacity;
+    }
+
+    /**
+     * Creates the event queue described by this configuration
+     *
+     * @return a new, empty <code>EventQueue</code>
+     */
+    EventQueue createQueue() {
+        if (priorityWeights != null && priorityWeights.length > 1) {
+            List<EventQueue> lanes = new ArrayList<EventQueue>(priorityWeights.length);
+            for (int i = 0; i < priorityWeights.length; i++) {
+                lanes.add(createLane());
+            }
+            return new PriorityEventQueue(lanes, priorityWeights);
+        }
+        return createLane();
+    }
+
+    /**
+     * Creates a single lane of the event queue
+     *
+     * @return a new, empty <code>EventQueue</code>
+     */
+    private EventQueue createLane() {
+        if (queueCapacity < 1) {
+            return new LinkedEventQueue();
+        }
+        return new RingBufferEventQueue(queueCapacity, waitStrategy, backpressurePolicy);
+    }
+}
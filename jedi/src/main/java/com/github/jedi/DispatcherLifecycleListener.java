@@ -0,0 +1,45 @@
+/*
+ *  Copyright (C) 2026  agent <agent at local>
+ * 
+ *  This file is part of jedi.
+ * 
+ *  jedi is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ * 
+ *  jedi is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU LEsser General Public License for more details.
+ * 
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with jedi.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.jedi;
+
+/**
+ * Gets informed whenever a named {@link com.github.jedi.EventDispatcher} is
+ * created or stopped.
+ *
+ * @see com.github.jedi.EventDispatcher#addLifecycleListener(com.github.jedi.DispatcherLifecycleListener)
+ * @author agent <agent at local>
+ */
+public interface DispatcherLifecycleListener {
+
+    /**
+     * This method is called after a new dispatcher has been registered and
+     * started, on the thread which requested it.
+     *
+     * @param dispatcher the new dispatcher
+     */
+    public void dispatcherCreated(EventDispatcher dispatcher);
+
+    /**
+     * This method is called after a dispatcher has been stopped and removed,
+     * on the thread which stopped it.
+     *
+     * @param dispatcher the stopped dispatcher
+     */
+    public void dispatcherStopped(EventDispatcher dispatcher);
+}
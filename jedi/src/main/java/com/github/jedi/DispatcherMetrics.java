@@ -0,0 +1,430 @@
+/*
+ *  Copyright (C) 2026  agent <agent at local>
+ * 
+ *  This file is part of jedi.
+ * 
+ *  jedi is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ * 
+ *  jedi is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU LEsser General Public License for more details.
+ * 
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with jedi.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.jedi;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The metrics of an {@link com.github.jedi.EventDispatcher}: counters of the
+ * triggered, dispatched and dropped events, the number of events per name,
+ * the depth of the queue, and histograms of the time events wait in the
+ * queue and of the time spent in the listeners, per dispatcher and per
+ * listener.<br>
+ * Metrics are only recorded if they have been enabled by
+ * {@link com.github.jedi.DispatcherConfiguration#setMetricsEnabled(boolean)}.
+ * Recording doesn't allocate, except for the first event of a name and the
+ * first call of a listener. The metrics are also available through JMX, see
+ * {@link com.github.jedi.DispatcherMetricsMXBean}.
+ *
+ * @see com.github.jedi.EventDispatcher#getMetrics()
+ * @author agent <agent at local>
+ */
+public final class DispatcherMetrics {
+
+    /**
+     * static {@link org.slf4j.Logger} instance
+     */
+    private static final Logger log = LoggerFactory.getLogger(DispatcherMetrics.class.getName());
+    /**
+     * returns the number of queued events
+     */
+    private final DispatchEngine engine;
+    /**
+     * number of triggered events
+     */
+    private final LongAdder triggered = new LongAdder();
+    /**
+     * number of dispatched events
+     */
+    private final LongAdder dispatched = new LongAdder();
+    /**
+     * number of dropped events
+     */
+    private final LongAdder dropped = new LongAdder();
+    /**
+     * time between triggering and dispatching an event
+     */
+    private final LatencyHistogram queueWait = new LatencyHistogram();
+    /**
+     * time spent in a listener per event, all listeners together
+     */
+    private final LatencyHistogram handlerTime = new LatencyHistogram();
+    /**
+     * number of dispatched events per name
+     */
+    private final ConcurrentMap<String, LongAdder> eventCounts =
+            new ConcurrentHashMap<String, LongAdder>();
+    /**
+     * the metrics of the listeners
+     */
+    private final ConcurrentMap<EventListener, ListenerMetrics> listeners =
+            new ConcurrentHashMap<EventListener, ListenerMetrics>();
+    /**
+     * the name this instance is registered with at the MBean server,
+     * <code>null</code> if it is not registered
+     */
+    private ObjectName objectName;
+
+    /**
+     * Creates a new DispatcherMetrics
+     *
+     * @param engine returns the number of queued events
+     */
+    DispatcherMetrics(DispatchEngine engine) {
+        this.engine = engine;
+    }
+
+    /**
+     * Returns the number of events triggered on the dispatcher, including
+     * the dropped and the conflated ones
+     *
+     * @return the number of triggered events
+     */
+    public long getTriggeredEvents() {
+        return triggered.sum();
+    }
+
+    /**
+     * Returns the number of events dispatched to the listeners
+     *
+     * @return the number of dispatched events
+     */
+    public long getDispatchedEvents() {
+        return dispatched.sum();
+    }
+
+    /**
+     * Returns the number of events the queue rejected when they were
+     * triggered, see {@link com.github.jedi.BackpressurePolicy}. Events
+     * evicted from a full queue later on are not counted.
+     *
+     * @return the number of dropped events
+     */
+    public long getDroppedEvents() {
+        return dropped.sum();
+    }
+
+    /**
+     * Returns the number of events waiting in the queues of the dispatcher.
+     * Events handed to virtual threads right away and events queued by a
+     * synchronous dispatcher are not counted.
+     *
+     * @return the number of queued events
+     */
+    public int getQueueDepth() {
+        return engine.size();
+    }
+
+    /**
+     * Returns the histogram of the time between triggering and dispatching
+     * an event
+     *
+     * @return the queue wait histogram
+     */
+    public LatencyHistogram getQueueWait() {
+        return queueWait;
+    }
+
+    /**
+     * Returns the histogram of the time spent in a listener per event, all
+     * listeners together
+     *
+     * @return the handler time histogram
+     */
+    public LatencyHistogram getHandlerTime() {
+        return handlerTime;
+    }
+
+    /**
+     * Returns the number of dispatched events named
+     * <code>event</code>
+     *
+     * @param event the name
+     * @return the number of events
+     */
+    public long getEventCount(String event) {
+        LongAdder count = eventCounts.get(event);
+        return (count == null) ? 0 : count.sum();
+    }
+
+    /**
+     * Returns the number of dispatched events per name
+     *
+     * @return the numbers, sorted by name
+     */
+    public Map<String, Long> getEventCounts() {
+        Map<String, Long> counts = new TreeMap<String, Long>();
+        for (Map.Entry<String, LongAdder> entry : eventCounts.entrySet()) {
+            counts.put(entry.getKey(), entry.getValue().sum());
+        }
+        return counts;
+    }
+
+    /**
+     * Returns the metrics of
+     * <code>listener</code>
+     *
+     * @param listener the listener
+     * @return its metrics, <code>null</code> if it has not been called since
+     * it was registered
+     */
+    public ListenerMetrics getListenerMetrics(EventListener listener) {
+        return listeners.get(listener);
+    }
+
+    /**
+     * Returns the metrics of all registered listeners which have been called
+     *
+     * @return the listener metrics
+     */
+    public Collection<ListenerMetrics> getListenerMetrics() {
+        return new ArrayList<ListenerMetrics>(listeners.values());
+    }
+
+    /**
+     * Resets all counters and histograms
+     */
+    public void reset() {
+        triggered.reset();
+        dispatched.reset();
+        dropped.reset();
+        queueWait.reset();
+        handlerTime.reset();
+        eventCounts.clear();
+        listeners.clear();
+    }
+
+    /**
+     * Counts triggered events
+     *
+     * @param count the number of events
+     */
+    void triggered(int count) {
+        triggered.add(count);
+    }
+
+    /**
+     * Counts a dropped event
+     */
+    void dropped() {
+        dropped.increment();
+    }
+
+    /**
+     * Counts an event which is about to be dispatched and records the time it
+     * has been queued
+     *
+     * @param event the event
+     */
+    void dispatched(Event event) {
+        dispatched.increment();
+        queueWait.record(System.nanoTime() - event.getQueuedAt());
+        String name = event.getName();
+        if (name != null) {
+            LongAdder count = eventCounts.get(name);
+            if (count == null) {
+                count = new LongAdder();
+                LongAdder existing = eventCounts.putIfAbsent(name, count);
+                if (existing != null) {
+                    count = existing;
+                }
+            }
+            count.increment();
+        }
+    }
+
+    /**
+     * Records the time of a listener call
+     *
+     * @param listener the listener
+     * @param nanos the time in ns
+     */
+    void handled(EventListener listener, long nanos) {
+        handlerTime.record(nanos);
+        ListenerMetrics metrics = listeners.get(listener);
+        if (metrics == null) {
+            metrics = new ListenerMetrics(listener);
+            ListenerMetrics existing = listeners.putIfAbsent(listener, metrics);
+            if (existing != null) {
+                metrics = existing;
+            }
+        }
+        metrics.getHandlerTime().record(nanos);
+    }
+
+    /**
+     * Forgets the metrics of a removed listener
+     *
+     * @param listener the listener
+     */
+    void listenerRemoved(EventListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Wraps
+     * <code>listener</code> for running it on a
+     * {@link com.github.jedi.ListenerLane}, so that its calls are recorded
+     *
+     * @param listener the listener
+     * @return the wrapped listener
+     */
+    EventListener meter(final EventListener listener) {
+        return new EventListener() {
+            @Override
+            public void handleEvent(Event event) {
+                long start = System.nanoTime();
+                try {
+                    listener.handleEvent(event);
+                } finally {
+                    handled(listener, System.nanoTime() - start);
+                }
+            }
+        };
+    }
+
+    /**
+     * Registers these metrics at the platform MBean server
+     *
+     * @param dispatcher name of the dispatcher, <code>null</code> for the
+     * default instance
+     */
+    synchronized void register(String dispatcher) {
+        try {
+            ObjectName name = new ObjectName("com.github.jedi:type=EventDispatcher,name="
+                    + ObjectName.quote((dispatcher == null) ? "default" : dispatcher));
+            ManagementFactory.getPlatformMBeanServer().registerMBean(new Bean(), name);
+            objectName = name;
+        } catch (JMException ex) {
+            log.warn("Can't register the metrics of EventDispatcher " + dispatcher, ex);
+        }
+    }
+
+    /**
+     * Unregisters these metrics from the platform MBean server
+     */
+    synchronized void unregister() {
+        if (objectName == null) {
+            return;
+        }
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            server.unregisterMBean(objectName);
+        } catch (JMException ex) {
+            log.warn("Can't unregister " + objectName, ex);
+        }
+        objectName = null;
+    }
+
+    /**
+     * The JMX view of the metrics
+     */
+    private final class Bean implements DispatcherMetricsMXBean {
+
+        @Override
+        public long getTriggeredEvents() {
+            return DispatcherMetrics.this.getTriggeredEvents();
+        }
+
+        @Override
+        public long getDispatchedEvents() {
+            return DispatcherMetrics.this.getDispatchedEvents();
+        }
+
+        @Override
+        public long getDroppedEvents() {
+            return DispatcherMetrics.this.getDroppedEvents();
+        }
+
+        @Override
+        public int getQueueDepth() {
+            return DispatcherMetrics.this.getQueueDepth();
+        }
+
+        @Override
+        public long getQueueWaitMedian() {
+            return queueWait.getValueAtPercentile(50);
+        }
+
+        @Override
+        public long getQueueWait99thPercentile() {
+            return queueWait.getValueAtPercentile(99);
+        }
+
+        @Override
+        public long getQueueWaitMax() {
+            return queueWait.getMax();
+        }
+
+        @Override
+        public long getHandlerTimeMedian() {
+            return handlerTime.getValueAtPercentile(50);
+        }
+
+        @Override
+        public long getHandlerTime99thPercentile() {
+            return handlerTime.getValueAtPercentile(99);
+        }
+
+        @Override
+        public long getHandlerTimeMax() {
+            return handlerTime.getMax();
+        }
+
+        @Override
+        public Map<String, Long> getEventCounts() {
+            return DispatcherMetrics.this.getEventCounts();
+        }
+
+        @Override
+        public Map<String, Long> getListenerInvocations() {
+            Map<String, Long> invocations = new TreeMap<String, Long>();
+            for (ListenerMetrics metrics : listeners.values()) {
+                invocations.put(metrics.getName(), metrics.getInvocations());
+            }
+            return invocations;
+        }
+
+        @Override
+        public Map<String, Long> getListenerHandlerTime99thPercentile() {
+            Map<String, Long> times = new TreeMap<String, Long>();
+            for (ListenerMetrics metrics : listeners.values()) {
+                times.put(metrics.getName(), metrics.getHandlerTime().getValueAtPercentile(99));
+            }
+            return times;
+        }
+
+        @Override
+        public void reset() {
+            DispatcherMetrics.this.reset();
+        }
+    }
+}
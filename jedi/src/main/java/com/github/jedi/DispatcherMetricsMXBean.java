@@ -0,0 +1,106 @@
+/*
+ *  Copyright (C) 2026  agent <agent at local>
+ * 
+ *  This file is part of jedi.
+ * 
+ *  jedi is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ * 
+ *  jedi is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU LEsser General Public License for more details.
+ * 
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with jedi.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.jedi;
+
+import java.util.Map;
+
+/**
+ * The JMX view of the {@link com.github.jedi.DispatcherMetrics} of an
+ * {@link com.github.jedi.EventDispatcher}, registered as
+ * <code>com.github.jedi:type=EventDispatcher,name=&lt;name&gt;</code>. All
+ * durations are in ns.
+ *
+ * @author agent <agent at local>
+ */
+public interface DispatcherMetricsMXBean {
+
+    /**
+     * @see com.github.jedi.DispatcherMetrics#getTriggeredEvents()
+     * @return the number of triggered events
+     */
+    long getTriggeredEvents();
+
+    /**
+     * @see com.github.jedi.DispatcherMetrics#getDispatchedEvents()
+     * @return the number of dispatched events
+     */
+    long getDispatchedEvents();
+
+    /**
+     * @see com.github.jedi.DispatcherMetrics#getDroppedEvents()
+     * @return the number of dropped events
+     */
+    long getDroppedEvents();
+
+    /**
+     * @see com.github.jedi.DispatcherMetrics#getQueueDepth()
+     * @return the number of queued events
+     */
+    int getQueueDepth();
+
+    /**
+     * @return the median time events waited in the queue
+     */
+    long getQueueWaitMedian();
+
+    /**
+     * @return the 99th percentile of the time events waited in the queue
+     */
+    long getQueueWait99thPercentile();
+
+    /**
+     * @return the longest time an event waited in the queue
+     */
+    long getQueueWaitMax();
+
+    /**
+     * @return the median time of a listener call
+     */
+    long getHandlerTimeMedian();
+
+    /**
+     * @return the 99th percentile of the time of a listener call
+     */
+    long getHandlerTime99thPercentile();
+
+    /**
+     * @return the longest time of a listener call
+     */
+    long getHandlerTimeMax();
+
+    /**
+     * @return the number of dispatched events per name
+     */
+    Map<String, Long> getEventCounts();
+
+    /**
+     * @return the number of calls per listener
+     */
+    Map<String, Long> getListenerInvocations();
+
+    /**
+     * @return the 99th percentile of the time of a call per listener
+     */
+    Map<String, Long> getListenerHandlerTime99thPercentile();
+
+    /**
+     * Resets all metrics
+     */
+    void reset();
+}
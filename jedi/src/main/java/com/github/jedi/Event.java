@@ -0,0 +1,734 @@
+
+/*
+ *  Copyright (C) 2011  Dominik Schöner <kurrija at gmail.com>
+ *                      Simon Beckstein <simon.beckstein at gmail.com>
+ *
+ *  This file is part of jedi.
+ * 
+ *  jedi is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ * 
+ *  jedi is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU LEsser General Public License for more details.
+ * 
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with jedi.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.jedi;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * A container that holds event information<br>
+ * If an {@link com.github.jedi.EventDispatcher} uses pooled events, the
+ * Event handed to a listener is a reusable slot which is overwritten with
+ * another event as soon as all listeners have run. Listeners which keep an
+ * event beyond {@link com.github.jedi.EventListener#handleEvent(com.github.jedi.Event)}
+ * must keep a {@link #copy()} instead.
+ *
+ * @author Simon Beckstein <simon.beckstein at gmail.com>
+ * @author Dominik Schöner <kurrija at gmail.com>
+ */
+public class Event {
+
+    /**
+     * the
+     * <code>name</code> of this event
+     */
+    private String name;
+    /**
+     * the
+     * <code>context</code> object of this event
+     */
+    private Object context;
+    /**
+     * additional
+     * <code>data</code> of this event
+     */
+    private Object data;
+    /**
+     * kind of the primitive value, {@link #NO_VALUE} if there is none
+     */
+    private byte kind;
+    /**
+     * the primitive value, doubles are stored as their raw long bits
+     */
+    private long value;
+    /**
+     * the creation time of the event in ms
+     */
+    private long time;
+    /**
+     * the {@link com.github.jedi.Topic} this event was triggered for, if it
+     * was triggered through one
+     */
+    private Topic topic;
+    /**
+     * the pool this event is a slot of, <code>null</code> for plain events
+     */
+    private final EventPool pool;
+    /**
+     * the conflation slot this event stands in for while it is queued
+     */
+    private Conflation.Slot conflated;
+    /**
+     * correlation id of the request this event carries, 0 if it is no
+     * request
+     */
+    private long requestId;
+    /**
+     * the journal segment this event has been appended to, <code>null</code>
+     * if it is not journaled or done
+     */
+    private EventJournal.Segment journalSegment;
+    /**
+     * offset of this event within <code>journalSegment</code>
+     */
+    private int journalOffset;
+    /**
+     * keeps the journal position pending while listeners called after the
+     * dispatching pass still have to handle this event
+     */
+    private Acknowledgement acknowledgement;
+    /**
+     * whether this event has been received over an
+     * {@link com.github.jedi.EventBridge}
+     */
+    private boolean bridged;
+    /**
+     * the value of <code>System.nanoTime()</code> when this event was queued,
+     * only set if the dispatcher records metrics
+     */
+    private long queuedAt;
+    /**
+     * the event carries no primitive value
+     */
+    private static final byte NO_VALUE = 0;
+    /**
+     * the event carries a <code>long</code> value
+     */
+    private static final byte LONG_VALUE = 1;
+    /**
+     * the event carries a <code>double</code> value
+     */
+    private static final byte DOUBLE_VALUE = 2;
+
+    /**
+     * Creates a new Event with
+     * <code>name</code>
+     *
+     * @param name	the <code>name of the event
+     */
+    public Event(String name) {
+        this(name, null);
+    }
+
+    /**
+     * Creates a new Event with
+     * <code>name</code>
+     *
+     * @param name	the <code>name of the event
+     * @param context	the <code>context</code> Object of the event for example:
+     * the calling Object
+     */
+    public Event(String name, Object context) {
+        this(name, context, null);
+    }
+
+    /**
+     * Creates a new Event with
+     * <code>name</code>
+     *
+     * @param name	the <code>name of the event
+     * @param context	the <code>context</code> Object of the event for example:
+     * the calling Object
+     * @param data	additional <code>data</code> for this Event (optional)
+     */
+    public Event(String name, Object context, Object data) {
+        this.pool = null;
+        this.name = name;
+        this.context = context;
+        this.data = data;
+        this.kind = NO_VALUE;
+        this.time = System.currentTimeMillis();
+    }
+
+    /**
+     * Creates a new, empty slot of
+     * <code>pool</code>
+     *
+     * @param pool the pool this event is a slot of
+     */
+    Event(EventPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * Creates a new Event for the given
+     * <code>topic</code>
+     *
+     * @param topic the topic of the event
+     * @param context the <code>context</code> Object of the event
+     * @param data additional <code>data</code> for this Event (optional)
+     */
+    Event(Topic topic, Object context, Object data) {
+        this(topic.getName(), context, data);
+        this.topic = topic;
+    }
+
+    /**
+     * Returns the
+     * <code>context</code> of the Event. The
+     * <code>context</code> is optional and will be
+     * <code>null</code> if no context is set.
+     *
+     * @return the context of the event
+     */
+    public Object getContext() {
+        return context;
+    }
+
+    /**
+     * Returns the additional
+     * <code>data</code> of the Event. The
+     * <code>data</code> is optional and will be
+     * <code>null</code> if no data is set.<br>
+     * The primitive value of an event triggered with a <code>long</code> or
+     * <code>double</code> is only boxed when this method is called.
+     *
+     * @return the data of the event
+     */
+    public Object getData() {
+        if (data == null && kind != NO_VALUE) {
+            data = (kind == LONG_VALUE) ? (Object) Long.valueOf(value)
+                    : (Object) Double.valueOf(Double.longBitsToDouble(value));
+        }
+        return data;
+    }
+
+    /**
+     * Returns whether this event was triggered with a primitive
+     * <code>long</code> value
+     *
+     * @see com.github.jedi.EventDispatcher#triggerLong(com.github.jedi.Topic, java.lang.Object, long)
+     * @return <code>true</code> if {@link #getLongValue()} holds the data
+     */
+    public boolean hasLongValue() {
+        return kind == LONG_VALUE;
+    }
+
+    /**
+     * Returns the primitive
+     * <code>long</code> value of this event without boxing it
+     *
+     * @return the value, 0 if the event has no <code>long</code> value
+     */
+    public long getLongValue() {
+        return (kind == LONG_VALUE) ? value : 0L;
+    }
+
+    /**
+     * Returns whether this event was triggered with a primitive
+     * <code>double</code> value
+     *
+     * @see com.github.jedi.EventDispatcher#triggerDouble(com.github.jedi.Topic, java.lang.Object, double)
+     * @return <code>true</code> if {@link #getDoubleValue()} holds the data
+     */
+    public boolean hasDoubleValue() {
+        return kind == DOUBLE_VALUE;
+    }
+
+    /**
+     * Returns the primitive
+     * <code>double</code> value of this event without boxing it
+     *
+     * @return the value, 0 if the event has no <code>double</code> value
+     */
+    public double getDoubleValue() {
+        return (kind == DOUBLE_VALUE) ? Double.longBitsToDouble(value) : 0d;
+    }
+
+    /**
+     * Sets the primitive
+     * <code>long</code> value of this event
+     *
+     * @param value the value
+     */
+    void setLongValue(long value) {
+        this.kind = LONG_VALUE;
+        this.value = value;
+    }
+
+    /**
+     * Sets the primitive
+     * <code>double</code> value of this event
+     *
+     * @param value the value
+     */
+    void setDoubleValue(double value) {
+        this.kind = DOUBLE_VALUE;
+        this.value = Double.doubleToRawLongBits(value);
+    }
+
+    /**
+     * Returns the
+     * <code>name</code> for which this Event was triggered
+     *
+     * @return the name of the event
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Returns whether this event is a reusable slot of a pool, which must be
+     * copied if it is kept
+     *
+     * @return <code>true</code> for a pooled event
+     */
+    public boolean isPooled() {
+        return pool != null;
+    }
+
+    /**
+     * Returns a copy of this event which is never reused, keeping the
+     * creation time
+     *
+     * @return an unpooled copy
+     */
+    public Event copy() {
+        Event copy = new Event(name, context, data);
+        copy.time = time;
+        copy.topic = topic;
+        copy.kind = kind;
+        copy.value = value;
+        copy.requestId = requestId;
+        copy.bridged = bridged;
+        return copy;
+    }
+
+    /**
+     * Overwrites this slot with a new event
+     *
+     * @param topic the topic of the event, may be <code>null</code>
+     * @param name the name of the event
+     * @param context the context of the event
+     * @param data the data of the event
+     */
+    void fill(Topic topic, String name, Object context, Object data) {
+        this.topic = topic;
+        this.name = (topic != null) ? topic.getName() : name;
+        this.context = context;
+        this.data = data;
+        this.time = System.currentTimeMillis();
+    }
+
+    /**
+     * Empties this slot, so that it doesn't keep its context and data alive
+     */
+    void clear() {
+        this.topic = null;
+        this.name = null;
+        this.context = null;
+        this.data = null;
+        this.kind = NO_VALUE;
+        this.requestId = 0;
+        this.journalSegment = null;
+        this.acknowledgement = null;
+        this.bridged = false;
+    }
+
+    /**
+     * Hands this event back to its pool once it has been dispatched. Plain
+     * events are left alone.
+     */
+    void release() {
+        if (pool != null) {
+            pool.release(this);
+        }
+    }
+
+    /**
+     * Returns whether this event is a request waiting for a reply, see
+     * {@link com.github.jedi.EventDispatcher#request(java.lang.String, java.lang.Object, java.lang.Object, long, java.util.concurrent.TimeUnit)}
+     *
+     * @return <code>true</code> for a request
+     */
+    public boolean isRequest() {
+        return requestId != 0;
+    }
+
+    /**
+     * Completes the request this event carries with
+     * <code>reply</code>. Only the first reply to a request counts. A pooled
+     * request has to be answered before the listener returns.
+     *
+     * @param reply the reply
+     * @return <code>false</code> if this event is no request, or the request
+     * has already been answered or has expired
+     */
+    public boolean reply(Object reply) {
+        return requestId != 0 && PendingRequests.complete(requestId, reply);
+    }
+
+    /**
+     * Fails the request this event carries
+     *
+     * @param cause why the request failed
+     * @return <code>false</code> if this event is no request, or the request
+     * has already been answered or has expired
+     */
+    public boolean replyFailure(Throwable cause) {
+        if (cause == null) {
+            throw new IllegalArgumentException("No cause given!");
+        }
+        return requestId != 0 && PendingRequests.fail(requestId, cause);
+    }
+
+    /**
+     * Returns the correlation id of the request this event carries
+     *
+     * @return the correlation id, 0 if it is no request
+     */
+    long getRequestId() {
+        return requestId;
+    }
+
+    /**
+     * Makes this event a request
+     *
+     * @param requestId the correlation id of the request
+     */
+    void setRequestId(long requestId) {
+        this.requestId = requestId;
+    }
+
+    /**
+     * Remembers where this event has been journaled
+     *
+     * @param segment the journal segment
+     * @param offset offset of this event within <code>segment</code>
+     */
+    void setJournalPosition(EventJournal.Segment segment, int offset) {
+        this.journalSegment = segment;
+        this.journalOffset = offset;
+    }
+
+    /**
+     * Takes over the journal position of
+     * <code>other</code>, which won't be marked as done by itself anymore
+     *
+     * @param other the event this event replaces
+     */
+    void takeJournalPosition(Event other) {
+        this.journalSegment = other.journalSegment;
+        this.journalOffset = other.journalOffset;
+        other.journalSegment = null;
+    }
+
+    /**
+     * Returns whether this event has been journaled and is not done yet
+     *
+     * @return <code>true</code> if journaled
+     */
+    boolean isJournaled() {
+        return journalSegment != null;
+    }
+
+    /**
+     * Starts the {@link com.github.jedi.Acknowledgement} of a dispatching
+     * pass, taking over the journal position of this event
+     *
+     * @return the acknowledgement held by the pass, <code>null</code> if this
+     * event is not journaled
+     */
+    Acknowledgement beginAcknowledgement() {
+        EventJournal.Segment segment = journalSegment;
+        if (segment == null) {
+            /* the event may be triggered again after a journaled pass */
+            acknowledgement = null;
+            return null;
+        }
+        journalSegment = null;
+        acknowledgement = new Acknowledgement(segment, journalOffset);
+        return acknowledgement;
+    }
+
+    /**
+     * Makes
+     * <code>acknowledgement</code> the one listeners called after the
+     * dispatching pass hold
+     *
+     * @param acknowledgement the acknowledgement of the pass
+     */
+    void setAcknowledgement(Acknowledgement acknowledgement) {
+        this.acknowledgement = acknowledgement;
+    }
+
+    /**
+     * Keeps the journal acknowledgement of this event pending until
+     * {@link #settle()} is called, for a listener called after the
+     * dispatching pass while this event is still valid
+     */
+    void hold() {
+        Acknowledgement held = acknowledgement;
+        if (held != null) {
+            held.hold();
+        }
+    }
+
+    /**
+     * Returns this event, or a copy if it is pooled, for a listener called
+     * after the dispatching pass. The journal acknowledgement waits for the
+     * returned event to be {@link #settle() settled}.
+     *
+     * @return the event to be handed to the listener
+     */
+    Event defer() {
+        return (pool == null) ? deferTo(this) : deferCopy();
+    }
+
+    /**
+     * Returns a copy of this event for a listener called after the
+     * dispatching pass, e.g. a retry. The journal acknowledgement waits for
+     * the copy to be {@link #settle() settled}.
+     *
+     * @return the copy to be handed to the listener
+     */
+    Event deferCopy() {
+        return deferTo(copy());
+    }
+
+    /**
+     * Lets
+     * <code>deferred</code> hold the journal acknowledgement of this event
+     *
+     * @param deferred this event or a copy
+     * @return <code>deferred</code>
+     */
+    private Event deferTo(Event deferred) {
+        Acknowledgement held = acknowledgement;
+        if (held != null) {
+            held.hold();
+            deferred.acknowledgement = held;
+        }
+        return deferred;
+    }
+
+    /**
+     * Settles the journal acknowledgement held by this event, once the
+     * listener it was deferred to has been called
+     */
+    void settle() {
+        Acknowledgement held = acknowledgement;
+        if (held != null) {
+            held.settle();
+        }
+    }
+
+    /**
+     * Marks this event as done in the journal, so that it won't be replayed.
+     * Calling this method again, or for an event which is not journaled, has
+     * no effect.
+     */
+    void acknowledge() {
+        EventJournal.Segment segment = journalSegment;
+        if (segment != null) {
+            journalSegment = null;
+            segment.acknowledge(journalOffset);
+        }
+    }
+
+    /**
+     * Discards this event without dispatching it, because the
+     * {@link com.github.jedi.BackpressurePolicy} dropped it: a request fails,
+     * a conflation slot frees its key, journaled events are marked as done,
+     * and a pooled event goes back to its pool.
+     */
+    void drop() {
+        if (requestId != 0) {
+            replyFailure(new RejectedExecutionException("Request " + requestId
+                    + " has been dropped!"));
+        }
+        Conflation.Slot slot = conflated;
+        if (slot != null) {
+            slot.take(this).acknowledge();
+            slot.acknowledge();
+        }
+        acknowledge();
+        release();
+    }
+
+    /**
+     * Discards this event without dispatching it, because its dispatcher has
+     * been stopped: a request fails with a
+     * <code>CancellationException</code>, a conflation slot frees its key and
+     * a pooled event goes back to its pool. A journaled event is not marked as
+     * done, so that it is replayed on the next start.
+     */
+    void cancel() {
+        if (requestId != 0) {
+            replyFailure(new CancellationException("Request " + requestId
+                    + " has been cancelled, the dispatcher has been stopped!"));
+        }
+        Conflation.Slot slot = conflated;
+        if (slot != null) {
+            slot.take(this);
+        }
+        release();
+    }
+
+    /**
+     * Sets the creation time of this event, used when it is recovered or
+     * received over a bridge
+     *
+     * @param time the time in ms since the epoch
+     */
+    void setTime(long time) {
+        this.time = time;
+    }
+
+    /**
+     * Sets the {@link com.github.jedi.Topic} of this event, used when it is
+     * recovered or received over a bridge
+     *
+     * @param topic the topic, its name must match
+     */
+    void setTopic(Topic topic) {
+        this.topic = topic;
+    }
+
+    /**
+     * Returns when this event was queued
+     *
+     * @return the value of <code>System.nanoTime()</code> at that time
+     */
+    long getQueuedAt() {
+        return queuedAt;
+    }
+
+    /**
+     * Sets when this event was queued
+     *
+     * @param queuedAt the value of <code>System.nanoTime()</code>
+     */
+    void setQueuedAt(long queuedAt) {
+        this.queuedAt = queuedAt;
+    }
+
+    /**
+     * Returns whether this event has been received over an
+     * {@link com.github.jedi.EventBridge}, such events are not forwarded
+     * again
+     *
+     * @return <code>true</code> for a received event
+     */
+    boolean isBridged() {
+        return bridged;
+    }
+
+    /**
+     * Marks this event as received over an {@link com.github.jedi.EventBridge}
+     */
+    void setBridged() {
+        this.bridged = true;
+    }
+
+    /**
+     * Returns the conflation slot this event stands in for while it is queued
+     *
+     * @return the slot, <code>null</code> if the event is not conflated
+     */
+    Conflation.Slot getConflated() {
+        return conflated;
+    }
+
+    /**
+     * Sets the conflation slot this event stands in for while it is queued
+     *
+     * @param conflated the slot, <code>null</code> once dispatched
+     */
+    void setConflated(Conflation.Slot conflated) {
+        this.conflated = conflated;
+    }
+
+    /**
+     * Returns the {@link com.github.jedi.Topic} this event was triggered for
+     *
+     * @return the topic, <code>null</code> if the event was not triggered
+     * through a topic
+     */
+    Topic getTopic() {
+        return topic;
+    }
+
+    /**
+     * Returns the creation time of the event in ms
+     *
+     * @see System#currentTimeMillis()
+     * @return the creation time of the event in ms
+     */
+    public long getTime() {
+        return time;
+    }
+
+    /**
+     * Returns true if obj instanceof Event and if the following attributes are
+     * qual:
+     * <code>name</code>
+     * <code>context</code>
+     * <code>data</code>
+     *
+     * @param obj the Object to compare with
+     * @return
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == null) {
+            return false;
+        }
+        if (getClass() != obj.getClass()) {
+            return false;
+        }
+        final Event other = (Event) obj;
+        if ((this.name == null) ? (other.name != null) : !this.name.equals(other.name)) {
+            return false;
+        }
+        if (this.context != other.context && (this.context == null || !this.context.
+                equals(other.context))) {
+            return false;
+        }
+        if (this.getData() != other.getData() && (this.getData() == null
+                || !this.getData().equals(other.getData()))) {
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Computes a hashcode for this Object considering
+     * <code>name</code>,
+     * <code>context</code> and
+     * <code>data</code>
+     *
+     * @return
+     */
+    @Override
+    public int hashCode() {
+        int hash = 7;
+        hash = 47 * hash + (this.name != null ? this.name.hashCode() : 0);
+        hash = 47 * hash + (this.context != null ? this.context.hashCode() : 0);
+        hash = 47 * hash + (this.getData() != null ? this.getData().hashCode() : 0);
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        return "Event " + getName() + "[Data: " + getData() + ",Context: " + getContext() + "]";
+    }
+}
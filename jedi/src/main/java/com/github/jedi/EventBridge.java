@@ -0,0 +1,634 @@
+/*
+ *  Copyright (C) 2026  agent <agent at local>
+ * 
+ *  This file is part of jedi.
+ * 
+ *  jedi is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ * 
+ *  jedi is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU LEsser General Public License for more details.
+ * 
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with jedi.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.jedi;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Exchanges {@link com.github.jedi.Event}s between JVMs on the same host
+ * through a memory-mapped ring buffer file, without a network stack or a
+ * broker.<br>
+ * One bridge {@link #publish(java.io.File, int, com.github.jedi.EventDispatcher, java.lang.String[]) publishes}
+ * the events of selected names of a dispatcher into the file; it listens for
+ * them and writes each one straight into the mapped ring using an
+ * {@link com.github.jedi.EventCodec}. Any number of bridges in other JVMs
+ * {@link #subscribe(java.io.File, com.github.jedi.EventDispatcher) subscribe}
+ * to the file: a thread per subscriber polls the ring, copies new records
+ * out of the mapping, decodes them once the copy has been validated and
+ * triggers them on its own dispatcher. Only one
+ * publisher may use a file at a time, which is enforced by a file lock; for
+ * traffic in both directions every JVM publishes into a file of its own.
+ * Events received over a bridge are not forwarded by a publishing bridge
+ * again, so bridges can't form loops.<br>
+ * The ring never blocks the publisher. A subscriber which falls behind by
+ * more than the capacity of the ring is overrun: it skips to the newest
+ * event and counts the overrun, see {@link #getOverruns()}. An event must
+ * not take more than an eighth of the capacity, larger events are not
+ * forwarded.<br>
+ * A subscriber spins for a while after it has received an event before it
+ * backs off to parking, so that a steady stream isn't delayed by waking up
+ * the polling thread. Spinning only pays off if the polling thread has a core
+ * of its own; the latency is measured by the
+ * <code>BridgeLatencyBenchmark</code> of the benchmarks module.<br>
+ * The file starts with a header of
+ * <code>magic (int), capacity (int)</code>, the intended and the published
+ * tail of the ring (longs on separate cache lines), followed by the ring.
+ * A record in the ring is an int length followed by the encoded event and
+ * padded to 8 bytes; a negative length skips the rest of the ring.
+ *
+ * @author agent <agent at local>
+ */
+public final class EventBridge {
+
+    /**
+     * static {@link org.slf4j.Logger} instance
+     */
+    private static final Logger log = LoggerFactory.getLogger(EventBridge.class.getName());
+    /**
+     * accesses the ring positions in the mapped header
+     */
+    private static final VarHandle LONGS = MethodHandles.byteBufferViewVarHandle(
+            long[].class, ByteOrder.nativeOrder());
+    /**
+     * accesses the magic number in the mapped header
+     */
+    private static final VarHandle INTS = MethodHandles.byteBufferViewVarHandle(
+            int[].class, ByteOrder.nativeOrder());
+    /**
+     * marks an initialized bridge file
+     */
+    private static final int MAGIC = 0x4A454449;
+    /**
+     * offset of the magic number
+     */
+    private static final int MAGIC_OFFSET = 0;
+    /**
+     * offset of the capacity
+     */
+    private static final int CAPACITY_OFFSET = 4;
+    /**
+     * offset of the tail the publisher is writing up to
+     */
+    private static final int TAIL_INTENT_OFFSET = 64;
+    /**
+     * offset of the tail up to which events have been published
+     */
+    private static final int TAIL_OFFSET = 128;
+    /**
+     * offset of the ring
+     */
+    private static final int RING_OFFSET = 256;
+    /**
+     * alignment of the records
+     */
+    private static final int ALIGNMENT = 8;
+    /**
+     * minimal capacity of the ring
+     */
+    private static final int MIN_CAPACITY = 4096;
+    /**
+     * time a subscriber parks while it is idle
+     */
+    private static final long PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+    /**
+     * the bridge file
+     */
+    private final File file;
+    /**
+     * the channel of the file, keeps the lock of a publisher
+     */
+    private final FileChannel channel;
+    /**
+     * the mapped file
+     */
+    private final MappedByteBuffer buffer;
+    /**
+     * a view of <code>buffer</code> records are encoded to or decoded from
+     */
+    private final ByteBuffer view;
+    /**
+     * a subscriber's copy of the record being read, decoded once the copy
+     * has been validated; <code>null</code> for a publisher
+     */
+    private final ByteBuffer record;
+    /**
+     * encodes or decodes the events, reset for every record
+     */
+    private final EventCodec codec;
+    /**
+     * capacity of the ring in bytes, a power of two
+     */
+    private final int capacity;
+    /**
+     * maximal size of a record in bytes
+     */
+    private final int maxRecord;
+    /**
+     * the dispatcher events are forwarded from or triggered on
+     */
+    private final EventDispatcher dispatcher;
+    /**
+     * the names forwarded by a publisher, <code>null</code> for a subscriber
+     */
+    private final String[] events;
+    /**
+     * the listener of a publisher
+     */
+    private final EventListener forwarder;
+    /**
+     * the lock of a publisher on the file
+     */
+    private final FileLock lock;
+    /**
+     * the polling thread of a subscriber
+     */
+    private final Thread poller;
+    /**
+     * time a subscriber spins after its last event, in ns
+     */
+    private final long spinNanos;
+    /**
+     * the ring position of the next record: written next by a publisher,
+     * read next by a subscriber
+     */
+    private long position;
+    /**
+     * number of times a subscriber has been overrun
+     */
+    private final AtomicLong overruns = new AtomicLong();
+    /**
+     * whether this bridge is open
+     */
+    private volatile boolean running = true;
+
+    /**
+     * Creates a new EventBridge
+     *
+     * @param file the bridge file
+     * @param channel the channel of the file
+     * @param buffer the mapped file
+     * @param payloadCodec writes context and data of the events
+     * @param dispatcher the dispatcher
+     * @param events the forwarded names, <code>null</code> for a subscriber
+     * @param lock the lock of a publisher
+     * @param spinNanos time a subscriber spins after its last event
+     */
+    private EventBridge(File file, FileChannel channel, MappedByteBuffer buffer,
+            PayloadCodec payloadCodec, EventDispatcher dispatcher, String[] events,
+            FileLock lock, long spinNanos) {
+        this.file = file;
+        this.channel = channel;
+        this.buffer = buffer;
+        this.view = buffer.duplicate();
+        this.codec = new EventCodec(payloadCodec);
+        this.capacity = buffer.getInt(CAPACITY_OFFSET);
+        this.maxRecord = capacity / 8;
+        this.record = (events == null) ? ByteBuffer.allocate(maxRecord) : null;
+        this.dispatcher = dispatcher;
+        this.events = events;
+        this.lock = lock;
+        this.spinNanos = spinNanos;
+        this.position = (long) LONGS.getAcquire(buffer, TAIL_OFFSET);
+        if (events != null) {
+            this.poller = null;
+            this.forwarder = new EventListener() {
+                @Override
+                public void handleEvent(Event event) {
+                    forward(event);
+                }
+            };
+        } else {
+            this.forwarder = null;
+            this.poller = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    pollLoop();
+                }
+            }, "EventBridge_" + file.getName());
+            this.poller.setDaemon(true);
+        }
+    }
+
+    /**
+     * Publishes the events named
+     * <code>events</code> of
+     * <code>dispatcher</code> into
+     * <code>file</code>, using a {@link com.github.jedi.DefaultPayloadCodec}
+     * without Java serialization
+     *
+     * @param file the bridge file, created if missing
+     * @param capacity capacity of the ring in bytes, a power of two of at
+     * least 4096
+     * @param dispatcher the dispatcher whose events are published
+     * @param events the names of the published events, patterns are allowed
+     * @return the bridge
+     * @throws IOException if the file can't be created or mapped
+     * @throws IllegalStateException if another bridge publishes into the
+     * file
+     */
+    public static EventBridge publish(File file, int capacity, EventDispatcher dispatcher,
+            String... events) throws IOException {
+        return publish(file, capacity, new DefaultPayloadCodec(false), dispatcher, events);
+    }
+
+    /**
+     * Publishes the events named
+     * <code>events</code> of
+     * <code>dispatcher</code> into
+     * <code>file</code>. If the file already is a bridge file, publishing
+     * continues after its last event.
+     *
+     * @param file the bridge file, created if missing
+     * @param capacity capacity of the ring in bytes, a power of two of at
+     * least 4096
+     * @param payloadCodec writes context and data of the events, the
+     * subscribers have to use a matching one
+     * @param dispatcher the dispatcher whose events are published
+     * @param events the names of the published events, patterns are allowed
+     * @return the bridge
+     * @throws IOException if the file can't be created or mapped
+     * @throws IllegalStateException if another bridge publishes into the
+     * file
+     */
+    public static EventBridge publish(File file, int capacity, PayloadCodec payloadCodec,
+            EventDispatcher dispatcher, String... events) throws IOException {
+        if (file == null) {
+            throw new IllegalArgumentException("No file given!");
+        }
+        if (capacity < MIN_CAPACITY || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("The capacity must be a power of two of at least "
+                    + MIN_CAPACITY + "!");
+        }
+        if (payloadCodec == null) {
+            throw new IllegalArgumentException("No payload codec given!");
+        }
+        if (dispatcher == null) {
+            throw new IllegalArgumentException("No dispatcher given!");
+        }
+        if (events == null || events.length == 0) {
+            throw new IllegalArgumentException("No events given!");
+        }
+        RandomAccessFile raf = new RandomAccessFile(file, "rw");
+        FileChannel channel = raf.getChannel();
+        EventBridge bridge;
+        try {
+            FileLock lock;
+            try {
+                lock = channel.tryLock(0, RING_OFFSET, false);
+            } catch (OverlappingFileLockException ex) {
+                lock = null;
+            }
+            if (lock == null) {
+                throw new IllegalStateException(file + " is already published to!");
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0,
+                    RING_OFFSET + capacity);
+            if ((int) INTS.getAcquire(buffer, MAGIC_OFFSET) == MAGIC) {
+                if (buffer.getInt(CAPACITY_OFFSET) != capacity) {
+                    throw new IllegalArgumentException(file + " has a capacity of "
+                            + buffer.getInt(CAPACITY_OFFSET) + " bytes!");
+                }
+            } else {
+                buffer.putInt(CAPACITY_OFFSET, capacity);
+                /* the magic is written last, it makes the file usable for subscribers */
+                INTS.setRelease(buffer, MAGIC_OFFSET, MAGIC);
+            }
+            bridge = new EventBridge(file, channel, buffer, payloadCodec, dispatcher,
+                    events.clone(), lock, 0);
+        } catch (IOException ex) {
+            raf.close();
+            throw ex;
+        } catch (RuntimeException ex) {
+            raf.close();
+            throw ex;
+        }
+        for (String event : bridge.events) {
+            dispatcher.addListener(event, bridge.forwarder);
+        }
+        return bridge;
+    }
+
+    /**
+     * Subscribes
+     * <code>dispatcher</code> to the events published into
+     * <code>file</code>, using a {@link com.github.jedi.DefaultPayloadCodec}
+     * without Java serialization and spinning for 1 ms after each event. Any
+     * process able to write the file can publish into it, so payloads are
+     * not deserialized by default.
+     *
+     * @param file the bridge file, which has to be published to already
+     * @param dispatcher the dispatcher the events are triggered on
+     * @return the bridge
+     * @throws IOException if the file can't be mapped or is no bridge file
+     */
+    public static EventBridge subscribe(File file, EventDispatcher dispatcher) throws IOException {
+        return subscribe(file, new DefaultPayloadCodec(false), dispatcher, 1,
+                TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Subscribes
+     * <code>dispatcher</code> to the events published into
+     * <code>file</code>. Only events published from now on are received.
+     *
+     * @param file the bridge file, which has to be published to already
+     * @param payloadCodec reads context and data of the events; it reads
+     * whatever any process able to write the file has published, so it
+     * should not deserialize arbitrary objects
+     * @param dispatcher the dispatcher the events are triggered on
+     * @param spinTime time the polling thread spins after an event before it
+     * starts parking; spinning keeps the latency low but occupies a core
+     * @param unit the unit of <code>spinTime</code>
+     * @return the bridge
+     * @throws IOException if the file can't be mapped or is no bridge file
+     */
+    public static EventBridge subscribe(File file, PayloadCodec payloadCodec,
+            EventDispatcher dispatcher, long spinTime, TimeUnit unit) throws IOException {
+        if (file == null) {
+            throw new IllegalArgumentException("No file given!");
+        }
+        if (payloadCodec == null) {
+            throw new IllegalArgumentException("No payload codec given!");
+        }
+        if (dispatcher == null) {
+            throw new IllegalArgumentException("No dispatcher given!");
+        }
+        if (spinTime < 0 || unit == null) {
+            throw new IllegalArgumentException("Invalid spin time given!");
+        }
+        RandomAccessFile raf = new RandomAccessFile(file, "r");
+        FileChannel channel = raf.getChannel();
+        EventBridge bridge;
+        try {
+            /* the header is checked before mapping, a mapping can't be unmapped */
+            ByteBuffer header = ByteBuffer.allocate(CAPACITY_OFFSET + 4);
+            if (channel.size() < RING_OFFSET + MIN_CAPACITY
+                    || channel.read(header, 0) != header.capacity()) {
+                throw new IOException(file + " is no event bridge!");
+            }
+            int capacity = header.getInt(CAPACITY_OFFSET);
+            if (header.order(ByteOrder.nativeOrder()).getInt(MAGIC_OFFSET) != MAGIC
+                    || Integer.bitCount(capacity) != 1 || RING_OFFSET + capacity > channel.size()) {
+                throw new IOException(file + " is no event bridge!");
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0,
+                    RING_OFFSET + capacity);
+            bridge = new EventBridge(file, channel, buffer, payloadCodec, dispatcher,
+                    null, null, unit.toNanos(spinTime));
+        } catch (IOException ex) {
+            raf.close();
+            throw ex;
+        } catch (RuntimeException ex) {
+            raf.close();
+            throw ex;
+        }
+        bridge.poller.start();
+        return bridge;
+    }
+
+    /**
+     * Returns the bridge file
+     *
+     * @return the file
+     */
+    public File getFile() {
+        return file;
+    }
+
+    /**
+     * Returns how often this subscriber has been overrun by the publisher and
+     * skipped the events it had not read yet
+     *
+     * @return the number of overruns, always 0 for a publisher
+     */
+    public long getOverruns() {
+        return overruns.get();
+    }
+
+    /**
+     * Closes this bridge: a publisher stops forwarding and releases the file,
+     * a subscriber stops polling. The file is kept.
+     */
+    public void close() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        if (forwarder != null) {
+            for (String event : events) {
+                try {
+                    dispatcher.removeListener(event, forwarder);
+                } catch (IllegalArgumentException ex) {
+                    /* the listener has been removed already */
+                }
+            }
+        }
+        if (poller != null && poller != Thread.currentThread()) {
+            LockSupport.unpark(poller);
+            try {
+                poller.join();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        try {
+            /* closing the channel releases the lock, the mapping stays valid */
+            channel.close();
+        } catch (IOException ex) {
+            log.warn("Can't close event bridge " + file, ex);
+        }
+    }
+
+    /**
+     * Writes an event of the dispatcher into the ring, called by the listener
+     * of a publisher
+     *
+     * @param event the event
+     */
+    private void forward(Event event) {
+        if (event.isBridged()) {
+            return;
+        }
+        try {
+            write(event);
+        } catch (RuntimeException ex) {
+            log.warn("Can't forward " + event + " to event bridge " + file, ex);
+        }
+    }
+
+    /**
+     * Writes
+     * <code>event</code> into the ring and publishes it
+     *
+     * @param event the event
+     */
+    private synchronized void write(Event event) {
+        if (!running) {
+            return;
+        }
+        long tail = position;
+        int index = (int) (tail & (capacity - 1));
+        int padding = (capacity - index < maxRecord) ? capacity - index : 0;
+        /* subscribers reading what is about to be overwritten notice it */
+        LONGS.setVolatile(buffer, TAIL_INTENT_OFFSET, tail + padding + maxRecord);
+        if (padding > 0) {
+            buffer.putInt(RING_OFFSET + index, -padding);
+            index = 0;
+        }
+        int start = RING_OFFSET + index;
+        view.limit(start + maxRecord).position(start + 4);
+        codec.reset();
+        try {
+            codec.encode(event, view);
+        } catch (BufferOverflowException ex) {
+            throw new IllegalArgumentException(event + " exceeds " + maxRecord + " bytes!");
+        }
+        int length = view.position() - start;
+        buffer.putInt(start, length);
+        position = tail + padding + align(length);
+        LONGS.setRelease(buffer, TAIL_OFFSET, position);
+    }
+
+    /**
+     * The loop of the polling thread of a subscriber
+     */
+    private void pollLoop() {
+        List<Event> batch = new ArrayList<Event>();
+        long idleSince = 0;
+        while (running) {
+            try {
+                poll(batch);
+                if (!batch.isEmpty()) {
+                    dispatcher.triggerAll(batch);
+                }
+            } catch (RuntimeException ex) {
+                log.error("Event bridge " + file + " stops polling", ex);
+                running = false;
+                break;
+            }
+            if (!batch.isEmpty()) {
+                idleSince = 0;
+                batch.clear();
+            } else if (idleSince == 0) {
+                idleSince = System.nanoTime();
+            } else if (System.nanoTime() - idleSince < spinNanos) {
+                Thread.onSpinWait();
+            } else {
+                LockSupport.parkNanos(this, PARK_NANOS);
+            }
+        }
+    }
+
+    /**
+     * Reads the events published since the last poll
+     *
+     * @param batch the list to add the events to
+     */
+    private void poll(List<Event> batch) {
+        long tail = (long) LONGS.getAcquire(buffer, TAIL_OFFSET);
+        if (tail - position > capacity || tail < position) {
+            overrun();
+            return;
+        }
+        while (position < tail) {
+            int index = (int) (position & (capacity - 1));
+            int length = buffer.getInt(RING_OFFSET + index);
+            long next;
+            if (length < 0) {
+                next = position - length;
+            } else {
+                next = position + align(length);
+                if (length >= 4 && length <= maxRecord) {
+                    int start = RING_OFFSET + index;
+                    view.limit(start + length).position(start + 4);
+                    record.clear();
+                    record.put(view).flip();
+                }
+            }
+            /* everything read so far is valid unless the publisher has overtaken it */
+            VarHandle.loadLoadFence();
+            if ((long) LONGS.getVolatile(buffer, TAIL_INTENT_OFFSET) - capacity > position) {
+                overrun();
+                return;
+            }
+            if (length >= 0) {
+                if (length < 4 || length > maxRecord) {
+                    log.warn("Skipping the corrupt rest of event bridge {}", file);
+                    position = tail;
+                    return;
+                }
+                /* only the validated copy is decoded, the ring may change meanwhile */
+                Event event = null;
+                codec.reset();
+                try {
+                    event = codec.decode(record);
+                } catch (RuntimeException ex) {
+                    log.warn("Skipping a corrupt record of event bridge " + file, ex);
+                }
+                if (event != null) {
+                    if (event.getName() != null) {
+                        /* unknown names are dispatched by name, a remote process can't create topics */
+                        event.setTopic(dispatcher.findTopic(event.getName()));
+                    }
+                    event.setBridged();
+                    batch.add(event);
+                }
+            }
+            position = next;
+        }
+    }
+
+    /**
+     * Skips all unread events after the publisher has overtaken this
+     * subscriber
+     */
+    private void overrun() {
+        overruns.incrementAndGet();
+        position = (long) LONGS.getAcquire(buffer, TAIL_OFFSET);
+        log.warn("Event bridge {} has been overrun, skipping to the newest event", file);
+    }
+
+    /**
+     * Rounds a record length up to the alignment of the records
+     *
+     * @param length the length
+     * @return the aligned length
+     */
+    private static int align(int length) {
+        return (length + ALIGNMENT - 1) & -ALIGNMENT;
+    }
+}
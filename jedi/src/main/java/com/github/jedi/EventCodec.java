@@ -0,0 +1,242 @@
+/*
+ *  Copyright (C) 2026  agent <agent at local>
+ * 
+ *  This file is part of jedi.
+ * 
+ *  jedi is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ * 
+ *  jedi is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU LEsser General Public License for more details.
+ * 
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with jedi.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.jedi;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A compact binary codec for {@link com.github.jedi.Event}s, which writes to
+ * and reads from a <code>ByteBuffer</code> directly.<br>
+ * A codec encodes or decodes one stream of events: the name of an event is
+ * written once and referred to by a varint id afterwards, and its time is
+ * written as the zigzag varint delta to the time of the previous event. A
+ * stream therefore has to be decoded in the order it has been encoded, by a
+ * codec which has started at the same point, see {@link #reset()}. Context
+ * and data are written by a {@link com.github.jedi.PayloadCodec}.<br>
+ * An encoded event consists of
+ * <ul>
+ * <li>the name: 0 for <code>null</code>, 1 followed by the string for a new
+ * name, or its id plus 2</li>
+ * <li>the time delta</li>
+ * <li>a flags byte: bit 0 for a context, bit 1 for data, bits 2 and 3 for
+ * the kind of the primitive value</li>
+ * <li>the primitive value, a zigzag varint for a <code>long</code> or 8
+ * bytes for a <code>double</code></li>
+ * <li>context and data, if present</li>
+ * </ul>
+ * Neither the topic nor the request id of an event are written. A codec is
+ * not thread-safe.
+ *
+ * @author agent <agent at local>
+ */
+public final class EventCodec {
+
+    /**
+     * name tag of an event without a name
+     */
+    private static final int NO_NAME = 0;
+    /**
+     * name tag of a name written inline
+     */
+    private static final int NEW_NAME = 1;
+    /**
+     * flag of an event with a context
+     */
+    private static final int CONTEXT = 1;
+    /**
+     * flag of an event with data
+     */
+    private static final int DATA = 2;
+    /**
+     * flag of an event with a <code>long</code> value
+     */
+    private static final int LONG_VALUE = 4;
+    /**
+     * flag of an event with a <code>double</code> value
+     */
+    private static final int DOUBLE_VALUE = 8;
+    /**
+     * writes context and data
+     */
+    private final PayloadCodec payloadCodec;
+    /**
+     * ids of the names encoded so far
+     */
+    private final Map<String, Integer> nameIds = new HashMap<String, Integer>();
+    /**
+     * the names decoded so far, by their id
+     */
+    private final List<String> names = new ArrayList<String>();
+    /**
+     * time of the previous event
+     */
+    private long previousTime;
+
+    /**
+     * Creates a new EventCodec using a
+     * {@link com.github.jedi.DefaultPayloadCodec}
+     */
+    public EventCodec() {
+        this(new DefaultPayloadCodec());
+    }
+
+    /**
+     * Creates a new EventCodec
+     *
+     * @param payloadCodec writes context and data
+     */
+    public EventCodec(PayloadCodec payloadCodec) {
+        if (payloadCodec == null) {
+            throw new IllegalArgumentException("No payload codec given!");
+        }
+        this.payloadCodec = payloadCodec;
+    }
+
+    /**
+     * Writes
+     * <code>event</code> at the position of
+     * <code>buffer</code>. If the event doesn't fit, the position of the
+     * buffer is undefined but the state of the codec is left unchanged, so the
+     * event may be encoded again into another buffer.
+     *
+     * @param event the event
+     * @param buffer the buffer to write to
+     * @throws BufferOverflowException if the buffer is too small
+     * @throws IllegalArgumentException if context or data can't be encoded
+     */
+    public void encode(Event event, ByteBuffer buffer) {
+        String name = event.getName();
+        boolean newName = false;
+        if (name == null) {
+            buffer.put((byte) NO_NAME);
+        } else {
+            Integer id = nameIds.get(name);
+            if (id == null) {
+                newName = true;
+                buffer.put((byte) NEW_NAME);
+                Varints.putString(buffer, name);
+            } else {
+                Varints.putVarLong(buffer, id + 2L);
+            }
+        }
+        Varints.putZigZag(buffer, event.getTime() - previousTime);
+        Object context = event.getContext();
+        /* a primitive value is written as such, getData() would box it */
+        Object data = null;
+        int flags = 0;
+        if (event.hasLongValue()) {
+            flags = LONG_VALUE;
+        } else if (event.hasDoubleValue()) {
+            flags = DOUBLE_VALUE;
+        } else {
+            data = event.getData();
+        }
+        if (context != null) {
+            flags |= CONTEXT;
+        }
+        if (data != null) {
+            flags |= DATA;
+        }
+        buffer.put((byte) flags);
+        if ((flags & LONG_VALUE) != 0) {
+            Varints.putZigZag(buffer, event.getLongValue());
+        } else if ((flags & DOUBLE_VALUE) != 0) {
+            buffer.putDouble(event.getDoubleValue());
+        }
+        if (context != null) {
+            payloadCodec.encode(context, buffer);
+        }
+        if (data != null) {
+            payloadCodec.encode(data, buffer);
+        }
+        if (newName) {
+            nameIds.put(name, nameIds.size());
+        }
+        previousTime = event.getTime();
+    }
+
+    /**
+     * Reads an event written by
+     * {@link #encode(com.github.jedi.Event, java.nio.ByteBuffer)} at the
+     * position of
+     * <code>buffer</code>. Name and time are registered before context and
+     * data are decoded, so the following events can still be decoded if the
+     * payload of this one fails.
+     *
+     * @param buffer the buffer to read from
+     * @return the event
+     * @throws java.nio.BufferUnderflowException if the buffer ends early
+     * @throws IllegalArgumentException if the bytes can't be decoded
+     */
+    public Event decode(ByteBuffer buffer) {
+        long tag = Varints.getVarLong(buffer);
+        String name;
+        if (tag == NO_NAME) {
+            name = null;
+        } else if (tag == NEW_NAME) {
+            name = Varints.getString(buffer);
+            names.add(name);
+        } else if (tag > NEW_NAME && tag - 2 < names.size()) {
+            name = names.get((int) (tag - 2));
+        } else {
+            /* a tag beyond 2^63 reads as negative */
+            throw new IllegalArgumentException("Unknown name tag " + Long.toUnsignedString(tag)
+                    + "!");
+        }
+        long time = previousTime + Varints.getZigZag(buffer);
+        previousTime = time;
+        int flags = buffer.get();
+        if ((flags & ~(CONTEXT | DATA | LONG_VALUE | DOUBLE_VALUE)) != 0
+                || (flags & (LONG_VALUE | DOUBLE_VALUE)) == (LONG_VALUE | DOUBLE_VALUE)) {
+            throw new IllegalArgumentException("Malformed flags " + flags + "!");
+        }
+        long longValue = 0;
+        double doubleValue = 0;
+        if ((flags & LONG_VALUE) != 0) {
+            longValue = Varints.getZigZag(buffer);
+        } else if ((flags & DOUBLE_VALUE) != 0) {
+            doubleValue = buffer.getDouble();
+        }
+        Object context = ((flags & CONTEXT) != 0) ? payloadCodec.decode(buffer) : null;
+        Object data = ((flags & DATA) != 0) ? payloadCodec.decode(buffer) : null;
+        Event event = new Event(name, context, data);
+        if ((flags & LONG_VALUE) != 0) {
+            event.setLongValue(longValue);
+        } else if ((flags & DOUBLE_VALUE) != 0) {
+            event.setDoubleValue(doubleValue);
+        }
+        event.setTime(time);
+        return event;
+    }
+
+    /**
+     * Forgets all names and the previous time, so that the next event starts
+     * a new stream
+     */
+    public void reset() {
+        nameIds.clear();
+        names.clear();
+        previousTime = 0;
+    }
+}
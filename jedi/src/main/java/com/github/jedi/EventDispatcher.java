@@ -0,0 +1,1892 @@
+/*
+ *  Copyright (C) 2011  Dominik Schöner <kurrija at gmail.com>
+ *                      Simon Beckstein <simon.beckstein at gmail.com>
+ * 
+ *  This file is part of jedi.
+ * 
+ *  jedi is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ * 
+ *  jedi is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU LEsser General Public License for more details.
+ * 
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with jedi.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.jedi;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ *
+ *
+ * @author Dominik Schöner <kurrija at gmail.com>
+ */
+public class EventDispatcher {
+
+    static EventDispatcher defaultInstance = new EventDispatcher();
+    /**
+     * all named instances. Lookups never lock, creation is atomic using
+     * {@link ConcurrentMap#putIfAbsent(java.lang.Object, java.lang.Object)}.
+     */
+    static final ConcurrentMap<String, EventDispatcher> instances =
+            new ConcurrentHashMap<String, EventDispatcher>(64, 0.75f, 16);
+    /**
+     * {@link com.github.jedi.DispatcherLifecycleListener}s informed about
+     * created and stopped instances
+     */
+    static final CopyOnWriteArrayList<DispatcherLifecycleListener> lifecycleListeners =
+            new CopyOnWriteArrayList<DispatcherLifecycleListener>();
+    /**
+     * informs every instance about a removed super-global listener
+     */
+    private static final RemovalListener superGlobalRemovals = new RemovalListener() {
+        @Override
+        public void listenerRemoved(EventListener listener) {
+            superGlobalRegistrations.removed(listener, superGlobalReleases);
+        }
+    };
+    /**
+     * releases what all instances keep for a super-global listener once its
+     * last super-global registration is gone, unless an instance still has a
+     * registration of its own
+     */
+    private static final RemovalListener superGlobalReleases = new RemovalListener() {
+        @Override
+        public void listenerRemoved(EventListener listener) {
+            defaultInstance.releaseUnregistered(listener);
+            for (EventDispatcher instance : instances.values()) {
+                instance.releaseUnregistered(listener);
+            }
+        }
+    };
+    /**
+     * the registrations of super-global listeners
+     */
+    private static final Registrations superGlobalRegistrations = new Registrations();
+    static EventListenerCollection superGlobalListeners = new EventListenerCollection(null,
+            superGlobalRemovals);
+    /**
+     * <code>name</code> of this instance
+     */
+    private String name;
+    /**
+     * {@link com.googlecode.jedi.EventListener}s which will listen for all
+     * {@link com.googlecode.jedi.Event}s
+     */
+    private EventListenerCollection globalListeners;
+    /**
+     * releases what this instance keeps for the listeners its collections
+     * remove on their own, i.e. one-shot listeners and expired registrations
+     */
+    private final RemovalListener removals;
+    /**
+     * the registrations of the listeners of this instance, super-global ones
+     * excluded
+     */
+    private final Registrations registrations = new Registrations();
+    /**
+     * releases what this instance keeps for a listener once its last
+     * registration is gone
+     */
+    private final RemovalListener releases;
+    /**
+     * {@link com.github.jedi.Topic}s of this instance by their name
+     */
+    private ConcurrentMap<String, Topic> topics;
+    /**
+     * {@link com.googlecode.jedi.EventListener}s which will only listen for
+     * {@link com.googlecode.jedi.Event}s with a specific name, indexed by the
+     * id of their {@link com.github.jedi.Topic}. Replaced by a larger copy
+     * when it runs out of space.
+     */
+    private volatile EventListenerCollection[] listeners;
+    /**
+     * {@link com.googlecode.jedi.EventListener}s which listen for wildcard
+     * patterns like <code>order.*</code> or <code>order.#</code>
+     */
+    private TopicTrie wildcards;
+    /**
+     * {@link com.github.jedi.TypedListener}s which listen for
+     * {@link com.googlecode.jedi.Event}s by the type of their data
+     */
+    private TypeRouter typedListeners;
+    /**
+     * conflation of queued {@link com.googlecode.jedi.Event}s by their name
+     */
+    private ConcurrentMap<String, Conflation> conflations;
+    /**
+     * Engine which queues and dispatches the triggered
+     * {@link com.googlecode.jedi.Event}s
+     */
+    private DispatchEngine engine;
+    /**
+     * dispatches {@link com.googlecode.jedi.Event}s on the triggering thread
+     */
+    private InlineDispatchEngine inline;
+    /**
+     * write-ahead journal of the triggered {@link com.googlecode.jedi.Event}s,
+     * <code>null</code> if events are not journaled
+     */
+    private EventJournal journal;
+    /**
+     * calls the {@link com.googlecode.jedi.EventListener}s when dispatching
+     */
+    private ListenerInvoker invoker;
+    /**
+     * isolates the failures of the {@link com.googlecode.jedi.EventListener}s
+     * and keeps the dead letters
+     */
+    private final GuardedInvoker guard;
+    /**
+     * enforces the execution deadline, <code>null</code> without deadline
+     */
+    private DeadlineInvoker deadlines;
+    /**
+     * dispatches the due scheduled triggers of a synchronous instance, so that
+     * their listeners don't run on the timer thread, <code>null</code> unless
+     * synchronous
+     */
+    private ExecutorService timerExecutor;
+    /**
+     * reusable {@link com.googlecode.jedi.Event} slots, <code>null</code> if
+     * events are not pooled
+     */
+    private EventPool pool;
+    /**
+     * the metrics of this instance, <code>null</code> if they are not
+     * recorded
+     */
+    private DispatcherMetrics metrics;
+    /**
+     * <code>false</code> as soon as this instance has been stopped
+     */
+    private final AtomicBoolean running = new AtomicBoolean(true);
+
+    /**
+     * Returns the default instance of the EventDispatcher
+     *
+     * @return default instance
+     */
+    public static EventDispatcher getInstance() {
+        defaultInstance.engine.start();
+
+        return defaultInstance;
+    }
+
+    /**
+     * Returns the instance with the given
+     * <code>name</code>.<br>
+     * If no such instance is found, a new one will be created!<br>
+     * A value of
+     * <code>null</code> for the
+     * <code>name</code> parameter will return the default instance. (same as if
+     * no parameter would have been given)
+     *
+     * @param name name of the instance to be retrieved
+     * @return instance for <code>name</code>
+     */
+    public static EventDispatcher getInstance(String name) {
+        return getInstance(name, null);
+    }
+
+    /**
+     * Returns the instance with the given
+     * <code>name</code>.<br>
+     * If no such instance is found, a new one will be created using the given
+     * <code>configuration</code>. The configuration of an already existing
+     * instance is not changed.<br>
+     * A value of
+     * <code>null</code> for the
+     * <code>name</code> parameter will return the default instance.
+     *
+     * @param name name of the instance to be retrieved
+     * @param configuration settings for a newly created instance, or
+     * <code>null</code> for the defaults
+     * @return instance for <code>name</code>
+     */
+    public static EventDispatcher getInstance(String name,
+            DispatcherConfiguration configuration) {
+        if (name == null) {
+            return defaultInstance;
+        }
+        EventDispatcher instance = instances.get(name);
+        if (instance != null) {
+            return instance;
+        }
+        /* the thread is only started by the winner, a loser is simply dropped */
+        EventDispatcher newInstance = new EventDispatcher(name,
+                configuration != null ? configuration : new DispatcherConfiguration());
+        instance = instances.putIfAbsent(name, newInstance);
+        if (instance != null) {
+            return instance;
+        }
+        newInstance.start();
+        for (DispatcherLifecycleListener listener : lifecycleListeners) {
+            listener.dispatcherCreated(newInstance);
+        }
+        return newInstance;
+    }
+
+    /**
+     * Opens the journal, if any, registers the metrics, if any, and starts the
+     * engine of a new instance
+     */
+    private void start() {
+        if (journal != null) {
+            try {
+                journal.open();
+            } catch (IOException ex) {
+                running.set(false);
+                instances.remove(name, this);
+                throw new IllegalStateException("Journal of EventDispatcher '" + name
+                        + "' can't be opened!", ex);
+            }
+        }
+        if (metrics != null) {
+            metrics.register(name);
+        }
+        engine.start();
+    }
+
+    /**
+     * Returns the names of all existing
+     * {@link com.googlecode.jedi.EventDispatcher}s
+     *
+     * @return array with all existing <code>EventDispatcher</code>s
+     */
+    public static String[] getEventDispatchers() {
+        return instances.keySet().toArray(new String[0]);
+    }
+
+    /**
+     * Adds a {@link com.github.jedi.DispatcherLifecycleListener} which will be
+     * informed whenever a named
+     * <code>EventDispatcher</code> is created or stopped.
+     *
+     * @param listener <code>DispatcherLifecycleListener</code> to be added
+     */
+    public static void addLifecycleListener(DispatcherLifecycleListener listener) {
+        if (listener == null) {
+            throw new IllegalArgumentException("No listener given!");
+        }
+        lifecycleListeners.add(listener);
+    }
+
+    /**
+     * Removes a {@link com.github.jedi.DispatcherLifecycleListener}
+     *
+     * @param listener <code>DispatcherLifecycleListener</code> to be removed
+     * @return <code>true</code> if the listener was registered
+     */
+    public static boolean removeLifecycleListener(DispatcherLifecycleListener listener) {
+        return lifecycleListeners.remove(listener);
+    }
+
+    /**
+     * Adds a super-global {@link com.googlecode.jedi.EventListener} which will
+     * listen to all {@link com.googlecode.jedi.Event}s on all
+     * {@link com.googlecode.jedi.EventDispatcher}s.
+     *
+     * @param listener super-global <code>EventListener</code> to be added
+     * @param oneShot should the <code>EventListener</code> be removed after
+     * having handled one <code>Event</code>?
+     * @param timeout time in ms after which the registration of the
+     * <code>EventListener</code> expires, not positive for never
+     */
+    public static void addSuperGlobalListener(EventListener listener,
+            boolean oneShot, long timeout) {
+        superGlobalRegistrations.added(listener);
+        superGlobalListeners.addEventListener(listener, oneShot, timeout);
+    }
+
+    /**
+     * Removes a super-global {@link com.googlecode.jedi.EventListener}.<br>
+     *
+     * @param listener  <code>EventListener</code> to be removed
+     * @return {@link com.googlecode.jedi.EventListenerData} of the removed
+     * <code>EventListener</code>
+     */
+    public static EventListenerData removeSuperGlobalListener(
+            EventListener listener) {
+        if (listener == null) {
+            throw new IllegalArgumentException("No listener given!");
+        }
+
+        EventListenerData removed = superGlobalListeners.removeEventListener(listener);
+        if (removed != null) {
+            superGlobalRemovals.listenerRemoved(listener);
+        }
+        return removed;
+    }
+
+    /**
+     * Default constructor which is only to be used for the default instance
+     */
+    private EventDispatcher() {
+        this(null, new DispatcherConfiguration());
+    }
+
+    /**
+     * Creates a new EventDispatcher with
+     * <code>name</code>
+     *
+     * @param name name of the new instance
+     * @param configuration settings of the new instance
+     */
+    private EventDispatcher(String name, DispatcherConfiguration configuration) {
+        this.name = name;
+        this.removals = new RemovalListener() {
+            @Override
+            public void listenerRemoved(EventListener listener) {
+                EventDispatcher.this.listenerRemoved(listener);
+            }
+        };
+        this.releases = new RemovalListener() {
+            @Override
+            public void listenerRemoved(EventListener listener) {
+                if (!superGlobalRegistrations.contains(listener)) {
+                    release(listener);
+                }
+            }
+        };
+        this.globalListeners = new EventListenerCollection(null, removals);
+        this.topics = new ConcurrentHashMap<String, Topic>();
+        this.listeners = new EventListenerCollection[16];
+        this.wildcards = new TopicTrie(removals);
+        this.typedListeners = new TypeRouter(removals);
+        this.conflations = new ConcurrentHashMap<String, Conflation>();
+        if (configuration.getEventPoolSize() > 0) {
+            this.pool = new EventPool(configuration.getEventPoolSize());
+        }
+        String threadName = (name == null) ? "EventDisPatcher_default" : "EventDispatcher_" + name;
+        this.inline = new InlineDispatchEngine(this);
+        this.guard = new GuardedInvoker(threadName, configuration);
+        this.invoker = guard;
+        if (configuration.getJournalDirectory() != null) {
+            this.journal = new EventJournal(new File(configuration.getJournalDirectory(),
+                    (name == null) ? "default" : name), configuration.getJournalPayloadCodec(),
+                    configuration.getJournalSegmentSize(), configuration.getJournalSyncInterval(),
+                    configuration.isJournalSyncOnTrigger(), threadName + "-journal");
+        }
+        if (configuration.isSynchronous()) {
+            if (configuration.getVirtualThreadMode() != VirtualThreadMode.NONE) {
+                throw new IllegalArgumentException("Synchronous dispatching can't be used with "
+                        + configuration.getVirtualThreadMode() + "!");
+            }
+            this.engine = inline;
+            this.timerExecutor = VirtualThreads.newExecutor(threadName + "-timer-");
+        } else if (configuration.getVirtualThreadMode() == VirtualThreadMode.NONE) {
+            this.engine = new PartitionedDispatchEngine(this, threadName, configuration, false);
+        } else {
+            VirtualThreadDispatchEngine virtualEngine = new VirtualThreadDispatchEngine(this,
+                    threadName, configuration);
+            this.engine = virtualEngine;
+            if (configuration.getVirtualThreadMode() == VirtualThreadMode.PER_LISTENER) {
+                this.invoker = virtualEngine;
+            }
+        }
+        if (configuration.isMetricsEnabled()) {
+            this.metrics = new DispatcherMetrics(engine);
+            if (invoker == guard) {
+                this.invoker = new MeteringInvoker(invoker, metrics);
+            }
+        }
+        if (configuration.getExecutionDeadline() > 0) {
+            if (configuration.getVirtualThreadMode() == VirtualThreadMode.PER_LISTENER) {
+                throw new IllegalArgumentException("An execution deadline can't be used with "
+                        + VirtualThreadMode.PER_LISTENER + "!");
+            }
+            this.deadlines = new DeadlineInvoker(invoker, threadName, configuration, this);
+            this.invoker = deadlines;
+        }
+        if (engine instanceof VirtualThreadDispatchEngine) {
+            /* waiting for a permit is no part of the deadline */
+            this.invoker = ((VirtualThreadDispatchEngine) engine).limit(invoker);
+        }
+    }
+
+    /**
+     * Returns the {@link com.github.jedi.Topic} for the event
+     * <code>name</code>, creating it on first use. Obtaining the topic once
+     * and using it for triggering and registration afterwards saves the
+     * lookup of the name.
+     *
+     * @param name the event name
+     * @return the topic of <code>name</code> on this instance
+     */
+    public Topic getTopic(String name) {
+        if (name == null) {
+            throw new IllegalArgumentException("No event name given!");
+        }
+        Topic topic = topics.get(name);
+        if (topic != null) {
+            return topic;
+        }
+        synchronized (topics) {
+            topic = topics.get(name);
+            if (topic == null) {
+                topic = new Topic(name, topics.size(), this);
+                EventListenerCollection[] current = listeners;
+                if (topic.getId() >= current.length) {
+                    current = Arrays.copyOf(current, current.length * 2);
+                }
+                current[topic.getId()] = new EventListenerCollection(name, removals);
+                /* publish the array before the topic can be seen */
+                listeners = current;
+                topics.put(name, topic);
+            }
+            return topic;
+        }
+    }
+
+    /**
+     * Returns the {@link com.github.jedi.Topic} for the event
+     * <code>name</code> if it has been created already
+     *
+     * @param name the event name
+     * @return the topic of <code>name</code>, <code>null</code> if there is
+     * none
+     */
+    Topic findTopic(String name) {
+        return topics.get(name);
+    }
+
+    /**
+     * Returns the listeners registered for
+     * <code>topic</code>
+     *
+     * @param topic a topic of this instance
+     * @return the listeners of the topic
+     */
+    private EventListenerCollection listenersOf(Topic topic) {
+        if (topic.getDispatcher() != this) {
+            throw new IllegalArgumentException(topic + " belongs to another EventDispatcher!");
+        }
+        return listeners[topic.getId()];
+    }
+
+    /**
+     * Adds a new {@link com.googlecode.jedi.EventListener} for the given
+     * {@link com.github.jedi.Topic}.
+     *
+     * @param topic <code>Topic</code> to listen for
+     * @param listener <code>EventListener</code> to be added
+     * @param oneShot should the <code>EventListener</code> be removed after
+     * having handled one <code>Event</code>?
+     * @param timeout time in ms after which the registration of the
+     * <code>EventListener</code> expires, not positive for never
+     */
+    public void addListener(Topic topic, EventListener listener,
+            boolean oneShot, long timeout) {
+        addListener(topic, listener, oneShot, timeout, 0);
+    }
+
+    /**
+     * Adds a new {@link com.googlecode.jedi.EventListener} for the given
+     * {@link com.github.jedi.Topic} with a priority. The listeners of a topic
+     * are called in order of descending priority, listeners of the same
+     * priority in the order they have been added. They are sorted once when
+     * they are added, not when an event is dispatched.
+     *
+     * @param topic <code>Topic</code> to listen for
+     * @param listener <code>EventListener</code> to be added
+     * @param oneShot should the <code>EventListener</code> be removed after
+     * having handled one <code>Event</code>?
+     * @param timeout time in ms after which the registration of the
+     * <code>EventListener</code> expires, not positive for never
+     * @param priority <code>EventListener</code>s with a higher priority are
+     * called first, the default is 0
+     */
+    public void addListener(Topic topic, EventListener listener,
+            boolean oneShot, long timeout, int priority) {
+        if (topic == null || listener == null) {
+            throw new IllegalArgumentException("No topic or listener given!");
+        }
+        registrations.added(listener);
+        listenersOf(topic).addEventListener(listener, oneShot, timeout, priority);
+    }
+
+    /**
+     *
+     * @param topic
+     * @param listener
+     * @see com.github.jedi.EventDispatcher#addListener(com.github.jedi.Topic,
+     * EventListener, boolean, long)
+     */
+    public void addListener(Topic topic, EventListener listener) {
+        addListener(topic, listener, false, -1);
+    }
+
+    /**
+     * Adds a new {@link com.googlecode.jedi.EventListener} to the
+     * {@link com.googlecode.jedi.EventDispatcher}.<br>
+     * A value of
+     * <code>null</code> for the
+     * <code>event</code> parameter will result in adding a global
+     * <code>EventListener</code> for all
+     * {@link com.googlecode.jedi.Event}s.<br>
+     * Event names are hierarchical, their segments are separated by dots. If
+     * a segment of
+     * <code>event</code> is <code>*</code> or <code>#</code>, the listener
+     * is registered for a pattern: <code>*</code> matches exactly one segment,
+     * <code>#</code> any number of segments. For example
+     * <code>order.*</code> matches <code>order.created</code>, while
+     * <code>order.#</code> also matches <code>order</code> and
+     * <code>order.item.added</code>.
+     *
+     * @param event     <code>Event</code> or pattern to listen for
+     * @param listener  <code>EventListener</code> to be added for given
+     * <code>Event</code>
+     * @param oneShot should the <code>EventListener</code> be removed after
+     * having handled one <code>Event</code>?
+     * @param timeout time in ms after which the registration of the
+     * <code>EventListener</code> expires, not positive for never
+     */
+    public void addListener(String event, EventListener listener,
+            boolean oneShot, long timeout) {
+        addListener(event, listener, oneShot, timeout, 0);
+    }
+
+    /**
+     * Adds a new {@link com.googlecode.jedi.EventListener} like
+     * {@link #addListener(java.lang.String, com.github.jedi.EventListener, boolean, long)}
+     * with a priority. The listeners of an <code>Event</code> or pattern are
+     * called in order of descending priority, listeners of the same priority
+     * in the order they have been added. Priorities only order the listeners
+     * of the same name or pattern, global listeners are still called before
+     * those of a name, and those before the ones of a pattern.
+     *
+     * @param event     <code>Event</code> or pattern to listen for
+     * @param listener  <code>EventListener</code> to be added for given
+     * <code>Event</code>
+     * @param oneShot should the <code>EventListener</code> be removed after
+     * having handled one <code>Event</code>?
+     * @param timeout time in ms after which the registration of the
+     * <code>EventListener</code> expires, not positive for never
+     * @param priority <code>EventListener</code>s with a higher priority are
+     * called first, the default is 0
+     */
+    public void addListener(String event, EventListener listener,
+            boolean oneShot, long timeout, int priority) {
+        if (listener == null) {
+            throw new IllegalArgumentException("No listener given!");
+        }
+        if (event == null) {
+            addGlobalListener(listener, oneShot, timeout, priority);
+            return;
+        }
+        if (TopicTrie.isPattern(event)) {
+            registrations.added(listener);
+            wildcards.getOrCreate(event).addEventListener(listener, oneShot, timeout, priority);
+            return;
+        }
+        addListener(getTopic(event), listener, oneShot, timeout, priority);
+    }
+
+    /**
+     *
+     * @param event
+     * @param listener
+     * @param oneShot
+     * @return
+     * @see com.googlecode.jedi.EventDispatcher#addListener(java.lang.String,
+     * EventListener, boolean, long)
+     */
+    public void addListener(String event, EventListener listener,
+            boolean oneShot) {
+        addListener(event, listener, oneShot, -1);
+    }
+
+    /**
+     *
+     * @param event
+     * @param listener
+     * @return
+     * @see com.googlecode.jedi.EventDispatcher#addListener(java.lang.String,
+     * EventListener, boolean, long)
+     */
+    public void addListener(String event, EventListener listener) {
+        addListener(event, listener, false, -1);
+    }
+
+    /**
+     * Adds a {@link com.github.jedi.TypedListener} which will listen for all
+     * {@link com.googlecode.jedi.Event}s whose data is an instance of
+     * <code>type</code>, no matter what their name is. Listeners registered
+     * for a superclass or an interface of the data receive the event as well.
+     *
+     * @param <T> the type of data to listen for
+     * @param type the type of data to listen for
+     * @param listener <code>TypedListener</code> to be added
+     * @param oneShot should the <code>TypedListener</code> be removed after
+     * having handled one <code>Event</code>?
+     */
+    public <T> void addListener(Class<T> type, TypedListener<? super T> listener,
+            boolean oneShot) {
+        if (type == null || listener == null) {
+            throw new IllegalArgumentException("No type or listener given!");
+        }
+        if (type.isPrimitive()) {
+            throw new IllegalArgumentException("Data is never of the primitive type "
+                    + type + "!");
+        }
+        TypedListenerAdapter<T> adapter = new TypedListenerAdapter<T>(type, listener);
+        registrations.added(adapter);
+        typedListeners.getOrCreate(type).addEventListener(adapter, oneShot);
+    }
+
+    /**
+     *
+     * @param <T>
+     * @param type
+     * @param listener
+     * @see com.github.jedi.EventDispatcher#addListener(java.lang.Class,
+     * TypedListener, boolean)
+     */
+    public <T> void addListener(Class<T> type, TypedListener<? super T> listener) {
+        addListener(type, listener, false);
+    }
+
+    /**
+     * Removes a {@link com.github.jedi.TypedListener} which was registered for
+     * <code>type</code>.
+     *
+     * @param <T> the type the listener was registered for
+     * @param type the type the listener was registered for
+     * @param listener <code>TypedListener</code> to be removed
+     * @return {@link com.googlecode.jedi.EventListenerData} of the removed
+     * <code>TypedListener</code>, <code>null</code> if it was not registered
+     */
+    public <T> EventListenerData removeListener(Class<T> type,
+            TypedListener<? super T> listener) {
+        if (type == null || listener == null) {
+            throw new IllegalArgumentException("No type or listener given!");
+        }
+        EventListenerCollection collection = typedListeners.get(type);
+        if (collection == null) {
+            return null;
+        }
+        return listenerRemoved(collection.removeEventListener(
+                new TypedListenerAdapter<T>(type, listener)));
+    }
+
+    /**
+     * Adds a global {@link com.googlecode.jedi.EventListener} to the
+     * {@link com.googlecode.jedi.EventDispatcher} which will listen for all
+     * {@link com.googlecode.jedi.Event}s.<br>
+     * If the given
+     * <code>EventListener</code> was already registered for this
+     * <code>Event</code>, it will be overwritten with the new settings!
+     *
+     * @param listener global <code>EventListener</code> to be added
+     * @param oneShot should the <code>EventListener</code> be removed after
+     * having handled one <code>Event</code>?
+     * @param timeout time in ms after which the registration of the
+     * <code>EventListener</code> expires, not positive for never
+     * @return {@link com.googlecode.jedi.EventListenerData} if the
+     * <code>EventListener</code> was already registered and therefor
+     * overwritten, <code>null</code> in all other cases.
+     */
+    public void addGlobalListener(EventListener listener,
+            boolean oneShot, long timeout) {
+        addGlobalListener(listener, oneShot, timeout, 0);
+    }
+
+    /**
+     *
+     * @param listener
+     * @param oneShot
+     * @param timeout
+     * @param priority
+     * @see com.googlecode.jedi.EventDispatcher#addListener(java.lang.String,
+     * EventListener, boolean, long, int)
+     */
+    public void addGlobalListener(EventListener listener,
+            boolean oneShot, long timeout, int priority) {
+        if (listener == null) {
+            throw new IllegalArgumentException("No listener given!");
+        }
+        registrations.added(listener);
+        globalListeners.addEventListener(listener, oneShot, timeout, priority);
+    }
+
+    /**
+     *
+     * @param listener
+     * @param oneShot
+     * @return
+     * @see com.googlecode.jedi.EventDispatcher#addGlobalListener(EventListener,
+     * boolean, long)
+     */
+    public void addGlobalListener(EventListener listener,
+            boolean oneShot) {
+        addGlobalListener(listener, oneShot, -1);
+    }
+
+    /**
+     *
+     * @param listener
+     * @return
+     * @see com.googlecode.jedi.EventDispatcher#addGlobalListener(EventListener,
+     * boolean, long)
+     */
+    public void addGlobalListener(EventListener listener) {
+        addGlobalListener(listener, false, -1);
+    }
+
+    /**
+     * Removes the {@link com.googlecode.jedi.EventListener} from the
+     * {@link com.googlecode.jedi.Event}.<br>
+     * A value of
+     * <code>null</code> for the
+     * <code>event</code> parameter will result in the removal of the listener
+     * from all
+     * <code>Event</code>s.
+     *
+     * @param event     <code>Event</code> from which to remove the
+     * <code>EventListener</code>
+     * @param listener  <code>EventListener</code> to be removed
+     * @return {@link com.googlecode.jedi.EventListenerData} of the removed
+     * <code>EventListener</code>
+     */
+    public EventListenerData removeListener(String event,
+            EventListener listener) {
+        if (event == null) {
+            return removeGlobalListener(listener);
+        }
+        if (listener == null) {
+            throw new IllegalArgumentException("No listener given!");
+        }
+        if (TopicTrie.isPattern(event)) {
+            EventListenerCollection collection = wildcards.get(event);
+            if (collection == null) {
+                throw new IllegalArgumentException("No listeners registered for"
+                        + "pattern '" + event + "'!");
+            }
+            return listenerRemoved(collection.removeEventListener(listener));
+        }
+        Topic topic = topics.get(event);
+        if (topic == null) {
+            throw new IllegalArgumentException("No listeners registered for"
+                    + "event '" + event + "'!");
+        }
+
+        return removeListener(topic, listener);
+    }
+
+    /**
+     * Removes the {@link com.googlecode.jedi.EventListener} from the
+     * {@link com.github.jedi.Topic}.
+     *
+     * @param topic <code>Topic</code> from which to remove the
+     * <code>EventListener</code>
+     * @param listener <code>EventListener</code> to be removed
+     * @return {@link com.googlecode.jedi.EventListenerData} of the removed
+     * <code>EventListener</code>
+     */
+    public EventListenerData removeListener(Topic topic, EventListener listener) {
+        if (topic == null || listener == null) {
+            throw new IllegalArgumentException("No topic or listener given!");
+        }
+
+        return listenerRemoved(listenersOf(topic).removeEventListener(listener));
+    }
+
+    /**
+     * Removes a global {@link com.googlecode.jedi.EventListener}.<br>
+     *
+     * @param listener  <code>EventListener</code> to be removed
+     * @return {@link com.googlecode.jedi.EventListenerData} of the removed
+     * <code>EventListener</code>
+     */
+    public EventListenerData removeGlobalListener(EventListener listener) {
+        if (listener == null) {
+            throw new IllegalArgumentException("No listener given!");
+        }
+
+        return listenerRemoved(globalListeners.removeEventListener(listener));
+    }
+
+    /**
+     * Counts the removal of a registration, see
+     * {@link #listenerRemoved(com.github.jedi.EventListener)}
+     *
+     * @param removed the removed registration, may be <code>null</code>
+     * @return <code>removed</code>
+     */
+    private EventListenerData listenerRemoved(EventListenerData removed) {
+        if (removed != null) {
+            listenerRemoved(removed.getListener());
+        }
+        return removed;
+    }
+
+    /**
+     * Counts the removal of a registration of a
+     * {@link com.googlecode.jedi.EventListener}. Once it has no registration
+     * left on this instance and isn't a super-global listener, everything
+     * this instance keeps for it is released.
+     *
+     * @param listener the listener of the removed registration
+     */
+    private void listenerRemoved(EventListener listener) {
+        registrations.removed(listener, releases);
+    }
+
+    /**
+     * Releases everything this instance keeps for a super-global
+     * {@link com.googlecode.jedi.EventListener} which has been removed, unless
+     * it is still registered on this instance
+     *
+     * @param listener the removed listener
+     */
+    private void releaseUnregistered(EventListener listener) {
+        if (!registrations.contains(listener)) {
+            release(listener);
+        }
+    }
+
+    /**
+     * Releases everything this instance keeps for a
+     * {@link com.googlecode.jedi.EventListener} without registrations
+     *
+     * @param listener the listener
+     */
+    private void release(EventListener listener) {
+        if (engine instanceof VirtualThreadDispatchEngine) {
+            ((VirtualThreadDispatchEngine) engine).listenerRemoved(listener);
+        }
+        if (deadlines != null) {
+            deadlines.listenerRemoved(listener);
+        }
+        if (metrics != null) {
+            metrics.listenerRemoved(listener);
+        }
+        guard.listenerRemoved(listener);
+    }
+
+    /**
+     * Triggers an {@link com.googlecode.jedi.Event} created from the given
+     * parameters (enqueues it). If the queue of this dispatcher is bounded and
+     * full, its {@link com.github.jedi.BackpressurePolicy} applies.
+     *
+     * @param name name of the <code>Event</code>
+     * @param context context in which the <code>Event</code> occurred
+     * @param data data for the <code>Event</code>
+     */
+    public void trigger(String name, Object context, Object data) {
+        submit(newEvent((name == null) ? null : topics.get(name), name, context, data));
+    }
+
+    /**
+     * Triggers an {@link com.googlecode.jedi.Event} for the given
+     * {@link com.github.jedi.Topic} (enqueues it). The listeners of the topic
+     * are found by its id, without looking up the name.
+     *
+     * @param topic topic of the <code>Event</code>
+     * @param context context in which the <code>Event</code> occurred
+     * @param data data for the <code>Event</code>
+     */
+    public void trigger(Topic topic, Object context, Object data) {
+        submit(newEvent(checkTopic(topic), null, context, data));
+    }
+
+    /**
+     * Triggers an {@link com.googlecode.jedi.Event} carrying a primitive
+     * <code>long</code> value. The value is never boxed on its way to
+     * {@link com.github.jedi.LongEventListener}s, other listeners get it boxed
+     * as the data of the event.
+     *
+     * @param name name of the <code>Event</code>
+     * @param context context in which the <code>Event</code> occurred
+     * @param value value of the <code>Event</code>
+     */
+    public void triggerLong(String name, Object context, long value) {
+        Event event = newEvent((name == null) ? null : topics.get(name), name, context, null);
+        event.setLongValue(value);
+        submit(event);
+    }
+
+    /**
+     *
+     * @param topic
+     * @param context
+     * @param value
+     * @see com.github.jedi.EventDispatcher#triggerLong(java.lang.String,
+     * java.lang.Object, long)
+     */
+    public void triggerLong(Topic topic, Object context, long value) {
+        Event event = newEvent(checkTopic(topic), null, context, null);
+        event.setLongValue(value);
+        submit(event);
+    }
+
+    /**
+     * Triggers an {@link com.googlecode.jedi.Event} carrying a primitive
+     * <code>double</code> value. The value is never boxed on its way to
+     * {@link com.github.jedi.DoubleEventListener}s, other listeners get it
+     * boxed as the data of the event.
+     *
+     * @param name name of the <code>Event</code>
+     * @param context context in which the <code>Event</code> occurred
+     * @param value value of the <code>Event</code>
+     */
+    public void triggerDouble(String name, Object context, double value) {
+        Event event = newEvent((name == null) ? null : topics.get(name), name, context, null);
+        event.setDoubleValue(value);
+        submit(event);
+    }
+
+    /**
+     *
+     * @param topic
+     * @param context
+     * @param value
+     * @see com.github.jedi.EventDispatcher#triggerDouble(java.lang.String,
+     * java.lang.Object, double)
+     */
+    public void triggerDouble(Topic topic, Object context, double value) {
+        Event event = newEvent(checkTopic(topic), null, context, null);
+        event.setDoubleValue(value);
+        submit(event);
+    }
+
+    /**
+     * Triggers an {@link com.googlecode.jedi.Event} created from the given
+     * parameters as a request and returns the future of its reply. A
+     * {@link com.github.jedi.Responder}, or any listener calling
+     * {@link com.github.jedi.Event#reply(java.lang.Object)}, completes the
+     * future; the first reply wins. Requests are correlated by an id carried
+     * by the event and kept in a table shared by all dispatchers, so no
+     * listener has to be registered for the reply.<br>
+     * The future fails with a <code>TimeoutException</code> if there is no
+     * reply within <code>timeout</code>, and with a
+     * <code>RejectedExecutionException</code> if the
+     * {@link com.github.jedi.BackpressurePolicy} drops the request.
+     *
+     * @param <R> the type of the reply
+     * @param name name of the <code>Event</code>
+     * @param context context in which the <code>Event</code> occurred
+     * @param data data for the <code>Event</code>
+     * @param timeout time after which the request fails, not positive for
+     * never
+     * @param unit unit of <code>timeout</code>
+     * @return the future of the reply
+     */
+    public <R> CompletableFuture<R> request(String name, Object context, Object data,
+            long timeout, TimeUnit unit) {
+        return request(newEvent((name == null) ? null : topics.get(name), name, context, data),
+                toNanos(timeout, unit));
+    }
+
+    /**
+     *
+     * @param <R>
+     * @param topic
+     * @param context
+     * @param data
+     * @param timeout
+     * @param unit
+     * @return
+     * @see com.github.jedi.EventDispatcher#request(java.lang.String,
+     * java.lang.Object, java.lang.Object, long, java.util.concurrent.TimeUnit)
+     */
+    public <R> CompletableFuture<R> request(Topic topic, Object context, Object data,
+            long timeout, TimeUnit unit) {
+        return request(newEvent(checkTopic(topic), null, context, data), toNanos(timeout, unit));
+    }
+
+    /**
+     * Triggers a request which never expires
+     *
+     * @param <R> the type of the reply
+     * @param name name of the <code>Event</code>
+     * @param context context in which the <code>Event</code> occurred
+     * @param data data for the <code>Event</code>
+     * @return the future of the reply
+     * @see com.github.jedi.EventDispatcher#request(java.lang.String,
+     * java.lang.Object, java.lang.Object, long, java.util.concurrent.TimeUnit)
+     */
+    public <R> CompletableFuture<R> request(String name, Object context, Object data) {
+        return request(name, context, data, -1, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Registers
+     * <code>event</code> as a request and triggers it
+     *
+     * @param <R> the type of the reply
+     * @param event the request
+     * @param timeout time in ns after which the request fails, not positive
+     * for never
+     * @return the future of the reply
+     */
+    private <R> CompletableFuture<R> request(Event event, long timeout) {
+        CompletableFuture<R> future = new CompletableFuture<R>();
+        long id = PendingRequests.register(future,
+                (timeout > 0) ? Math.max(1, TimeUnit.NANOSECONDS.toMillis(timeout)) : -1);
+        event.setRequestId(id);
+        try {
+            /* a dropped request is failed by Event.drop() */
+            submit(event);
+        } catch (RuntimeException ex) {
+            PendingRequests.fail(id, ex);
+            throw ex;
+        }
+        return future;
+    }
+
+    /**
+     * Dispatches an {@link com.googlecode.jedi.Event} created from the given
+     * parameters right away on the calling thread, bypassing the queue and
+     * the thread handoff. The listeners called on the dispatching thread have
+     * been called when this method returns, unless it is called by a listener
+     * dispatching on the same thread: then the event is queued for the thread
+     * and dispatched after the current one, so chains of events neither grow
+     * the stack nor get reordered.<br>
+     * Some listeners are only handed the event and may still run after this
+     * method has returned: listeners on a virtual thread of their own under
+     * {@link com.github.jedi.VirtualThreadMode#PER_LISTENER}, listeners
+     * isolated by {@link com.github.jedi.DeadlinePolicy#ISOLATE} and the
+     * retries of failed listeners. An exception thrown by a listener is
+     * handled like on the dispatching threads: the listener is retried or the
+     * event becomes a {@link com.github.jedi.DeadLetter}, see
+     * {@link #drainDeadLetters()}.
+     *
+     * @param name name of the <code>Event</code>
+     * @param context context in which the <code>Event</code> occurred
+     * @param data data for the <code>Event</code>
+     */
+    public void dispatchNow(String name, Object context, Object data) {
+        dispatchNow(newEvent((name == null) ? null : topics.get(name), name, context, data));
+    }
+
+    /**
+     *
+     * @param topic
+     * @param context
+     * @param data
+     * @see com.github.jedi.EventDispatcher#dispatchNow(java.lang.String,
+     * java.lang.Object, java.lang.Object)
+     */
+    public void dispatchNow(Topic topic, Object context, Object data) {
+        dispatchNow(newEvent(checkTopic(topic), null, context, data));
+    }
+
+    /**
+     * Dispatches
+     * <code>event</code> on the calling thread
+     *
+     * @param event the <code>Event</code> to be dispatched
+     */
+    private void dispatchNow(Event event) {
+        if (!running.get()) {
+            event.release();
+            throw new IllegalStateException("EventDispatcher '" + this.name
+                    + "' has already been stopped!");
+        }
+        if (metrics != null) {
+            metrics.triggered(1);
+            event.setQueuedAt(System.nanoTime());
+        }
+        inline.dispatch(event);
+    }
+
+    /**
+     * Triggers an {@link com.googlecode.jedi.Event} created from the given
+     * parameters after
+     * <code>delay</code>. Delayed events are kept in the timing wheel shared
+     * by all dispatchers, which handles millions of pending events without a
+     * thread per use site, and are enqueued at most a few ms after they are
+     * due. The event itself is only created when it is due. Due events are
+     * enqueued by the timer thread, so a bounded queue which is full under
+     * {@link com.github.jedi.BackpressurePolicy#BLOCK} holds up all timers
+     * until it has room again. A
+     * {@link com.github.jedi.DispatcherConfiguration#setSynchronous(boolean) synchronous}
+     * instance hands due events to a thread of its own, so that its listeners
+     * never run on the timer thread; the events of a fixed rate trigger may
+     * then be dispatched concurrently if the listeners take longer than the
+     * period.
+     *
+     * @param name name of the <code>Event</code>
+     * @param context context in which the <code>Event</code> occurred
+     * @param data data for the <code>Event</code>
+     * @param delay the delay
+     * @param unit unit of <code>delay</code>
+     * @return a handle to cancel the trigger
+     */
+    public ScheduledTrigger triggerAfter(String name, Object context, Object data,
+            long delay, TimeUnit unit) {
+        return schedule(null, name, context, data, toNanos(delay, unit), 0);
+    }
+
+    /**
+     *
+     * @param topic
+     * @param context
+     * @param data
+     * @param delay
+     * @param unit
+     * @return
+     * @see com.github.jedi.EventDispatcher#triggerAfter(java.lang.String,
+     * java.lang.Object, java.lang.Object, long, java.util.concurrent.TimeUnit)
+     */
+    public ScheduledTrigger triggerAfter(Topic topic, Object context, Object data,
+            long delay, TimeUnit unit) {
+        return schedule(checkTopic(topic), null, context, data, toNanos(delay, unit), 0);
+    }
+
+    /**
+     * Triggers an {@link com.googlecode.jedi.Event} created from the given
+     * parameters at
+     * <code>time</code>, or right away if it has already passed.
+     *
+     * @param name name of the <code>Event</code>
+     * @param context context in which the <code>Event</code> occurred
+     * @param data data for the <code>Event</code>
+     * @param time the time in ms since the epoch, as returned by
+     * <code>System.currentTimeMillis()</code>
+     * @return a handle to cancel the trigger
+     * @see com.github.jedi.EventDispatcher#triggerAfter(java.lang.String,
+     * java.lang.Object, java.lang.Object, long, java.util.concurrent.TimeUnit)
+     */
+    public ScheduledTrigger triggerAt(String name, Object context, Object data, long time) {
+        return triggerAfter(name, context, data, time - System.currentTimeMillis(),
+                TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     *
+     * @param topic
+     * @param context
+     * @param data
+     * @param time
+     * @return
+     * @see com.github.jedi.EventDispatcher#triggerAt(java.lang.String,
+     * java.lang.Object, java.lang.Object, long)
+     */
+    public ScheduledTrigger triggerAt(Topic topic, Object context, Object data, long time) {
+        return triggerAfter(topic, context, data, time - System.currentTimeMillis(),
+                TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Triggers an {@link com.googlecode.jedi.Event} created from the given
+     * parameters every
+     * <code>period</code>, starting after
+     * <code>initialDelay</code>. The rate is fixed: a late trigger doesn't
+     * shift the following ones. Triggering ends when the returned handle is
+     * cancelled or this dispatcher is stopped.
+     *
+     * @param name name of the <code>Event</code>
+     * @param context context in which the <code>Event</code> occurred
+     * @param data data for the <code>Event</code>, shared by all triggered
+     * events
+     * @param initialDelay the delay of the first trigger
+     * @param period the time between two triggers
+     * @param unit unit of <code>initialDelay</code> and <code>period</code>
+     * @return a handle to cancel the trigger
+     */
+    public ScheduledTrigger triggerAtFixedRate(String name, Object context, Object data,
+            long initialDelay, long period, TimeUnit unit) {
+        return schedule(null, name, context, data, toNanos(initialDelay, unit),
+                toPeriod(period, unit));
+    }
+
+    /**
+     *
+     * @param topic
+     * @param context
+     * @param data
+     * @param initialDelay
+     * @param period
+     * @param unit
+     * @return
+     * @see com.github.jedi.EventDispatcher#triggerAtFixedRate(java.lang.String,
+     * java.lang.Object, java.lang.Object, long, long,
+     * java.util.concurrent.TimeUnit)
+     */
+    public ScheduledTrigger triggerAtFixedRate(Topic topic, Object context, Object data,
+            long initialDelay, long period, TimeUnit unit) {
+        return schedule(checkTopic(topic), null, context, data, toNanos(initialDelay, unit),
+                toPeriod(period, unit));
+    }
+
+    /**
+     * Converts a delay to ns
+     *
+     * @param delay the delay
+     * @param unit unit of <code>delay</code>
+     * @return the delay in ns
+     */
+    private static long toNanos(long delay, TimeUnit unit) {
+        if (unit == null) {
+            throw new IllegalArgumentException("No time unit given!");
+        }
+        return unit.toNanos(delay);
+    }
+
+    /**
+     * Converts a period to ns
+     *
+     * @param period the period
+     * @param unit unit of <code>period</code>
+     * @return the period in ns
+     */
+    private static long toPeriod(long period, TimeUnit unit) {
+        long nanos = toNanos(period, unit);
+        if (nanos <= 0) {
+            throw new IllegalArgumentException("Period must be positive!");
+        }
+        return nanos;
+    }
+
+    /**
+     * Schedules a trigger on the timing wheel
+     *
+     * @param topic topic of the event, may be <code>null</code>
+     * @param name name of the event if there is no topic
+     * @param context context of the event
+     * @param data data of the event
+     * @param delay delay of the first trigger in ns
+     * @param period period in ns, 0 to trigger only once
+     * @return the handle of the trigger
+     */
+    private ScheduledTrigger schedule(Topic topic, String name, Object context, Object data,
+            long delay, long period) {
+        if (!running.get()) {
+            throw new IllegalStateException("EventDispatcher '" + this.name
+                    + "' has already been stopped!");
+        }
+        ScheduledTrigger trigger = new ScheduledTrigger(this, topic, name, context, data, period);
+        trigger.start(delay);
+        return trigger;
+    }
+
+    /**
+     * Triggers a scheduled {@link com.googlecode.jedi.Event} which is due,
+     * called on the timer thread
+     *
+     * @param topic topic of the event, may be <code>null</code>
+     * @param name name of the event if there is no topic
+     * @param context context of the event
+     * @param data data of the event
+     * @return <code>false</code> if this instance has been stopped
+     */
+    boolean triggerScheduled(Topic topic, String name, Object context, Object data) {
+        if (!running.get()) {
+            return false;
+        }
+        if (topic == null && name != null) {
+            topic = topics.get(name);
+        }
+        final Event event = newEvent(topic, name, context, data);
+        journal(event);
+        if (timerExecutor == null) {
+            enqueue(event);
+            return true;
+        }
+        /* a synchronous instance would run the listeners on the timer thread */
+        try {
+            timerExecutor.execute(new Runnable() {
+                @Override
+                public void run() {
+                    if (!running.get()) {
+                        /* stopped meanwhile, a journaled event is replayed */
+                        event.cancel();
+                        return;
+                    }
+                    enqueue(event);
+                }
+            });
+        } catch (RejectedExecutionException ex) {
+            /* stopped meanwhile, a journaled event is replayed */
+            event.cancel();
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Checks that
+     * <code>topic</code> is a topic of this instance
+     *
+     * @param topic the topic to check
+     * @return <code>topic</code>
+     */
+    private Topic checkTopic(Topic topic) {
+        if (topic == null) {
+            throw new IllegalArgumentException("No topic given!");
+        }
+        if (topic.getDispatcher() != this) {
+            throw new IllegalArgumentException(topic + " belongs to another EventDispatcher!");
+        }
+        return topic;
+    }
+
+    /**
+     * Creates a new {@link com.googlecode.jedi.Event}, or claims one from the
+     * pool if events are pooled
+     *
+     * @param topic the topic of the event, may be <code>null</code>
+     * @param name the name of the event if there is no topic
+     * @param context the context of the event
+     * @param data the data of the event
+     * @return the new event
+     */
+    private Event newEvent(Topic topic, String name, Object context, Object data) {
+        if (pool != null) {
+            return pool.claim(topic, name, context, data);
+        }
+        return topic != null ? new Event(topic, context, data) : new Event(name, context, data);
+    }
+
+    /**
+     * Hands a triggered
+     * <code>event</code> over to the engine
+     *
+     * @param event the triggered <code>Event</code>
+     * @return <code>false</code> if the event has been dropped
+     */
+    private boolean submit(Event event) {
+        if (!running.get()) {
+            event.release();
+            throw new IllegalStateException("EventDispatcher '" + this.name
+                    + "' has already been stopped!");
+        }
+        journal(event);
+        return enqueue(event);
+    }
+
+    /**
+     * Appends
+     * <code>event</code> to the journal, if any
+     *
+     * @param event the triggered <code>Event</code>
+     */
+    private void journal(Event event) {
+        if (journal != null) {
+            try {
+                journal.append(event);
+            } catch (RuntimeException ex) {
+                event.release();
+                throw ex;
+            }
+        }
+    }
+
+    /**
+     * Conflates
+     * <code>event</code> and hands it over to the engine
+     *
+     * @param event the <code>Event</code> to be dispatched
+     * @return <code>false</code> if the event has been dropped
+     */
+    private boolean enqueue(Event event) {
+        event = conflate(event);
+        if (metrics != null) {
+            metrics.triggered(1);
+            if (event != null) {
+                event.setQueuedAt(System.nanoTime());
+            }
+        }
+        if (event != null && !engine.submit(event)) {
+            if (metrics != null) {
+                metrics.dropped();
+            }
+            event.drop();
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Merges
+     * <code>event</code> into the queued event of its conflation key if its
+     * name is conflated
+     *
+     * @param event the triggered <code>Event</code>
+     * @return the event to be queued, <code>null</code> if it has been merged
+     */
+    private Event conflate(Event event) {
+        if (conflations.isEmpty() || event.getName() == null || event.isRequest()) {
+            return event;
+        }
+        Conflation conflation = conflations.get(event.getName());
+        if (conflation == null) {
+            return event;
+        }
+        if (event.isPooled()) {
+            /* a conflated event may be kept beyond its dispatch pass */
+            Event copy = event.copy();
+            copy.takeJournalPosition(event);
+            event.release();
+            event = copy;
+        }
+        return conflation.offer(event);
+    }
+
+    /**
+     * Triggers all given {@link com.googlecode.jedi.Event}s (enqueues them)
+     * in their order. The batch is handed to the queue in a single step
+     * where possible, which is considerably cheaper than triggering each event
+     * on its own.
+     *
+     * @param events the <code>Event</code>s to be triggered
+     * @return the number of events which have not been dropped by the
+     * {@link com.github.jedi.BackpressurePolicy}, conflated events included
+     */
+    public int triggerAll(Collection<Event> events) {
+        if (events == null) {
+            throw new IllegalArgumentException("No events given!");
+        }
+        if (!running.get()) {
+            throw new IllegalStateException("EventDispatcher '" + this.name
+                    + "' has already been stopped!");
+        }
+        List<Event> batch = new ArrayList<Event>(events);
+        if (batch.contains(null)) {
+            throw new IllegalArgumentException("No event given!");
+        }
+        if (journal != null || !conflations.isEmpty()) {
+            /* dropped events have to be discarded one by one */
+            int count = 0;
+            for (Event event : batch) {
+                if (event.isJournaled()) {
+                    event = event.copy();
+                }
+                journal(event);
+                if (enqueue(event)) {
+                    count++;
+                }
+            }
+            return count;
+        }
+        if (metrics == null) {
+            return engine.submitAll(batch);
+        }
+        long now = System.nanoTime();
+        for (Event event : batch) {
+            event.setQueuedAt(now);
+        }
+        metrics.triggered(batch.size());
+        int count = engine.submitAll(batch);
+        for (int i = count; i < batch.size(); i++) {
+            metrics.dropped();
+        }
+        return count;
+    }
+
+    /**
+     * Triggers the {@link com.googlecode.jedi.Event}s recovered from the
+     * journal, in the order they have been triggered originally. These are
+     * the events which had not been dispatched when the JVM died or this
+     * dispatcher was stopped last time. Replayed events are not appended to
+     * the journal again, they are marked as done once dispatched. Call this
+     * method after the listeners have been registered; only the first call
+     * replays anything.
+     *
+     * @return the number of replayed events, 0 without a journal
+     * @see com.github.jedi.DispatcherConfiguration#setJournalDirectory(java.io.File)
+     */
+    public int replayJournal() {
+        if (journal == null) {
+            return 0;
+        }
+        if (!running.get()) {
+            throw new IllegalStateException("EventDispatcher '" + this.name
+                    + "' has already been stopped!");
+        }
+        List<Event> events = journal.takeRecovered();
+        for (Event event : events) {
+            Topic topic = (event.getName() == null) ? null : topics.get(event.getName());
+            if (topic != null) {
+                event.setTopic(topic);
+            }
+            enqueue(event);
+        }
+        return events.size();
+    }
+
+    /**
+     * Sets the priority of the {@link com.googlecode.jedi.Event}s named
+     * <code>event</code>. If this dispatcher has been configured with
+     * {@link com.github.jedi.DispatcherConfiguration#setPriorityWeights(int[]) priority lanes},
+     * the priority selects the lane the events are queued in, so that control
+     * events like a shutdown or a configuration reload overtake a burst of
+     * ordinary events.
+     *
+     * @param event name of the events
+     * @param priority the priority, 0 is the default and lowest one
+     */
+    public void setPriority(String event, int priority) {
+        if (event == null) {
+            throw new IllegalArgumentException("No event given!");
+        }
+        setPriority(getTopic(event), priority);
+    }
+
+    /**
+     *
+     * @param topic
+     * @param priority
+     * @see com.github.jedi.EventDispatcher#setPriority(java.lang.String, int)
+     */
+    public void setPriority(Topic topic, int priority) {
+        if (priority < 0) {
+            throw new IllegalArgumentException("Priority must not be negative!");
+        }
+        checkTopic(topic).setPriority(priority);
+    }
+
+    /**
+     * Conflates the queued {@link com.googlecode.jedi.Event}s named
+     * <code>event</code>, keeping only the latest one of each key
+     *
+     * @param event name of the conflated events
+     * @param mode which events are conflated into one
+     * @see com.github.jedi.EventDispatcher#setConflation(java.lang.String,
+     * com.github.jedi.ConflationMode, com.github.jedi.EventMerger)
+     */
+    public void setConflation(String event, ConflationMode mode) {
+        setConflation(event, mode, EventMerger.LATEST);
+    }
+
+    /**
+     * Conflates the queued {@link com.googlecode.jedi.Event}s named
+     * <code>event</code>. While an event of a key is queued, newer events of
+     * the same key are merged into it by
+     * <code>merger</code> instead of being queued, so a backlog holds at most
+     * one event per key. The merged event is dispatched at the position of the
+     * first one. Conflated events are never pooled. Replaces the previous
+     * conflation of <code>event</code>, events it holds are still dispatched.
+     *
+     * @param event name of the conflated events
+     * @param mode which events are conflated into one
+     * @param merger merges a queued event with a newer one
+     */
+    public void setConflation(String event, ConflationMode mode, EventMerger merger) {
+        if (event == null) {
+            throw new IllegalArgumentException("No event given!");
+        }
+        conflations.put(event, new Conflation(mode, merger));
+    }
+
+    /**
+     * Stops conflating the {@link com.googlecode.jedi.Event}s named
+     * <code>event</code>. Events which have already been conflated are still
+     * dispatched.
+     *
+     * @param event name of the conflated events
+     * @return <code>true</code> if the events have been conflated
+     */
+    public boolean removeConflation(String event) {
+        return event != null && conflations.remove(event) != null;
+    }
+
+    /**
+     * Returns all {@link com.googlecode.jedi.Event}s for which
+     * {@link com.googlecode.jedi.EventListener}s have been registered.
+     *
+     * @return all registered <code>Events</code>
+     */
+    public String[] getRegisteredEvents() {
+        return topics.keySet().toArray(new String[0]);
+    }
+
+    /**
+     * Stops the EventDispatcher and frees all variables. Events which have
+     * not been dispatched yet are discarded: pending requests fail with a
+     * <code>CancellationException</code>, journaled events stay in the
+     * journal and are replayed by the next instance.
+     */
+    public void stop() {
+        if (name == null) {
+            throw new UnsupportedOperationException("Default instance can't be stopped!");
+        }
+        if (!running.compareAndSet(true, false)) {
+            return;
+        }
+        engine.stop();
+        if (timerExecutor != null) {
+            timerExecutor.shutdown();
+        }
+        if (journal != null) {
+            journal.close();
+        }
+        if (deadlines != null) {
+            deadlines.stop();
+        }
+        guard.stop();
+        if (metrics != null) {
+            metrics.unregister();
+        }
+        EventDispatcher.instances.remove(name, this);
+        for (DispatcherLifecycleListener listener : lifecycleListeners) {
+            listener.dispatcherStopped(this);
+        }
+    }
+
+    /**
+     * Returns the
+     * <code>name</code> of this instance, <code>null</code> for the default
+     * instance
+     *
+     * @return name of this instance
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Returns whether this instance is still running
+     *
+     * @return <code>false</code> once the instance has been stopped
+     */
+    public boolean isRunning() {
+        return running.get();
+    }
+
+    /**
+     * Internally dispatches the {@link com.googlecode.jedi.Event} to all
+     * registered {@link com.googlecode.jedi.EventListener}s.
+     *
+     * @param event <code>Event</code> to be dispatched
+     */
+    void dispatchEvent(Event event) {
+        dispatchEvent(event, invoker);
+    }
+
+    /**
+     * Returns the metrics of this instance
+     *
+     * @return the metrics, <code>null</code> unless they have been enabled by
+     * {@link com.github.jedi.DispatcherConfiguration#setMetricsEnabled(boolean)}
+     */
+    public DispatcherMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Returns the listeners which have overrun the execution deadline
+     *
+     * @return the slow listeners, empty unless a deadline has been set by
+     * {@link com.github.jedi.DispatcherConfiguration#setExecutionDeadline(long)}
+     */
+    public Set<EventListener> getSlowListeners() {
+        if (deadlines != null) {
+            return deadlines.getSlowListeners();
+        }
+        return Collections.emptySet();
+    }
+
+    /**
+     * Returns the listeners which run on a bulkhead of their own because of
+     * {@link com.github.jedi.DeadlinePolicy#ISOLATE}
+     *
+     * @return the isolated listeners
+     */
+    public Set<EventListener> getIsolatedListeners() {
+        if (deadlines != null) {
+            return deadlines.getIsolatedListeners();
+        }
+        return Collections.emptySet();
+    }
+
+    /**
+     * Lets an isolated
+     * <code>listener</code> be called on the dispatching threads again, e.g.
+     * once the resource it waited for has recovered. It is isolated again on
+     * its next overrun.
+     *
+     * @param listener the listener
+     * @return <code>true</code> if the listener had been isolated
+     */
+    public boolean reintegrateListener(EventListener listener) {
+        if (listener == null) {
+            throw new IllegalArgumentException("No listener given!");
+        }
+        return deadlines != null && deadlines.reintegrate(listener);
+    }
+
+    /**
+     * Removes and returns the {@link com.github.jedi.DeadLetter}s of this
+     * instance: the events listeners failed to handle, after all retries
+     * configured by
+     * {@link com.github.jedi.DispatcherConfiguration#setListenerRetries(int)}.
+     * At most
+     * {@link com.github.jedi.DispatcherConfiguration#setDeadLetterCapacity(int)}
+     * dead letters are kept until they are drained.
+     *
+     * @return the dead letters, oldest first
+     */
+    public List<DeadLetter> drainDeadLetters() {
+        return guard.drainDeadLetters();
+    }
+
+    /**
+     * Returns the number of dead letters kept by this instance
+     *
+     * @return the number of dead letters
+     */
+    public int getDeadLetterCount() {
+        return guard.getDeadLetterCount();
+    }
+
+    /**
+     * Returns the number of dead letters dropped because too many of them
+     * were kept
+     *
+     * @return the number of dropped dead letters
+     */
+    public long getDroppedDeadLetters() {
+        return guard.getDroppedDeadLetters();
+    }
+
+    /**
+     * Returns how often a listener of this instance threw an exception,
+     * retries included
+     *
+     * @return the number of failed invocations
+     */
+    public long getFailedInvocations() {
+        return guard.getFailures();
+    }
+
+    /**
+     * Wraps
+     * <code>listener</code> for running it on a
+     * {@link com.github.jedi.ListenerLane}, so that its calls are recorded in
+     * the metrics of this instance and its failures are handled like on the
+     * dispatching threads
+     *
+     * @param listener the listener
+     * @return the wrapped listener
+     */
+    EventListener wrap(EventListener listener) {
+        return guard.guard(listener, (metrics == null) ? listener : metrics.meter(listener));
+    }
+
+    /**
+     * Returns the invoker which isolates the failures of the listeners
+     *
+     * @return the guarding invoker
+     */
+    GuardedInvoker getGuard() {
+        return guard;
+    }
+
+    /**
+     * Returns the invoker calling the listeners of this instance
+     *
+     * @return the invoker
+     */
+    ListenerInvoker getInvoker() {
+        return invoker;
+    }
+
+    /**
+     * Internally dispatches the {@link com.googlecode.jedi.Event} to all
+     * registered {@link com.googlecode.jedi.EventListener}s, calling them
+     * through <code>invoker</code>.
+     *
+     * @param event <code>Event</code> to be dispatched
+     * @param invoker calls the listeners
+     */
+    void dispatchEvent(Event event, ListenerInvoker invoker) {
+        if (metrics != null) {
+            metrics.dispatched(event);
+        }
+        /* a conflated event stands in for the latest event of its key */
+        Conflation.Slot conflated = event.getConflated();
+        if (conflated == null) {
+            /* listeners called after this pass hold the acknowledgement */
+            Acknowledgement acknowledgement = event.beginAcknowledgement();
+            try {
+                dispatchToListeners(event, invoker);
+            } finally {
+                if (acknowledgement != null) {
+                    acknowledgement.settle();
+                }
+            }
+            return;
+        }
+        Event latest = conflated.take(event);
+        Acknowledgement acknowledgement = new Acknowledgement(event, latest, conflated);
+        latest.setAcknowledgement(acknowledgement);
+        try {
+            dispatchToListeners(latest, invoker);
+        } finally {
+            acknowledgement.settle();
+        }
+    }
+
+    /**
+     * Calls all listeners of
+     * <code>event</code>
+     *
+     * @param event the <code>Event</code> to be dispatched
+     * @param invoker calls the listeners
+     */
+    private void dispatchToListeners(Event event, ListenerInvoker invoker) {
+        /* informing the super globals, which listen for every dispatcher */
+        EventDispatcher.superGlobalListeners.dispatchEvent(event, invoker);
+
+        /* informing the globals, which listen to all events on this dispatcher */
+        globalListeners.dispatchEvent(event, invoker);
+
+        /* informing the handlers which listen for <code>event</code> */
+        Topic topic = event.getTopic();
+        if (topic == null || topic.getDispatcher() != this) {
+            topic = (event.getName() == null) ? null : topics.get(event.getName());
+        }
+        if (topic == null) {
+            if (event.getName() != null && !wildcards.isEmpty()) {
+                /* no topic of its own, the trie caches the matching patterns */
+                for (EventListenerCollection collection : wildcards.lookup(event.getName()).listeners) {
+                    collection.dispatchEvent(event, invoker);
+                }
+            }
+        } else {
+            listeners[topic.getId()].dispatchEvent(event, invoker);
+
+            /* informing the handlers of all patterns matching <code>event</code> */
+            TopicTrie.Match match = topic.getWildcards();
+            if (match == null || match.generation != wildcards.getGeneration()) {
+                match = wildcards.match(topic.getName());
+                topic.setWildcards(match);
+            }
+            for (EventListenerCollection collection : match.listeners) {
+                collection.dispatchEvent(event, invoker);
+            }
+        }
+
+        /* informing the handlers which listen for the type of the data */
+        Object data = typedListeners.isEmpty() ? null : event.getData();
+        if (data != null) {
+            for (EventListenerCollection collection : typedListeners.resolve(data.getClass())) {
+                collection.dispatchEvent(event, invoker);
+            }
+        }
+    }
+}
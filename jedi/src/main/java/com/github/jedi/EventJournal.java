@@ -0,0 +1,600 @@
+/*
+ *  Copyright (C) 2026  agent <agent at local>
+ * 
+ *  This file is part of jedi.
+ * 
+ *  jedi is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ * 
+ *  jedi is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU LEsser General Public License for more details.
+ * 
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with jedi.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.jedi;
+
+import java.io.File;
+import java.io.FileFilter;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.CRC32;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A write-ahead journal of the {@link com.github.jedi.Event}s of one
+ * dispatcher. Every triggered event is appended to a memory-mapped segment
+ * file before it is queued, and marked as done once it has been dispatched
+ * or dropped. Segments have a fixed size; a new one is started when the
+ * current one is full, and a full segment is deleted as soon as all its
+ * events are done.<br>
+ * The segments are flushed to disk by a background thread, which forces all
+ * events appended since its last run at once (group commit). Writers may
+ * wait for the flush covering their event.<br>
+ * When the journal is opened, the events of existing segments which are not
+ * done are recovered so that they can be replayed. Delivery is therefore
+ * at least once: an event dispatched right before a crash may be replayed if
+ * its mark had not reached the disk.<br>
+ * A record is laid out as
+ * <code>length (int), status (byte), crc (int), event</code>, where the
+ * event is written by an {@link com.github.jedi.EventCodec} per segment, so
+ * names are written once per segment and times as deltas. The CRC covers
+ * the event, the status is not covered since it changes.
+ *
+ * @author agent <agent at local>
+ */
+final class EventJournal {
+
+    /**
+     * static {@link org.slf4j.Logger} instance
+     */
+    private static final Logger log = LoggerFactory.getLogger(EventJournal.class.getName());
+    /**
+     * file name suffix of the segments
+     */
+    private static final String SUFFIX = ".journal";
+    /**
+     * bytes in front of the CRC: length and status
+     */
+    private static final int HEADER = 5;
+    /**
+     * status of an event which has not been done yet
+     */
+    private static final byte PENDING = 0;
+    /**
+     * status of an event which has been dispatched or dropped
+     */
+    private static final byte DONE = 1;
+    /**
+     * bytes in front of the event: length, status and CRC
+     */
+    private static final int PREFIX = HEADER + 4;
+    /**
+     * the directory of the segments
+     */
+    private final File directory;
+    /**
+     * writes context and data of the events
+     */
+    private final PayloadCodec payloadCodec;
+    /**
+     * size of a segment in bytes
+     */
+    private final int segmentSize;
+    /**
+     * time in ms between two flushes
+     */
+    private final long syncInterval;
+    /**
+     * whether writers wait until their event has been flushed
+     */
+    private final boolean syncOnAppend;
+    /**
+     * guards appending: <code>current</code>, <code>unsynced</code>,
+     * <code>nextSegment</code> and <code>lastSequence</code>
+     */
+    private final Object appendLock = new Object();
+    /**
+     * the segment events are appended to
+     */
+    private Segment current;
+    /**
+     * full segments which have not been flushed yet
+     */
+    private final List<Segment> unsynced = new ArrayList<Segment>();
+    /**
+     * number of the next segment file
+     */
+    private long nextSegment;
+    /**
+     * sequence of the last appended event, counted from the opening of the
+     * journal
+     */
+    private long lastSequence;
+    /**
+     * guards <code>synced</code> and <code>syncRequested</code>, waited on by
+     * the writers and the flushing thread
+     */
+    private final Object syncLock = new Object();
+    /**
+     * sequence of the last event which has been flushed
+     */
+    private long synced;
+    /**
+     * whether a writer waits for the next flush
+     */
+    private boolean syncRequested;
+    /**
+     * events recovered from existing segments, <code>null</code> once taken
+     */
+    private List<Event> recovered;
+    /**
+     * the flushing thread
+     */
+    private final Thread syncer;
+    /**
+     * whether the journal is open
+     */
+    private volatile boolean running = true;
+
+    /**
+     * Creates a new EventJournal, which is not opened yet
+     *
+     * @param directory the directory of the segments, created if missing
+     * @param payloadCodec writes context and data of the events
+     * @param segmentSize size of a segment in bytes
+     * @param syncInterval time in ms between two flushes
+     * @param syncOnAppend whether writers wait until their event has been
+     * flushed
+     * @param threadName name of the flushing thread
+     */
+    EventJournal(File directory, PayloadCodec payloadCodec, int segmentSize,
+            long syncInterval, boolean syncOnAppend, String threadName) {
+        this.directory = directory;
+        this.payloadCodec = payloadCodec;
+        this.segmentSize = segmentSize;
+        this.syncInterval = Math.max(1, syncInterval);
+        this.syncOnAppend = syncOnAppend;
+        this.syncer = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                syncLoop();
+            }
+        }, threadName);
+        this.syncer.setDaemon(true);
+    }
+
+    /**
+     * Opens the journal: recovers the events of its existing segments and
+     * starts the flushing thread
+     *
+     * @throws IOException if the directory or a segment can't be accessed
+     */
+    void open() throws IOException {
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new IOException("Can't create " + directory);
+        }
+        List<Event> events = recover();
+        synchronized (appendLock) {
+            recovered = events;
+        }
+        syncer.start();
+    }
+
+    /**
+     * Appends
+     * <code>event</code> and remembers its position in the event, so that it
+     * can be marked as done later
+     *
+     * @param event the event to be appended
+     */
+    void append(Event event) {
+        Segment segment;
+        int offset;
+        long sequence;
+        synchronized (appendLock) {
+            if (!running) {
+                throw new IllegalStateException("Journal " + directory + " has been closed!");
+            }
+            if (current == null) {
+                roll();
+            }
+            int length = write(current, event);
+            if (length < 0 && current.position > 0) {
+                roll();
+                length = write(current, event);
+            }
+            if (length < 0) {
+                throw new IllegalArgumentException(event + " exceeds the journal segment size!");
+            }
+            segment = current;
+            offset = segment.position;
+            /* the length is written last, it makes the record visible to recovery */
+            segment.buffer.putInt(offset, length + 4);
+            segment.position += PREFIX + length;
+            segment.pending.incrementAndGet();
+            sequence = ++lastSequence;
+        }
+        event.setJournalPosition(segment, offset);
+        if (syncOnAppend) {
+            awaitSync(sequence);
+        }
+    }
+
+    /**
+     * Encodes
+     * <code>event</code> at the end of
+     * <code>segment</code> along with its CRC, called holding
+     * <code>appendLock</code>
+     *
+     * @param segment the segment
+     * @param event the event
+     * @return the number of bytes of the encoded event, -1 if it doesn't fit
+     * into the segment
+     */
+    private static int write(Segment segment, Event event) {
+        int start = segment.position + PREFIX;
+        if (start > segment.buffer.capacity()) {
+            return -1;
+        }
+        ByteBuffer target = segment.buffer.duplicate();
+        target.position(start);
+        try {
+            segment.codec.encode(event, target);
+        } catch (BufferOverflowException ex) {
+            return -1;
+        }
+        int length = target.position() - start;
+        CRC32 crc = new CRC32();
+        crc.update(segment.buffer.slice(start, length));
+        segment.buffer.put(segment.position + HEADER - 1, PENDING);
+        segment.buffer.putInt(segment.position + HEADER, (int) crc.getValue());
+        return length;
+    }
+
+    /**
+     * Returns the events recovered from the existing segments, in the order
+     * they have been appended. They are returned only once.
+     *
+     * @return the recovered events
+     */
+    List<Event> takeRecovered() {
+        synchronized (appendLock) {
+            List<Event> events = recovered;
+            recovered = null;
+            return (events != null) ? events : new ArrayList<Event>(0);
+        }
+    }
+
+    /**
+     * Flushes all appended events and stops the flushing thread. Events which
+     * are marked as done afterwards are only marked in memory, unless their
+     * segment is flushed by the operating system anyway.
+     */
+    void close() {
+        synchronized (appendLock) {
+            running = false;
+            if (current != null) {
+                /* deleted right away if all its events are done */
+                current.seal();
+            }
+        }
+        synchronized (syncLock) {
+            syncLock.notifyAll();
+        }
+        if (!syncer.isAlive()) {
+            return;
+        }
+        try {
+            syncer.join();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Starts a new segment, called holding <code>appendLock</code>
+     */
+    private void roll() {
+        Segment previous = current;
+        try {
+            current = Segment.create(new File(directory, String.format("%020d", nextSegment++)
+                    + SUFFIX), segmentSize, payloadCodec);
+        } catch (IOException ex) {
+            throw new IllegalStateException("Can't create a journal segment in "
+                    + directory + "!", ex);
+        }
+        if (previous != null) {
+            unsynced.add(previous);
+            previous.seal();
+        }
+    }
+
+    /**
+     * Waits until the event with the given
+     * <code>sequence</code> has been flushed
+     *
+     * @param sequence sequence of the event
+     */
+    private void awaitSync(long sequence) {
+        synchronized (syncLock) {
+            if (synced >= sequence) {
+                return;
+            }
+            syncRequested = true;
+            syncLock.notifyAll();
+            try {
+                while (synced < sequence && running) {
+                    syncLock.wait();
+                }
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * The loop of the flushing thread
+     */
+    private void syncLoop() {
+        while (running) {
+            synchronized (syncLock) {
+                if (!syncRequested && running) {
+                    try {
+                        syncLock.wait(syncInterval);
+                    } catch (InterruptedException ex) {
+                        /* running decides */
+                    }
+                }
+                syncRequested = false;
+            }
+            sync();
+        }
+        sync();
+    }
+
+    /**
+     * Flushes everything appended so far with one force per segment
+     */
+    private void sync() {
+        long target;
+        List<Segment> segments;
+        synchronized (appendLock) {
+            target = lastSequence;
+            segments = new ArrayList<Segment>(unsynced);
+            unsynced.clear();
+            if (current != null) {
+                segments.add(current);
+            }
+        }
+        synchronized (syncLock) {
+            if (synced >= target && segments.size() <= 1) {
+                return;
+            }
+        }
+        for (Segment segment : segments) {
+            if (!segment.deleted.get()) {
+                segment.buffer.force();
+            }
+        }
+        synchronized (syncLock) {
+            synced = target;
+            syncLock.notifyAll();
+        }
+    }
+
+    /**
+     * Scans the existing segments for events which are not done
+     *
+     * @return the recovered events
+     * @throws IOException if a segment can't be accessed
+     */
+    private List<Event> recover() throws IOException {
+        File[] files = directory.listFiles(new FileFilter() {
+            @Override
+            public boolean accept(File file) {
+                return file.isFile() && file.getName().endsWith(SUFFIX);
+            }
+        });
+        List<Event> events = new ArrayList<Event>();
+        if (files == null) {
+            return events;
+        }
+        Arrays.sort(files);
+        for (File file : files) {
+            String number = file.getName().substring(0, file.getName().length() - SUFFIX.length());
+            try {
+                nextSegment = Math.max(nextSegment, Long.parseLong(number) + 1);
+            } catch (NumberFormatException ex) {
+                continue;
+            }
+            Segment segment = Segment.open(file, payloadCodec);
+            recover(segment, events);
+            segment.seal();
+        }
+        if (!events.isEmpty()) {
+            log.info("Recovered {} events from journal {}", events.size(), directory);
+        }
+        return events;
+    }
+
+    /**
+     * Scans a segment for events which are not done. All records are decoded
+     * since the codec of the segment needs to see the names of the done ones
+     * as well.
+     *
+     * @param segment the segment
+     * @param events the list to add the events to
+     */
+    private void recover(Segment segment, List<Event> events) {
+        MappedByteBuffer buffer = segment.buffer;
+        int position = 0;
+        while (position + PREFIX <= buffer.capacity()) {
+            int length = buffer.getInt(position);
+            if (length < 4 || position + HEADER + length > buffer.capacity()) {
+                break;
+            }
+            ByteBuffer body = buffer.slice(position + PREFIX, length - 4);
+            CRC32 crc = new CRC32();
+            crc.update(body.duplicate());
+            if ((int) crc.getValue() != buffer.getInt(position + HEADER)) {
+                log.warn("Journal segment {} is torn at {}, dropping its tail",
+                        segment.file, position);
+                break;
+            }
+            Event event = null;
+            try {
+                event = segment.codec.decode(body);
+            } catch (RuntimeException ex) {
+                log.warn("Skipping an event of journal segment " + segment.file, ex);
+            }
+            if (event != null && buffer.get(position + 4) == PENDING) {
+                segment.pending.incrementAndGet();
+                event.setJournalPosition(segment, position);
+                events.add(event);
+            }
+            position += HEADER + length;
+        }
+        segment.position = position;
+    }
+
+    /**
+     * A memory-mapped segment file of the journal
+     */
+    static final class Segment {
+
+        /**
+         * the file of the segment
+         */
+        private final File file;
+        /**
+         * the mapped content of the file
+         */
+        private final MappedByteBuffer buffer;
+        /**
+         * encodes the events of this segment, only accessed holding the
+         * append lock or during recovery
+         */
+        private final EventCodec codec;
+        /**
+         * the offset the next record is appended at, only accessed holding
+         * the append lock
+         */
+        private int position;
+        /**
+         * number of events in this segment which are not done
+         */
+        private final AtomicInteger pending = new AtomicInteger();
+        /**
+         * set once no more events are appended to this segment
+         */
+        private volatile boolean sealed;
+        /**
+         * set once the file has been deleted
+         */
+        private final AtomicBoolean deleted = new AtomicBoolean();
+
+        /**
+         * Creates a new Segment
+         *
+         * @param file the file of the segment
+         * @param buffer the mapped content of the file
+         * @param payloadCodec writes context and data of the events
+         */
+        private Segment(File file, MappedByteBuffer buffer, PayloadCodec payloadCodec) {
+            this.file = file;
+            this.buffer = buffer;
+            this.codec = new EventCodec(payloadCodec);
+        }
+
+        /**
+         * Creates a new, empty segment file
+         *
+         * @param file the file
+         * @param size size of the segment in bytes
+         * @param payloadCodec writes context and data of the events
+         * @return the segment
+         * @throws IOException if the file can't be created
+         */
+        static Segment create(File file, int size, PayloadCodec payloadCodec) throws IOException {
+            return new Segment(file, map(file, size), payloadCodec);
+        }
+
+        /**
+         * Opens an existing segment file
+         *
+         * @param file the file
+         * @param payloadCodec reads context and data of the events
+         * @return the segment
+         * @throws IOException if the file can't be opened
+         */
+        static Segment open(File file, PayloadCodec payloadCodec) throws IOException {
+            return new Segment(file, map(file, (int) Math.min(Integer.MAX_VALUE, file.length())),
+                    payloadCodec);
+        }
+
+        /**
+         * Maps a file into memory
+         *
+         * @param file the file
+         * @param size number of bytes to map
+         * @return the mapped content
+         * @throws IOException if the file can't be mapped
+         */
+        private static MappedByteBuffer map(File file, int size) throws IOException {
+            RandomAccessFile raf = new RandomAccessFile(file, "rw");
+            try {
+                /* the mapping stays valid after the channel has been closed */
+                return raf.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, size);
+            } finally {
+                raf.close();
+            }
+        }
+
+        /**
+         * Marks the event at
+         * <code>offset</code> as done
+         *
+         * @param offset offset of the record
+         */
+        void acknowledge(int offset) {
+            buffer.put(offset + 4, DONE);
+            if (pending.decrementAndGet() == 0 && sealed) {
+                delete();
+            }
+        }
+
+        /**
+         * Stops appending to this segment
+         */
+        void seal() {
+            sealed = true;
+            if (pending.get() == 0) {
+                delete();
+            }
+        }
+
+        /**
+         * Deletes the file once all its events are done
+         */
+        private void delete() {
+            if (deleted.compareAndSet(false, true) && !file.delete()) {
+                log.warn("Can't delete journal segment {}", file);
+            }
+        }
+    }
+}
@@ -0,0 +1,41 @@
+/*
+ *  Copyright (C) 2026  agent <agent at local>
+ * 
+ *  This file is part of jedi.
+ * 
+ *  jedi is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ * 
+ *  jedi is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU LEsser General Public License for more details.
+ * 
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with jedi.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.jedi;
+
+/**
+ * Extracts the key by which the {@link com.github.jedi.Event}s of a
+ * multi-threaded {@link com.github.jedi.EventDispatcher} are partitioned onto
+ * its worker threads. Events with equal keys are always dispatched by the
+ * same worker and therefore in the order they were triggered.
+ *
+ * @see com.github.jedi.DispatcherConfiguration#setKeyExtractor(com.github.jedi.EventKeyExtractor)
+ * @author agent <agent at local>
+ */
+public interface EventKeyExtractor {
+
+    /**
+     * Returns the partitioning key of the given
+     * <code>event</code>, for example its name, its context or part of its
+     * data. A value of <code>null</code> is a valid key.
+     *
+     * @param event the event to be partitioned
+     * @return the key of the event
+     */
+    public Object getKey(Event event);
+}
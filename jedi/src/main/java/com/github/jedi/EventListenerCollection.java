@@ -0,0 +1,342 @@
+/*
+ *  Copyright (C) 2011  Dominik Schöner <kurrija at gmail.com>
+ *                      Simon Beckstein <simon.beckstein at gmail.com>
+ * 
+ *  This file is part of jedi.
+ * 
+ *  jedi is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ * 
+ *  jedi is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU LEsser General Public License for more details.
+ * 
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with jedi.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.jedi;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * This class contains a List of {@link com.googlecode.jedi.EventListenerData}
+ * Objects for the event
+ * <code>name</code>.<br>
+ * The registered listeners are published as an immutable array snapshot.
+ * Dispatching iterates over the current snapshot without any locking, while
+ * adding or removing a listener atomically swaps in a modified copy.
+ *
+ * @see com.googlecode.jedi.EventListenerData
+ * @see com.googlecode.jedi.EventListener
+ * @author Simon Beckstein <simon.beckstein at gmail.com>
+ */
+public class EventListenerCollection {
+
+    /**
+     * static {@link java.util.logging.Logger} instance
+     */
+    private static final Logger log = LoggerFactory.getLogger(EventListenerCollection.class.
+            getName());
+    /**
+     * the empty snapshot
+     */
+    private static final EventListenerData[] EMPTY = new EventListenerData[0];
+    /**
+     * The current snapshot of all {@link com.googlecode.jedi.EventListenerData}
+     * Objects. The array is never modified once it has been published.
+     */
+    private final AtomicReference<EventListenerData[]> listeners;
+    /**
+     * the event
+     * <code>name</code> this Collection belongs to
+     */
+    private String name;
+    /**
+     * informed when a one-shot listener or an expired registration is
+     * removed, <code>null</code> if nobody has to be informed
+     */
+    private final RemovalListener removals;
+
+    /**
+     * Creates a new, empty EventListenerCollection
+     *
+     * @param name the name of the event
+     */
+    public EventListenerCollection(String name) {
+        this(name, null);
+    }
+
+    /**
+     * Creates a new, empty EventListenerCollection which informs
+     * <code>removals</code> about the listeners it removes on its own
+     *
+     * @param name the name of the event
+     * @param removals informed when a one-shot listener or an expired
+     * registration is removed, may be <code>null</code>
+     */
+    EventListenerCollection(String name, RemovalListener removals) {
+        this.name = name;
+        this.removals = removals;
+        listeners = new AtomicReference<EventListenerData[]>(EMPTY);
+    }
+
+    /**
+     * This method creates a new {@link com.googlecode.jedi.EventListenerData}
+     * object based on the given {@link com.googlecode.jedi.EventListener}
+     * <code>listener</code>. The
+     * {@link com.googlecode.jedi.EventListener#handleEvent(com.googlecode.jedi.Event)}
+     * method will be called everytime the
+     * <code>name</code>s event is fired
+     *
+     * @see com.googlecode.jedi.EventListener
+     * @see com.googlecode.jedi.EventListener
+     * @see
+     * com.googlecode.jedi.EventListener#handleEvent(com.googlecode.jedi.Event)
+     * @param listener	the EventListener interface
+     * @param oneShot	true if this EventListener is removed after first call
+     */
+    public void addEventListener(EventListener listener, boolean oneShot) {
+        addEventListener(listener, oneShot, -1);
+    }
+
+    /**
+     * Adds the {@link com.googlecode.jedi.EventListener} like
+     * {@link #addEventListener(com.github.jedi.EventListener, boolean)}. With a
+     * positive
+     * <code>timeout</code> the registration expires: the listener is removed
+     * from the collection once the timeout has passed, using the
+     * {@link com.github.jedi.TimingWheel} shared by all dispatchers.
+     *
+     * @param listener the EventListener interface
+     * @param oneShot true if this EventListener is removed after first call
+     * @param timeout time in ms after which the listener is removed, not
+     * positive for never
+     * @return the EventListenerData object of the EventListener
+     */
+    public EventListenerData addEventListener(EventListener listener, boolean oneShot,
+            long timeout) {
+        return addEventListener(listener, oneShot, timeout, 0);
+    }
+
+    /**
+     * Adds the {@link com.googlecode.jedi.EventListener} like
+     * {@link #addEventListener(com.github.jedi.EventListener, boolean, long)}
+     * with a priority. The listeners are kept sorted by descending priority,
+     * listeners of the same priority in the order they have been added, so
+     * dispatching never has to sort them.
+     *
+     * @param listener the EventListener interface
+     * @param oneShot true if this EventListener is removed after first call
+     * @param timeout time in ms after which the listener is removed, not
+     * positive for never
+     * @param priority EventListeners with a higher priority are called first
+     * @return the EventListenerData object of the EventListener
+     */
+    public EventListenerData addEventListener(EventListener listener, boolean oneShot,
+            long timeout, int priority) {
+        final EventListenerData data = new EventListenerData(listener, oneShot, timeout,
+                priority);
+        EventListenerData[] current;
+        EventListenerData[] updated;
+        do {
+            current = listeners.get();
+            int index = current.length;
+            while (index > 0 && current[index - 1].getPriority() < priority) {
+                index--;
+            }
+            updated = new EventListenerData[current.length + 1];
+            System.arraycopy(current, 0, updated, 0, index);
+            updated[index] = data;
+            System.arraycopy(current, index, updated, index + 1, current.length - index);
+        } while (!listeners.compareAndSet(current, updated));
+        if (timeout > 0) {
+            data.setExpiry(TimingWheel.shared().schedule(new Runnable() {
+                @Override
+                public void run() {
+                    if (removeEventListenerData(data)) {
+                        log.debug("EventListener expired for {}", name != null ? name : "global");
+                        removed(data);
+                    }
+                }
+            }, timeout, TimeUnit.MILLISECONDS));
+        }
+        return data;
+    }
+
+    /**
+     * This method removes the {@link com.googlecode.jedi.EventListener}
+     * <code>listener</code> from the collection and returns the
+     * {@link com.googlecode.jedi.EventListenerData} object of the listener. If
+     * no
+     * <code>listener</code> was found,
+     * <code>null</code> is returned. If a EventListener has been added more
+     * than one time, only the first occurence will be removed<br />
+     *
+     * <u>note</u>: this operation is <b>O(n)</b>
+     *
+     * @see com.googlecode.jedi.EventListener
+     * @see com.googlecode.jedi.EventListenerData
+     * @param listener the EventListener to remove
+     * @return the EventListenerData object of the EventListener
+     */
+    public EventListenerData removeEventListener(EventListener listener) {
+        EventListenerData[] current;
+        int index;
+        do {
+            current = listeners.get();
+            index = -1;
+            for (int i = 0; i < current.length; i++) {
+                if (current[i].getListener().equals(listener)) {
+                    index = i;
+                    break;
+                }
+            }
+            if (index < 0) {
+                return null;
+            }
+        } while (!listeners.compareAndSet(current, without(current, index)));
+        current[index].cancelExpiry();
+        log.debug("EventListener removed for {}", name != null ? name : "global");
+        return current[index];
+    }
+
+    /**
+     * Removes exactly the given
+     * <code>data</code> instance from the collection, if it is still part of
+     * it.
+     *
+     * @param data the EventListenerData to remove
+     * @return <code>true</code> if it has been removed
+     */
+    private boolean removeEventListenerData(EventListenerData data) {
+        EventListenerData[] current;
+        int index;
+        do {
+            current = listeners.get();
+            index = -1;
+            for (int i = 0; i < current.length; i++) {
+                if (current[i] == data) {
+                    index = i;
+                    break;
+                }
+            }
+            if (index < 0) {
+                return false;
+            }
+        } while (!listeners.compareAndSet(current, without(current, index)));
+        return true;
+    }
+
+    /**
+     * Informs
+     * <code>removals</code> about a listener this collection has removed on
+     * its own
+     *
+     * @param data the removed registration
+     */
+    private void removed(EventListenerData data) {
+        if (removals != null) {
+            removals.listenerRemoved(data.getListener());
+        }
+    }
+
+    /**
+     * Returns a copy of
+     * <code>array</code> without the element at
+     * <code>index</code>
+     *
+     * @param array the snapshot to copy
+     * @param index the index to leave out
+     * @return the new snapshot
+     */
+    private static EventListenerData[] without(EventListenerData[] array, int index) {
+        if (array.length == 1) {
+            return EMPTY;
+        }
+        EventListenerData[] copy = new EventListenerData[array.length - 1];
+        System.arraycopy(array, 0, copy, 0, index);
+        System.arraycopy(array, index + 1, copy, index, array.length - index - 1);
+        return copy;
+    }
+
+    /**
+     * Removes all registered EventListener from the collection
+     *
+     * @see com.googlecode.jedi.EventListener
+     */
+    public void removeAllListeners() {
+        for (EventListenerData data : listeners.getAndSet(EMPTY)) {
+            data.cancelExpiry();
+        }
+    }
+
+    /**
+     * Returns an Array of all registered
+     * {@link com.googlecode.jedi.EventListenerData} objects for this event.
+     *
+     * @return array of EventListenerData objects
+     */
+    public EventListenerData[] getAllListeners() {
+        return listeners.get().clone();
+    }
+
+    /**
+     * Dispatches the event
+     * <code>name</code> calling the
+     * {@link com.googlecode.jedi.EventListener#handleEvent(com.googlecode.jedi.Event)}
+     * for every registered {@link com.googlecode.jedi.EventListener}. This
+     * method also removes the {@link com.googlecode.jedi.EventListener} from
+     * the collection if {@link com.googlecode.jedi.EventListenerData#oneShot}
+     * is
+     * <code>true</code>. A oneShot listener is called exactly once, even if
+     * several threads dispatch on this collection at the same time.
+     *
+     * @see com.googlecode.jedi.Event
+     * @see com.googlecode.jedi.EventListener
+     * @see
+     * com.googlecode.jedi.EventListener#handleEvent(com.googlecode.jedi.Event)
+     * @see com.googlecode.jedi.EventListenerData#oneShot
+     * @param event the additional event information
+     */
+    public void dispatchEvent(Event event) {
+        dispatchEvent(event, ListenerInvoker.DIRECT);
+    }
+
+    /**
+     * Dispatches the event like {@link #dispatchEvent(com.github.jedi.Event)},
+     * but lets
+     * <code>invoker</code> call the listeners.
+     *
+     * @param event the additional event information
+     * @param invoker calls the listeners
+     */
+    void dispatchEvent(Event event, ListenerInvoker invoker) {
+
+        log.debug("dispatching {}", event.getName());
+        EventListenerData[] snapshot = listeners.get();
+        for (int i = 0; i < snapshot.length; i++) {
+            EventListenerData eventListenerData = snapshot[i];
+            if (eventListenerData.isOneShot()) {
+                if (!eventListenerData.claimOneShot()) {
+                    continue;
+                }
+                removeEventListenerData(eventListenerData);
+                eventListenerData.cancelExpiry();
+                log.debug("listener removed after first call: {}", eventListenerData);
+                try {
+                    invoker.invoke(eventListenerData, event);
+                } finally {
+                    removed(eventListenerData);
+                }
+                continue;
+            }
+            invoker.invoke(eventListenerData, event);
+        }
+    }
+}
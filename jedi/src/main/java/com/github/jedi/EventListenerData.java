@@ -18,10 +18,12 @@
  */
 package com.github.jedi;
 
+import java.util.concurrent.atomic.AtomicBoolean;
+
 /**
  * This class is used as a wrapper around the EventListener interface. It
- * contains additional information about the event. Only the oneShot propertie
- * is supportet yet.
+ * contains additional information about the event: whether it is oneShot,
+ * after which timeout its registration expires and its priority.
  *
  * @author Simon Beckstein <simon.beckstein at gmail.com>
  */
@@ -36,9 +38,23 @@ public class EventListenerData {
      */
     private boolean oneShot;
     /**
-     * not implemented yet
+     * time in ms after which the registration expires, not positive for
+     * never
      */
     private long timeout;
+    /**
+     * EventListeners with a higher priority are called first
+     */
+    private final int priority;
+    /**
+     * the scheduled expiry of the registration, <code>null</code> if it never
+     * expires
+     */
+    private volatile TimingWheel.Timeout expiry;
+    /**
+     * set once a oneShot EventListener has been claimed for its single call
+     */
+    private final AtomicBoolean fired = new AtomicBoolean();
 
     /**
      * Creates a new wrapper for an EventListener
@@ -70,9 +86,24 @@ public class EventListenerData {
      * @param timeout the timeout in ms after the event will be killed
      */
     public EventListenerData(EventListener listener, boolean oneShot, long timeout) {
+        this(listener, oneShot, timeout, 0);
+    }
+
+    /**
+     * Creates a new wrapper for an EventListener
+     *
+     * @see com.googlecode.jedi.EventListener
+     * @param listener the concerning EventListener
+     * @param oneShot true if this event is unique
+     * @param timeout the timeout in ms after the event will be killed
+     * @param priority EventListeners with a higher priority are called first
+     */
+    public EventListenerData(EventListener listener, boolean oneShot, long timeout,
+            int priority) {
         this.listener = listener;
         this.oneShot = oneShot;
         this.timeout = timeout;
+        this.priority = priority;
     }
 
     /**
@@ -98,23 +129,56 @@ public class EventListenerData {
     }
 
     /**
-     * Not implemented yet
+     * Returns the time in ms after which the registration of the
+     * EventListener expires
      *
-     * @return
+     * @return the timeout in ms, not positive if it never expires
      */
     public long getTimeout() {
         return timeout;
     }
 
     /**
-     * Not implemented yet
+     * Sets the time in ms after which the registration of the EventListener
+     * expires. The timeout is only read when the EventListener is added to
+     * an {@link com.github.jedi.EventListenerCollection}.
      *
-     * @return
+     * @param timeout the timeout in ms, not positive if it never expires
      */
     public void setTimeout(int timeout) {
         this.timeout = timeout;
     }
 
+    /**
+     * Sets the scheduled expiry of the registration
+     *
+     * @param expiry the scheduled expiry
+     */
+    void setExpiry(TimingWheel.Timeout expiry) {
+        this.expiry = expiry;
+    }
+
+    /**
+     * Cancels the scheduled expiry of the registration, if any
+     */
+    void cancelExpiry() {
+        TimingWheel.Timeout scheduled = expiry;
+        if (scheduled != null) {
+            scheduled.cancel();
+        }
+    }
+
+    /**
+     * Returns the priority of the EventListener. It is fixed, since the
+     * listeners of a collection are sorted by it when they are added.
+     *
+     * @return the priority, EventListeners with a higher priority are called
+     * first
+     */
+    public int getPriority() {
+        return priority;
+    }
+
     /**
      * Returns the EventListener this wrapper holds
      *
@@ -125,6 +189,16 @@ public class EventListenerData {
         return listener;
     }
 
+    /**
+     * Claims the single call of a oneShot EventListener. Only the first
+     * caller, no matter from which thread, gets <code>true</code>.
+     *
+     * @return <code>true</code> if the caller may call the EventListener
+     */
+    boolean claimOneShot() {
+        return fired.compareAndSet(false, true);
+    }
+
     /**
      * returns true if
      * <code>listerner</code> and
@@ -0,0 +1,53 @@
+/*
+ *  Copyright (C) 2026  agent <agent at local>
+ * 
+ *  This file is part of jedi.
+ * 
+ *  jedi is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ * 
+ *  jedi is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU LEsser General Public License for more details.
+ * 
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with jedi.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.jedi;
+
+/**
+ * Merges a queued {@link com.googlecode.jedi.Event} with a newer one of the
+ * same conflation key, see
+ * {@link com.github.jedi.EventDispatcher#setConflation(java.lang.String,
+ * com.github.jedi.ConflationMode, com.github.jedi.EventMerger)}.
+ *
+ * @author agent <agent at local>
+ */
+public interface EventMerger {
+
+    /**
+     * Keeps the newer event
+     */
+    EventMerger LATEST = new EventMerger() {
+
+        @Override
+        public Event merge(Event pending, Event latest) {
+            return latest;
+        }
+    };
+
+    /**
+     * Merges two events. This method is called by the triggering threads and
+     * may be called more than once for the same events if they race, so it
+     * must not have side effects.
+     *
+     * @param pending the event which is still queued
+     * @param latest the event which has just been triggered
+     * @return the event to be queued instead of both, should have the same
+     * name
+     */
+    Event merge(Event pending, Event latest);
+}
@@ -0,0 +1,79 @@
+/*
+ *  Copyright (C) 2026  agent <agent at local>
+ * 
+ *  This file is part of jedi.
+ * 
+ *  jedi is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ * 
+ *  jedi is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU LEsser General Public License for more details.
+ * 
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with jedi.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.jedi;
+
+/**
+ * A fixed set of pre-allocated, reusable {@link com.github.jedi.Event} slots.
+ * A slot is claimed and filled by a triggering thread, dispatched like any
+ * other event and handed back once all listeners have run. The free slots are
+ * kept in a {@link com.github.jedi.RingBufferEventQueue}, so claiming and
+ * releasing neither locks nor allocates.
+ *
+ * @see com.github.jedi.DispatcherConfiguration#setEventPoolSize(int)
+ * @author agent <agent at local>
+ */
+class EventPool {
+
+    /**
+     * the free slots
+     */
+    private final RingBufferEventQueue free;
+
+    /**
+     * Creates a new EventPool
+     *
+     * @param size number of slots
+     */
+    EventPool(int size) {
+        this.free = new RingBufferEventQueue(size, WaitStrategy.YIELD,
+                BackpressurePolicy.DROP_NEWEST);
+        for (int i = 0; i < size; i++) {
+            free.offer(new Event(this));
+        }
+    }
+
+    /**
+     * Claims a free slot and fills it. If all slots are in use, a new,
+     * unpooled event is created instead.
+     *
+     * @param topic the topic of the event, may be <code>null</code>
+     * @param name the name of the event
+     * @param context the context of the event
+     * @param data the data of the event
+     * @return the filled event
+     */
+    Event claim(Topic topic, String name, Object context, Object data) {
+        Event event = free.poll();
+        if (event == null) {
+            return topic != null ? new Event(topic, context, data) : new Event(name, context, data);
+        }
+        event.fill(topic, name, context, data);
+        return event;
+    }
+
+    /**
+     * Hands a slot back to the pool
+     *
+     * @param event a slot of this pool
+     */
+    void release(Event event) {
+        event.clear();
+        free.offer(event);
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ *  Copyright (C) 2026  agent <agent at local>
+ * 
+ *  This file is part of jedi.
+ * 
+ *  jedi is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ * 
+ *  jedi is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU LEsser General Public License for more details.
+ * 
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with jedi.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.jedi;
+
+import java.util.List;
+
+/**
+ * A queue holding the {@link com.github.jedi.Event}s of an
+ * {@link com.github.jedi.EventDispatcher} which have been triggered but not
+ * yet dispatched. Any number of threads may offer events, but only the
+ * dispatching thread polls or takes them.
+ *
+ * @see com.github.jedi.LinkedEventQueue
+ * @see com.github.jedi.RingBufferEventQueue
+ * @author agent <agent at local>
+ */
+public interface EventQueue {
+
+    /**
+     * Enqueues the given
+     * <code>event</code>. What happens if the queue is full depends on the
+     * implementation and its {@link com.github.jedi.BackpressurePolicy}.
+     *
+     * @param event <code>Event</code> to be enqueued
+     * @return <code>true</code> if the event has been enqueued,
+     * <code>false</code> if it has been dropped
+     * @throws IllegalStateException if the queue is full and the policy is
+     * {@link com.github.jedi.BackpressurePolicy#FAIL}
+     */
+    public boolean offer(Event event);
+
+    /**
+     * Enqueues all given
+     * <code>events</code> in their order. Implementations may publish the
+     * whole batch at once and wake up the consumer only once.
+     *
+     * @param events <code>Event</code>s to be enqueued
+     * @return the number of events which have been enqueued
+     * @throws IllegalStateException if the queue is full and the policy is
+     * {@link com.github.jedi.BackpressurePolicy#FAIL}
+     */
+    public default int offerAll(List<Event> events) {
+        int count = 0;
+        for (Event event : events) {
+            if (offer(event)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Removes and returns the next
+     * <code>Event</code>, or returns
+     * <code>null</code> if the queue is empty.
+     *
+     * @return the next <code>Event</code> or <code>null</code>
+     */
+    public Event poll();
+
+    /**
+     * Removes and returns the next
+     * <code>Event</code>, waiting until one becomes available.
+     *
+     * @return the next <code>Event</code>
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public Event take() throws InterruptedException;
+
+    /**
+     * Returns the number of enqueued events. The value is only an estimate
+     * while other threads are offering or polling.
+     *
+     * @return number of enqueued events
+     */
+    public int size();
+
+    /**
+     * Discards all enqueued events.
+     */
+    public void clear();
+}
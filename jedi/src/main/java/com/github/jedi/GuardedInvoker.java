@@ -0,0 +1,477 @@
+/*
+ *  Copyright (C) 2026  agent <agent at local>
+ * 
+ *  This file is part of jedi.
+ * 
+ *  jedi is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ * 
+ *  jedi is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU LEsser General Public License for more details.
+ * 
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with jedi.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.jedi;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A {@link com.github.jedi.ListenerInvoker} calling every listener on the
+ * calling thread, isolated from the others: anything a listener throws,
+ * except a <code>VirtualMachineError</code>, neither reaches the dispatching
+ * thread nor keeps the following listeners from getting the event. A failed
+ * invocation is retried with exponential backoff, scheduled on the shared
+ * {@link com.github.jedi.TimingWheel}, and finally kept as a
+ * {@link com.github.jedi.DeadLetter} in a bounded buffer. The retries of a
+ * listener run one after another, in the order they fall due, on a thread
+ * apart from the dispatching threads.
+ *
+ * @author agent <agent at local>
+ */
+class GuardedInvoker implements ListenerInvoker {
+
+    /**
+     * static {@link org.slf4j.Logger} instance
+     */
+    private static final Logger log = LoggerFactory.getLogger(GuardedInvoker.class.getName());
+    /**
+     * how often a failed invocation is retried
+     */
+    private final int retries;
+    /**
+     * time in ms before the first retry
+     */
+    private final long backoff;
+    /**
+     * maximum time in ms between two retries
+     */
+    private final long maxBackoff;
+    /**
+     * maximum number of dead letters and of waiting retries
+     */
+    private final int capacity;
+    /**
+     * runs the retries
+     */
+    private final ExecutorService executor;
+    /**
+     * the retries of each listener, which run one after another
+     */
+    private final ConcurrentMap<EventListener, RetryLane> lanes =
+            new ConcurrentHashMap<EventListener, RetryLane>();
+    /**
+     * the dead letters, oldest first, guarded by itself
+     */
+    private final ArrayDeque<DeadLetter> deadLetters = new ArrayDeque<DeadLetter>();
+    /**
+     * number of retries scheduled or running
+     */
+    private final AtomicInteger pendingRetries = new AtomicInteger();
+    /**
+     * number of failed invocations
+     */
+    private final AtomicLong failures = new AtomicLong();
+    /**
+     * number of dead letters dropped because the buffer was full
+     */
+    private final AtomicLong dropped = new AtomicLong();
+    /**
+     * <code>false</code> as soon as the dispatcher has been stopped
+     */
+    private volatile boolean running = true;
+
+    /**
+     * Creates a new GuardedInvoker
+     *
+     * @param threadName base name of the retry threads
+     * @param configuration retries, backoff and dead letter capacity
+     */
+    GuardedInvoker(String threadName, DispatcherConfiguration configuration) {
+        this.retries = configuration.getListenerRetries();
+        this.backoff = configuration.getRetryBackoff();
+        this.maxBackoff = Math.max(backoff, configuration.getMaxRetryBackoff());
+        this.capacity = configuration.getDeadLetterCapacity();
+        this.executor = VirtualThreads.newExecutor(threadName + "-retry-");
+    }
+
+    @Override
+    public void invoke(EventListenerData data, Event event) {
+        EventListener listener = data.getListener();
+        try {
+            listener.handleEvent(event);
+        } catch (VirtualMachineError error) {
+            throw error;
+        } catch (Throwable ex) {
+            failed(listener, event, ex);
+        }
+    }
+
+    /**
+     * Wraps
+     * <code>callee</code>, which calls
+     * <code>listener</code> on a {@link com.github.jedi.ListenerLane}, so that
+     * its failures are handled like the ones of a direct invocation
+     *
+     * @param listener the listener
+     * @param callee calls the listener, e.g. recording metrics
+     * @return the guarded listener
+     */
+    EventListener guard(final EventListener listener, final EventListener callee) {
+        return new EventListener() {
+            @Override
+            public void handleEvent(Event event) {
+                try {
+                    callee.handleEvent(event);
+                } catch (VirtualMachineError error) {
+                    throw error;
+                } catch (Throwable ex) {
+                    failed(listener, event, ex);
+                }
+            }
+
+            @Override
+            public String toString() {
+                return listener.toString();
+            }
+        };
+    }
+
+    /**
+     * Handles the first failure of
+     * <code>listener</code> for
+     * <code>event</code>. The event is copied, since the dispatcher may reuse
+     * it as soon as the listener has returned. A journaled event is only
+     * marked as done once the copy has been handled or has become a dead
+     * letter.
+     *
+     * @param listener the listener which threw
+     * @param event the event it failed to handle
+     * @param cause what it threw
+     */
+    void failed(EventListener listener, Event event, Throwable cause) {
+        failed(listener, event.deferCopy(), cause, 1);
+    }
+
+    /**
+     * Handles the failure of a
+     * {@link com.github.jedi.BatchEventListener} as the failure of each of
+     * its events. Retries hand the events to the listener one by one.
+     *
+     * @param listener the listener which threw
+     * @param events the events it failed to handle
+     * @param cause what it threw
+     */
+    void failed(BatchEventListener listener, List<Event> events, Throwable cause) {
+        for (Event event : events) {
+            failed(listener, event, cause);
+        }
+    }
+
+    /**
+     * Retries a failed invocation or turns it into a dead letter
+     *
+     * @param listener the listener which threw
+     * @param event a copy of the event it failed to handle
+     * @param cause what it threw
+     * @param attempts the number of failed invocations so far
+     */
+    private void failed(EventListener listener, Event event, Throwable cause, int attempts) {
+        long count = failures.incrementAndGet();
+        if ((count & (count - 1)) == 0) {
+            log.warn("{} failed handling {}, {} failed invocations so far",
+                    new Object[]{listener, event.getName(), count, cause});
+        }
+        if (attempts > retries || !running) {
+            deadLetter(new DeadLetter(listener, event, cause, attempts));
+            return;
+        }
+        if (pendingRetries.incrementAndGet() > capacity) {
+            /* too many retries waiting, a listener failing on every event can't pile them up */
+            pendingRetries.decrementAndGet();
+            deadLetter(new DeadLetter(listener, event, cause, attempts));
+            return;
+        }
+        final Retry retry = new Retry(listener, event, cause, attempts);
+        final RetryLane lane = laneOf(listener);
+        /* the wheel thread must not block, so it only hands the retry over */
+        TimingWheel.shared().schedule(new Runnable() {
+            @Override
+            public void run() {
+                lane.submit(retry);
+            }
+        }, backoff(attempts), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Returns the lane running the retries of
+     * <code>listener</code>, creating it if necessary
+     *
+     * @param listener the failed listener
+     * @return the lane of the listener
+     */
+    private RetryLane laneOf(EventListener listener) {
+        RetryLane lane = lanes.get(listener);
+        if (lane == null) {
+            lane = new RetryLane();
+            RetryLane existing = lanes.putIfAbsent(listener, lane);
+            if (existing != null) {
+                lane = existing;
+            }
+        }
+        return lane;
+    }
+
+    /**
+     * Forgets the lane of a removed listener. Retries which are already
+     * scheduled still run on it.
+     *
+     * @param listener the removed listener
+     */
+    void listenerRemoved(EventListener listener) {
+        lanes.remove(listener);
+    }
+
+    /**
+     * Returns the time to wait before the retry following the given attempt
+     *
+     * @param attempts the number of failed invocations so far
+     * @return the backoff in ms
+     */
+    private long backoff(int attempts) {
+        long delay = backoff;
+        for (int i = 1; i < attempts && delay < maxBackoff; i++) {
+            delay = (delay > maxBackoff >> 1) ? maxBackoff : delay << 1;
+        }
+        return delay;
+    }
+
+    /**
+     * Keeps
+     * <code>deadLetter</code>, dropping the oldest one if the buffer is full,
+     * and fails the request it carries
+     *
+     * @param deadLetter the dead letter
+     */
+    private void deadLetter(DeadLetter deadLetter) {
+        deadLetter.getEvent().replyFailure(deadLetter.getCause());
+        /* a dead letter counts as handled, the journal won't replay it */
+        deadLetter.getEvent().settle();
+        log.debug("{}", deadLetter);
+        synchronized (deadLetters) {
+            if (deadLetters.size() >= capacity) {
+                if (capacity == 0) {
+                    dropped.incrementAndGet();
+                    return;
+                }
+                deadLetters.poll();
+                dropped.incrementAndGet();
+            }
+            deadLetters.offer(deadLetter);
+        }
+    }
+
+    /**
+     * Removes and returns all dead letters
+     *
+     * @return the dead letters, oldest first
+     */
+    List<DeadLetter> drainDeadLetters() {
+        synchronized (deadLetters) {
+            List<DeadLetter> drained = new ArrayList<DeadLetter>(deadLetters);
+            deadLetters.clear();
+            return drained;
+        }
+    }
+
+    /**
+     * Returns the number of dead letters kept
+     *
+     * @return the number of dead letters
+     */
+    int getDeadLetterCount() {
+        synchronized (deadLetters) {
+            return deadLetters.size();
+        }
+    }
+
+    /**
+     * Returns the number of dead letters dropped because the buffer was full
+     *
+     * @return the number of dropped dead letters
+     */
+    long getDroppedDeadLetters() {
+        return dropped.get();
+    }
+
+    /**
+     * Returns the number of failed invocations, retries included
+     *
+     * @return the number of failed invocations
+     */
+    long getFailures() {
+        return failures.get();
+    }
+
+    /**
+     * Stops retrying, failures become dead letters right away
+     */
+    void stop() {
+        running = false;
+        executor.shutdownNow();
+        for (RetryLane lane : lanes.values()) {
+            lane.abandon();
+        }
+        lanes.clear();
+    }
+
+    /**
+     * A scheduled retry of a failed invocation
+     */
+    private final class Retry {
+
+        /**
+         * the listener which threw
+         */
+        private final EventListener listener;
+        /**
+         * a copy of the event it failed to handle
+         */
+        private final Event event;
+        /**
+         * what it threw last
+         */
+        private final Throwable cause;
+        /**
+         * the number of failed invocations so far
+         */
+        private final int attempts;
+
+        /**
+         * Creates a new Retry
+         *
+         * @param listener the listener which threw
+         * @param event a copy of the event it failed to handle
+         * @param cause what it threw last
+         * @param attempts the number of failed invocations so far
+         */
+        private Retry(EventListener listener, Event event, Throwable cause, int attempts) {
+            this.listener = listener;
+            this.event = event;
+            this.cause = cause;
+            this.attempts = attempts;
+        }
+
+        /**
+         * Calls the listener again
+         */
+        private void run() {
+            pendingRetries.decrementAndGet();
+            try {
+                listener.handleEvent(event);
+            } catch (VirtualMachineError error) {
+                throw error;
+            } catch (Throwable ex) {
+                failed(listener, event, ex, attempts + 1);
+                return;
+            }
+            event.settle();
+        }
+
+        /**
+         * Turns this retry into a dead letter without running it
+         */
+        private void abandon() {
+            pendingRetries.decrementAndGet();
+            deadLetter(new DeadLetter(listener, event, cause, attempts));
+        }
+    }
+
+    /**
+     * Runs the due retries of one listener one after another on the retry
+     * executor, like an ordered {@link com.github.jedi.ListenerLane}
+     */
+    private final class RetryLane implements Runnable {
+
+        /**
+         * the due retries, in the order they fell due
+         */
+        private final Queue<Retry> pending = new ConcurrentLinkedQueue<Retry>();
+        /**
+         * <code>true</code> while a drain task is scheduled
+         */
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+
+        /**
+         * Runs
+         * <code>retry</code> after the retries which fell due before
+         *
+         * @param retry the due retry
+         */
+        private void submit(Retry retry) {
+            pending.offer(retry);
+            schedule();
+        }
+
+        /**
+         * Schedules the drain task unless it is already scheduled
+         */
+        private void schedule() {
+            if (scheduled.compareAndSet(false, true)) {
+                try {
+                    executor.execute(this);
+                } catch (RejectedExecutionException ex) {
+                    /* the dispatcher has been stopped meanwhile */
+                    scheduled.set(false);
+                    abandon();
+                }
+            }
+        }
+
+        /**
+         * The drain task
+         */
+        @Override
+        public void run() {
+            try {
+                Retry retry;
+                while ((retry = pending.poll()) != null) {
+                    retry.run();
+                }
+            } finally {
+                scheduled.set(false);
+                if (!pending.isEmpty()) {
+                    schedule();
+                }
+            }
+        }
+
+        /**
+         * Turns all retries which have not run yet into dead letters
+         */
+        private void abandon() {
+            Retry retry;
+            while ((retry = pending.poll()) != null) {
+                retry.abandon();
+            }
+        }
+    }
+}
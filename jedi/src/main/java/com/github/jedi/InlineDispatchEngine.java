@@ -0,0 +1,180 @@
+/*
+ *  Copyright (C) 2026  agent <agent at local>
+ * 
+ *  This file is part of jedi.
+ * 
+ *  jedi is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ * 
+ *  jedi is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU LEsser General Public License for more details.
+ * 
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with jedi.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.jedi;
+
+import java.util.ArrayDeque;
+import java.util.List;
+
+/**
+ * A {@link com.github.jedi.DispatchEngine} dispatching every
+ * {@link com.github.jedi.Event} on the thread triggering it, without a queue
+ * or a thread handoff.<br>
+ * An event triggered by a listener while the thread is already dispatching
+ * is not dispatched recursively, but appended to a queue of the thread and
+ * dispatched once the current event is done. The stack therefore never
+ * grows with chains of events, and the events of a thread are dispatched in
+ * the order they have been triggered.<br>
+ * Returning from a dispatch only means that the dispatching pass is done.
+ * Listeners the invoker hands the event to, like listeners on a
+ * {@link com.github.jedi.ListenerLane} and retries of failed listeners, may
+ * still be running.
+ *
+ * @author agent <agent at local>
+ */
+class InlineDispatchEngine implements DispatchEngine {
+
+    /**
+     * the dispatcher the events are dispatched for
+     */
+    private final EventDispatcher dispatcher;
+    /**
+     * the dispatching state of each thread
+     */
+    private final ThreadLocal<State> states = new ThreadLocal<State>() {
+
+        @Override
+        protected State initialValue() {
+            return new State();
+        }
+    };
+    /**
+     * whether this engine is running
+     */
+    private volatile boolean running;
+
+    /**
+     * Creates a new InlineDispatchEngine
+     *
+     * @param dispatcher the dispatcher the events are dispatched for
+     */
+    InlineDispatchEngine(EventDispatcher dispatcher) {
+        this.dispatcher = dispatcher;
+    }
+
+    @Override
+    public void start() {
+        running = true;
+    }
+
+    @Override
+    public boolean submit(Event event) {
+        if (!running) {
+            return false;
+        }
+        dispatch(event);
+        return true;
+    }
+
+    @Override
+    public int submitAll(List<Event> events) {
+        if (!running) {
+            return 0;
+        }
+        State state = states.get();
+        state.queue.addAll(events);
+        if (!state.dispatching) {
+            drain(state, state.queue.poll());
+        }
+        return events.size();
+    }
+
+    /**
+     * Returns 0, events queued by a re-entrant dispatch are only visible to
+     * their thread
+     *
+     * @return 0
+     */
+    @Override
+    public int size() {
+        return 0;
+    }
+
+    /**
+     * Dispatches
+     * <code>event</code> on the calling thread, or queues it if the thread
+     * is already dispatching. Exceptions thrown by the listeners are passed
+     * on to the caller once the queue of the thread has been drained.
+     *
+     * @param event the <code>Event</code> to be dispatched
+     */
+    void dispatch(Event event) {
+        State state = states.get();
+        if (state.dispatching) {
+            state.queue.add(event);
+            return;
+        }
+        drain(state, event);
+    }
+
+    /**
+     * Dispatches
+     * <code>event</code> and everything triggered meanwhile on this thread
+     *
+     * @param state the state of this thread
+     * @param event the first <code>Event</code>
+     */
+    private void drain(State state, Event event) {
+        RuntimeException failure = null;
+        state.dispatching = true;
+        try {
+            while (event != null) {
+                try {
+                    dispatcher.dispatchEvent(event, dispatcher.getInvoker());
+                } catch (RuntimeException ex) {
+                    /* the events queued by the listeners are dispatched anyway */
+                    if (failure == null) {
+                        failure = ex;
+                    }
+                } finally {
+                    event.release();
+                }
+                event = state.queue.poll();
+            }
+        } finally {
+            state.dispatching = false;
+            Event dropped;
+            while ((dropped = state.queue.poll()) != null) {
+                dropped.drop();
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+    }
+
+    /**
+     * The dispatching state of a thread
+     */
+    private static final class State {
+
+        /**
+         * the events triggered while dispatching
+         */
+        private final ArrayDeque<Event> queue = new ArrayDeque<Event>();
+        /**
+         * whether the thread is dispatching
+         */
+        private boolean dispatching;
+    }
+}
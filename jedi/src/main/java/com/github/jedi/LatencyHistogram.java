@@ -0,0 +1,188 @@
+/*
+ *  Copyright (C) 2026  agent <agent at local>
+ * 
+ *  This file is part of jedi.
+ * 
+ *  jedi is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ * 
+ *  jedi is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU LEsser General Public License for more details.
+ * 
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with jedi.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.jedi;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A histogram of durations in ns with a bounded relative error, in the
+ * style of an HDR histogram. Values below 64 are counted exactly, larger
+ * values in 32 buckets per power of two, which keeps the error of a
+ * percentile below about 3% over the whole range of <code>long</code>.<br>
+ * Recording a value doesn't allocate and is safe from any number of
+ * threads. Reading while values are recorded returns a consistent enough
+ * picture for monitoring, but not an atomic snapshot.
+ *
+ * @author agent <agent at local>
+ */
+public final class LatencyHistogram {
+
+    /**
+     * bits of a value kept below its highest bit
+     */
+    private static final int SUB_BITS = 5;
+    /**
+     * number of buckets per power of two
+     */
+    private static final int SUB_COUNT = 1 << SUB_BITS;
+    /**
+     * number of buckets
+     */
+    private static final int BUCKETS = (64 - SUB_BITS) * SUB_COUNT;
+    /**
+     * number of values per bucket
+     */
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    /**
+     * number of recorded values
+     */
+    private final LongAdder count = new LongAdder();
+    /**
+     * sum of the recorded values
+     */
+    private final LongAdder sum = new LongAdder();
+    /**
+     * the largest recorded value
+     */
+    private final AtomicLong max = new AtomicLong();
+
+    /**
+     * Records a duration
+     *
+     * @param nanos the duration in ns, negative values count as 0
+     */
+    public void record(long nanos) {
+        long value = Math.max(0, nanos);
+        counts.incrementAndGet(index(value));
+        count.increment();
+        sum.add(value);
+        long current = max.get();
+        while (value > current && !max.compareAndSet(current, value)) {
+            current = max.get();
+        }
+    }
+
+    /**
+     * Returns the number of recorded values
+     *
+     * @return the number of values
+     */
+    public long getCount() {
+        return count.sum();
+    }
+
+    /**
+     * Returns the largest recorded value
+     *
+     * @return the largest value in ns, 0 if nothing has been recorded
+     */
+    public long getMax() {
+        return max.get();
+    }
+
+    /**
+     * Returns the mean of the recorded values
+     *
+     * @return the mean in ns, 0 if nothing has been recorded
+     */
+    public double getMean() {
+        long values = count.sum();
+        return (values == 0) ? 0d : (double) sum.sum() / values;
+    }
+
+    /**
+     * Returns the value below or at which
+     * <code>percentile</code> percent of the recorded values are
+     *
+     * @param percentile the percentile, between 0 and 100
+     * @return the value in ns, 0 if nothing has been recorded
+     */
+    public long getValueAtPercentile(double percentile) {
+        if (percentile < 0 || percentile > 100) {
+            throw new IllegalArgumentException("Invalid percentile " + percentile + "!");
+        }
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            total += counts.get(i);
+        }
+        if (total == 0) {
+            return 0;
+        }
+        long target = Math.max(1, (long) Math.ceil(percentile / 100 * total));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts.get(i);
+            if (seen >= target) {
+                return Math.min(highest(i), max.get());
+            }
+        }
+        return max.get();
+    }
+
+    /**
+     * Forgets all recorded values
+     */
+    public void reset() {
+        for (int i = 0; i < BUCKETS; i++) {
+            counts.set(i, 0);
+        }
+        count.reset();
+        sum.reset();
+        max.set(0);
+    }
+
+    /**
+     * Returns the bucket of a value
+     *
+     * @param value the value, not negative
+     * @return index of its bucket
+     */
+    private static int index(long value) {
+        if (value < SUB_COUNT) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        return ((exponent - SUB_BITS + 1) << SUB_BITS)
+                + (int) ((value >>> (exponent - SUB_BITS)) & (SUB_COUNT - 1));
+    }
+
+    /**
+     * Returns the largest value counted in a bucket
+     *
+     * @param index index of the bucket
+     * @return its largest value
+     */
+    private static long highest(int index) {
+        if (index < SUB_COUNT) {
+            return index;
+        }
+        int shift = (index >> SUB_BITS) - 1;
+        long lowest = (long) (SUB_COUNT + (index & (SUB_COUNT - 1))) << shift;
+        return lowest + (1L << shift) - 1;
+    }
+
+    @Override
+    public String toString() {
+        return "count=" + getCount() + ", mean=" + (long) getMean() + "ns, p50="
+                + getValueAtPercentile(50) + "ns, p99=" + getValueAtPercentile(99)
+                + "ns, max=" + getMax() + "ns";
+    }
+}
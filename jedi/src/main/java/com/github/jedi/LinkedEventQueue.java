@@ -0,0 +1,70 @@
+/*
+ *  Copyright (C) 2026  agent <agent at local>
+ * 
+ *  This file is part of jedi.
+ * 
+ *  jedi is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ * 
+ *  jedi is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU LEsser General Public License for more details.
+ * 
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with jedi.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.jedi;
+
+import java.util.List;
+import java.util.concurrent.LinkedBlockingQueue;
+
+/**
+ * An unbounded {@link com.github.jedi.EventQueue} backed by a
+ * {@link LinkedBlockingQueue}. This is the default queue of every
+ * {@link com.github.jedi.EventDispatcher}; it never drops events but allocates
+ * a node for each of them.
+ *
+ * @see LinkedBlockingQueue
+ * @author agent <agent at local>
+ */
+public class LinkedEventQueue implements EventQueue {
+
+    /**
+     * the backing queue
+     */
+    private final LinkedBlockingQueue<Event> queue = new LinkedBlockingQueue<Event>();
+
+    @Override
+    public boolean offer(Event event) {
+        return queue.offer(event);
+    }
+
+    @Override
+    public int offerAll(List<Event> events) {
+        queue.addAll(events);
+        return events.size();
+    }
+
+    @Override
+    public Event poll() {
+        return queue.poll();
+    }
+
+    @Override
+    public Event take() throws InterruptedException {
+        return queue.take();
+    }
+
+    @Override
+    public int size() {
+        return queue.size();
+    }
+
+    @Override
+    public void clear() {
+        queue.clear();
+    }
+}
@@ -0,0 +1,50 @@
+/*
+ *  Copyright (C) 2026  agent <agent at local>
+ * 
+ *  This file is part of jedi.
+ * 
+ *  jedi is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ * 
+ *  jedi is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU LEsser General Public License for more details.
+ * 
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with jedi.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.jedi;
+
+/**
+ * Calls an {@link com.github.jedi.EventListener} for an
+ * {@link com.github.jedi.Event}. An
+ * {@link com.github.jedi.EventDispatcher} uses its invoker to decide whether
+ * listeners run on the dispatching thread or somewhere else.
+ *
+ * @author agent <agent at local>
+ */
+interface ListenerInvoker {
+
+    /**
+     * Calls the listener on the calling thread
+     */
+    ListenerInvoker DIRECT = new ListenerInvoker() {
+        @Override
+        public void invoke(EventListenerData data, Event event) {
+            data.getListener().handleEvent(event);
+        }
+    };
+
+    /**
+     * Calls the listener of
+     * <code>data</code> for the given
+     * <code>event</code>
+     *
+     * @param data the registration of the listener
+     * @param event the event to be handled
+     */
+    void invoke(EventListenerData data, Event event);
+}
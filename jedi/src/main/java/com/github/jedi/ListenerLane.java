@@ -0,0 +1,245 @@
+/*
+ *  Copyright (C) 2026  agent <agent at local>
+ * 
+ *  This file is part of jedi.
+ * 
+ *  jedi is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ * 
+ *  jedi is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU LEsser General Public License for more details.
+ * 
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with jedi.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.jedi;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Runs the invocations of a single {@link com.github.jedi.EventListener} on an
+ * {@link Executor}. An ordered lane calls the listener for one event after
+ * another in the order they were submitted, an unordered lane allows up to a
+ * limited number of concurrent calls. A limited lane takes its permit before
+ * handing the call to the executor, so that the submitting thread waits
+ * instead of the executor piling up blocked threads. An ordered lane may be bounded; when
+ * it is full, its {@link com.github.jedi.BackpressurePolicy} decides whether
+ * the submitting thread waits or an event is dropped.
+ *
+ * @author agent <agent at local>
+ */
+class ListenerLane implements Runnable {
+
+    /**
+     * the listener of this lane
+     */
+    private final EventListener listener;
+    /**
+     * runs the invocations
+     */
+    private final Executor executor;
+    /**
+     * limits concurrent calls of an unordered lane, <code>null</code> if
+     * ordered or unlimited
+     */
+    private final Semaphore permits;
+    /**
+     * events waiting for an ordered lane, <code>null</code> if unordered
+     */
+    private final Queue<Event> pending;
+    /**
+     * <code>true</code> while an ordered lane has a drain task scheduled
+     */
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+    /**
+     * free slots of a bounded lane, <code>null</code> if unbounded
+     */
+    private final Semaphore slots;
+    /**
+     * what happens when a bounded lane is full
+     */
+    private final BackpressurePolicy policy;
+    /**
+     * number of events dropped by a bounded lane
+     */
+    private final AtomicLong dropped = new AtomicLong();
+
+    /**
+     * Creates a new ListenerLane
+     *
+     * @param listener the listener of this lane
+     * @param executor runs the invocations
+     * @param ordered <code>true</code> if events must be handled in order
+     * @param concurrencyLimit maximum number of concurrent calls of an
+     * unordered lane, less than 1 for no limit
+     */
+    ListenerLane(EventListener listener, Executor executor, boolean ordered,
+            int concurrencyLimit) {
+        this.listener = listener;
+        this.executor = executor;
+        this.pending = ordered ? new ConcurrentLinkedQueue<Event>() : null;
+        this.permits = (!ordered && concurrencyLimit > 0) ? new Semaphore(concurrencyLimit) : null;
+        this.slots = null;
+        this.policy = BackpressurePolicy.BLOCK;
+    }
+
+    /**
+     * Creates a new, ordered ListenerLane holding at most
+     * <code>capacity</code> events which have not been handed to the listener
+     * yet
+     *
+     * @param listener the listener of this lane
+     * @param executor runs the invocations
+     * @param capacity the capacity, less than 1 for no limit
+     * @param policy what happens when the lane is full, anything but
+     * {@link com.github.jedi.BackpressurePolicy#FAIL}
+     */
+    ListenerLane(EventListener listener, Executor executor, int capacity,
+            BackpressurePolicy policy) {
+        this.listener = listener;
+        this.executor = executor;
+        this.pending = new ConcurrentLinkedQueue<Event>();
+        this.permits = null;
+        this.slots = (capacity > 0) ? new Semaphore(capacity) : null;
+        this.policy = policy;
+    }
+
+    /**
+     * Returns the number of events a bounded lane has dropped
+     *
+     * @return the number of dropped events
+     */
+    long getDropped() {
+        return dropped.get();
+    }
+
+    /**
+     * Hands the given
+     * <code>event</code> to the listener of this lane
+     *
+     * @param event the event to be handled
+     * @return <code>false</code> if a bounded lane has dropped the event
+     */
+    boolean submit(final Event event) {
+        if (pending == null) {
+            if (permits != null) {
+                /* waits here, so that no more tasks than permits are handed to the executor */
+                permits.acquireUninterruptibly();
+            }
+            try {
+                executor.execute(new Runnable() {
+                    @Override
+                    public void run() {
+                        handle(event);
+                    }
+                });
+            } catch (RejectedExecutionException ex) {
+                if (permits != null) {
+                    permits.release();
+                }
+                event.settle();
+                throw ex;
+            }
+            return true;
+        }
+        if (slots != null && !reserve()) {
+            dropped.incrementAndGet();
+            event.settle();
+            return false;
+        }
+        pending.offer(event);
+        schedule();
+        return true;
+    }
+
+    /**
+     * Takes a slot of a bounded lane for a submitted event, according to the
+     * policy of the lane
+     *
+     * @return <code>false</code> if the submitted event has to be dropped
+     */
+    private boolean reserve() {
+        switch (policy) {
+            case BLOCK:
+                slots.acquireUninterruptibly();
+                return true;
+            case DROP_OLDEST:
+                while (!slots.tryAcquire()) {
+                    Event oldest = pending.poll();
+                    if (oldest != null) {
+                        /* the slot of the oldest event is taken over */
+                        dropped.incrementAndGet();
+                        oldest.settle();
+                        return true;
+                    }
+                    /* the drain task has just taken it, its slot is freed soon */
+                    Thread.yield();
+                }
+                return true;
+            default:
+                return slots.tryAcquire();
+        }
+    }
+
+    /**
+     * Schedules the drain task of an ordered lane unless it is already
+     * scheduled
+     */
+    private void schedule() {
+        if (scheduled.compareAndSet(false, true)) {
+            executor.execute(this);
+        }
+    }
+
+    /**
+     * Calls the listener of an unordered lane, releasing the permit taken by
+     * {@link #submit(com.github.jedi.Event)}
+     *
+     * @param event the event to be handled
+     */
+    private void handle(Event event) {
+        try {
+            listener.handleEvent(event);
+        } finally {
+            if (permits != null) {
+                permits.release();
+            }
+            event.settle();
+        }
+    }
+
+    /**
+     * The drain task of an ordered lane
+     */
+    @Override
+    public void run() {
+        try {
+            Event event;
+            while ((event = pending.poll()) != null) {
+                if (slots != null) {
+                    slots.release();
+                }
+                try {
+                    listener.handleEvent(event);
+                } finally {
+                    event.settle();
+                }
+            }
+        } finally {
+            scheduled.set(false);
+            if (!pending.isEmpty()) {
+                schedule();
+            }
+        }
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ *  Copyright (C) 2026  agent <agent at local>
+ * 
+ *  This file is part of jedi.
+ * 
+ *  jedi is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ * 
+ *  jedi is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU LEsser General Public License for more details.
+ * 
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with jedi.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.jedi;
+
+/**
+ * The metrics of one {@link com.github.jedi.EventListener} on an
+ * {@link com.github.jedi.EventDispatcher}
+ *
+ * @see com.github.jedi.DispatcherMetrics#getListenerMetrics(com.github.jedi.EventListener)
+ * @author agent <agent at local>
+ */
+public final class ListenerMetrics {
+
+    /**
+     * identifies the listener
+     */
+    private final String name;
+    /**
+     * time spent in the listener per event
+     */
+    private final LatencyHistogram handlerTime = new LatencyHistogram();
+
+    /**
+     * Creates a new ListenerMetrics
+     *
+     * @param listener the listener
+     */
+    ListenerMetrics(EventListener listener) {
+        this.name = listener.getClass().getName() + "@"
+                + Integer.toHexString(System.identityHashCode(listener));
+    }
+
+    /**
+     * Returns the name identifying the listener: its class and identity hash
+     *
+     * @return the name
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Returns how often the listener has been called
+     *
+     * @return the number of calls
+     */
+    public long getInvocations() {
+        return handlerTime.getCount();
+    }
+
+    /**
+     * Returns the time spent in the listener per event, including the time
+     * of calls which threw
+     *
+     * @return the histogram of the handler time
+     */
+    public LatencyHistogram getHandlerTime() {
+        return handlerTime;
+    }
+
+    @Override
+    public String toString() {
+        return name + "[" + handlerTime + "]";
+    }
+}
@@ -0,0 +1,54 @@
+/*
+ *  Copyright (C) 2026  agent <agent at local>
+ * 
+ *  This file is part of jedi.
+ * 
+ *  jedi is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ * 
+ *  jedi is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU LEsser General Public License for more details.
+ * 
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with jedi.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.jedi;
+
+/**
+ * An {@link com.github.jedi.EventListener} for events carrying a single
+ * <code>long</code>, like metric ticks or price updates. Events triggered using
+ * {@link com.github.jedi.EventDispatcher#triggerLong(com.github.jedi.Topic, java.lang.Object, long)}
+ * reach it without their value ever being boxed. Other events are passed on
+ * if their data is a {@link Number} and ignored otherwise.
+ *
+ * @author agent <agent at local>
+ */
+public interface LongEventListener extends EventListener {
+
+    /**
+     * This method is called everytime a registered event with a numeric value
+     * is triggered
+     *
+     * @param name the name of the event
+     * @param value the value of the event
+     */
+    public void handleEvent(String name, long value);
+
+    /**
+     * Unpacks the value of the event and passes it on
+     *
+     * @param event event info
+     */
+    @Override
+    public default void handleEvent(Event event) {
+        if (event.hasLongValue()) {
+            handleEvent(event.getName(), event.getLongValue());
+        } else if (event.getData() instanceof Number) {
+            handleEvent(event.getName(), ((Number) event.getData()).longValue());
+        }
+    }
+}
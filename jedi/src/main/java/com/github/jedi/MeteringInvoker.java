@@ -0,0 +1,61 @@
+/*
+ *  Copyright (C) 2026  agent <agent at local>
+ * 
+ *  This file is part of jedi.
+ * 
+ *  jedi is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ * 
+ *  jedi is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU LEsser General Public License for more details.
+ * 
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with jedi.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.jedi;
+
+/**
+ * A {@link com.github.jedi.ListenerInvoker} recording the time of every
+ * listener call in the {@link com.github.jedi.DispatcherMetrics} of a
+ * dispatcher. It wraps an invoker calling the listeners on the calling
+ * thread, listeners running on a {@link com.github.jedi.ListenerLane} are
+ * recorded by their lane.
+ *
+ * @author agent <agent at local>
+ */
+final class MeteringInvoker implements ListenerInvoker {
+
+    /**
+     * calls the listeners
+     */
+    private final ListenerInvoker delegate;
+    /**
+     * records the calls
+     */
+    private final DispatcherMetrics metrics;
+
+    /**
+     * Creates a new MeteringInvoker
+     *
+     * @param delegate calls the listeners on the calling thread
+     * @param metrics records the calls
+     */
+    MeteringInvoker(ListenerInvoker delegate, DispatcherMetrics metrics) {
+        this.delegate = delegate;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public void invoke(EventListenerData data, Event event) {
+        long start = System.nanoTime();
+        try {
+            delegate.invoke(data, event);
+        } finally {
+            metrics.handled(data.getListener(), System.nanoTime() - start);
+        }
+    }
+}
@@ -0,0 +1,133 @@
+/*
+ *  Copyright (C) 2026  agent <agent at local>
+ * 
+ *  This file is part of jedi.
+ * 
+ *  jedi is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ * 
+ *  jedi is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU LEsser General Public License for more details.
+ * 
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with jedi.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.jedi;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A {@link com.github.jedi.DispatchEngine} running one or more
+ * {@link com.github.jedi.DispatchWorker}s. Every event is assigned to a worker
+ * by the hash of its key, so events with equal keys keep their order while
+ * events with different keys are dispatched in parallel.
+ *
+ * @see com.github.jedi.EventKeyExtractor
+ * @author agent <agent at local>
+ */
+class PartitionedDispatchEngine implements DispatchEngine {
+
+    /**
+     * the workers, one thread each
+     */
+    private final DispatchWorker[] workers;
+    /**
+     * extracts the partitioning key, <code>null</code> for the event name
+     */
+    private final EventKeyExtractor keyExtractor;
+
+    /**
+     * Creates a new PartitionedDispatchEngine
+     *
+     * @param dispatcher the dispatcher the events are dispatched on
+     * @param threadName base name of the worker threads
+     * @param configuration settings of the dispatcher
+     * @param virtual <code>true</code> to run the workers on virtual threads
+     */
+    PartitionedDispatchEngine(EventDispatcher dispatcher, String threadName,
+            DispatcherConfiguration configuration, boolean virtual) {
+        int count = Math.max(1, configuration.getWorkerThreads());
+        this.workers = new DispatchWorker[count];
+        for (int i = 0; i < count; i++) {
+            workers[i] = new DispatchWorker(dispatcher, configuration.createQueue(),
+                    count == 1 ? threadName : threadName + "-" + i, virtual,
+                    configuration.getMaxBatchSize());
+        }
+        this.keyExtractor = configuration.getKeyExtractor();
+    }
+
+    @Override
+    public void start() {
+        for (DispatchWorker worker : workers) {
+            worker.start();
+        }
+    }
+
+    @Override
+    public boolean submit(Event event) {
+        if (workers.length == 1) {
+            return workers[0].offer(event);
+        }
+        Object key = keyExtractor == null ? event.getName() : keyExtractor.getKey(event);
+        return workers[partition(key)].offer(event);
+    }
+
+    @Override
+    public int submitAll(List<Event> events) {
+        if (workers.length == 1) {
+            return workers[0].offerAll(events);
+        }
+        List<List<Event>> partitions = new ArrayList<List<Event>>(workers.length);
+        for (int i = 0; i < workers.length; i++) {
+            partitions.add(new ArrayList<Event>());
+        }
+        for (Event event : events) {
+            Object key = keyExtractor == null ? event.getName() : keyExtractor.getKey(event);
+            partitions.get(partition(key)).add(event);
+        }
+        int count = 0;
+        for (int i = 0; i < workers.length; i++) {
+            if (!partitions.get(i).isEmpty()) {
+                count += workers[i].offerAll(partitions.get(i));
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Maps the given
+     * <code>key</code> onto the index of a worker
+     *
+     * @param key the partitioning key
+     * @return index of the worker
+     */
+    private int partition(Object key) {
+        if (key == null) {
+            return 0;
+        }
+        int hash = key.hashCode();
+        hash ^= (hash >>> 16);
+        return (hash & Integer.MAX_VALUE) % workers.length;
+    }
+
+    @Override
+    public int size() {
+        int size = 0;
+        for (DispatchWorker worker : workers) {
+            size += worker.getQueue().size();
+        }
+        return size;
+    }
+
+    @Override
+    public void stop() {
+        for (DispatchWorker worker : workers) {
+            worker.stop();
+        }
+    }
+}
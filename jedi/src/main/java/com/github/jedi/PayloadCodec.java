@@ -0,0 +1,56 @@
+/*
+ *  Copyright (C) 2026  agent <agent at local>
+ * 
+ *  This file is part of jedi.
+ * 
+ *  jedi is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ * 
+ *  jedi is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU LEsser General Public License for more details.
+ * 
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with jedi.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.jedi;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Writes the context and the data of {@link com.github.jedi.Event}s to a
+ * <code>ByteBuffer</code> and reads them back, for the
+ * {@link com.github.jedi.EventCodec}. A codec has to read exactly the bytes
+ * it has written.
+ *
+ * @see com.github.jedi.DefaultPayloadCodec
+ * @author agent <agent at local>
+ */
+public interface PayloadCodec {
+
+    /**
+     * Writes a value at the position of
+     * <code>buffer</code>
+     *
+     * @param value the value, never <code>null</code>
+     * @param buffer the buffer to write to
+     * @throws java.nio.BufferOverflowException if the buffer is too small
+     * @throws IllegalArgumentException if the value can't be encoded
+     */
+    void encode(Object value, ByteBuffer buffer);
+
+    /**
+     * Reads a value written by
+     * {@link #encode(java.lang.Object, java.nio.ByteBuffer)} at the position
+     * of <code>buffer</code>
+     *
+     * @param buffer the buffer to read from
+     * @return the value
+     * @throws java.nio.BufferUnderflowException if the buffer ends early
+     * @throws IllegalArgumentException if the bytes can't be decoded
+     */
+    Object decode(ByteBuffer buffer);
+}
@@ -0,0 +1,156 @@
+/*
+ *  Copyright (C) 2026  agent <agent at local>
+ * 
+ *  This file is part of jedi.
+ * 
+ *  jedi is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ * 
+ *  jedi is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU LEsser General Public License for more details.
+ * 
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with jedi.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.jedi;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The table of all requests waiting for a reply, shared by all dispatchers.
+ * A request is identified by a correlation id which travels with its
+ * {@link com.github.jedi.Event}; completing, failing and expiring a request
+ * race for removing it from the table, so exactly one of them completes its
+ * future. Timeouts are kept in the shared
+ * {@link com.github.jedi.TimingWheel}.
+ *
+ * @author agent <agent at local>
+ */
+final class PendingRequests {
+
+    /**
+     * the last correlation id handed out, 0 means "no request"
+     */
+    private static final AtomicLong ids = new AtomicLong();
+    /**
+     * the requests waiting for a reply by their correlation id
+     */
+    private static final ConcurrentMap<Long, Pending> pending =
+            new ConcurrentHashMap<Long, Pending>(256);
+
+    /**
+     * Not instantiable
+     */
+    private PendingRequests() {
+    }
+
+    /**
+     * Registers a request
+     *
+     * @param future the future completed by the reply
+     * @param timeout time in ms after which the request fails, not positive
+     * for never
+     * @return the correlation id of the request
+     */
+    static long register(CompletableFuture<?> future, long timeout) {
+        final long id = ids.incrementAndGet();
+        Pending request = new Pending(future);
+        pending.put(id, request);
+        if (timeout > 0) {
+            request.timeout = TimingWheel.shared().schedule(new Runnable() {
+                @Override
+                public void run() {
+                    fail(id, new TimeoutException("No reply for request " + id));
+                }
+            }, timeout, TimeUnit.MILLISECONDS);
+        }
+        return id;
+    }
+
+    /**
+     * Completes a request with its reply
+     *
+     * @param id the correlation id of the request
+     * @param reply the reply
+     * @return <code>false</code> if the request has already been completed,
+     * failed or expired
+     */
+    @SuppressWarnings("unchecked")
+    static boolean complete(long id, Object reply) {
+        Pending request = pending.remove(id);
+        if (request == null) {
+            return false;
+        }
+        request.cancelTimeout();
+        return ((CompletableFuture<Object>) request.future).complete(reply);
+    }
+
+    /**
+     * Fails a request
+     *
+     * @param id the correlation id of the request
+     * @param cause why the request failed
+     * @return <code>false</code> if the request has already been completed,
+     * failed or expired
+     */
+    static boolean fail(long id, Throwable cause) {
+        Pending request = pending.remove(id);
+        if (request == null) {
+            return false;
+        }
+        request.cancelTimeout();
+        return request.future.completeExceptionally(cause);
+    }
+
+    /**
+     * Returns the number of requests waiting for a reply
+     *
+     * @return number of pending requests
+     */
+    static int size() {
+        return pending.size();
+    }
+
+    /**
+     * A request waiting for its reply
+     */
+    private static final class Pending {
+
+        /**
+         * the future completed by the reply
+         */
+        private final CompletableFuture<?> future;
+        /**
+         * the timeout of the request, <code>null</code> if it never expires
+         */
+        private volatile TimingWheel.Timeout timeout;
+
+        /**
+         * Creates a new Pending
+         *
+         * @param future the future completed by the reply
+         */
+        private Pending(CompletableFuture<?> future) {
+            this.future = future;
+        }
+
+        /**
+         * Cancels the timeout of the request, if any
+         */
+        private void cancelTimeout() {
+            TimingWheel.Timeout scheduled = timeout;
+            if (scheduled != null) {
+                scheduled.cancel();
+            }
+        }
+    }
+}
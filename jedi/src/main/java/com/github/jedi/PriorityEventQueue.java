@@ -0,0 +1,213 @@
+/*
+ *  Copyright (C) 2026  agent <agent at local>
+ * 
+ *  This file is part of jedi.
+ * 
+ *  jedi is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ * 
+ *  jedi is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU LEsser General Public License for more details.
+ * 
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with jedi.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.jedi;
+
+import java.util.List;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * An {@link com.github.jedi.EventQueue} made of one lane per priority, so
+ * that urgent {@link com.github.jedi.Event}s don't wait behind a burst of
+ * ordinary ones. An event is put into the lane of the priority of its
+ * {@link com.github.jedi.Topic}, see
+ * {@link com.github.jedi.EventDispatcher#setPriority(java.lang.String, int)};
+ * events without a topic go into lane 0, priorities beyond the last lane
+ * into the last lane.<br>
+ * The lanes are drained weighted-fair: in every round each lane may hand out
+ * as many events as its weight, higher lanes first. As long as a higher lane
+ * has events and weight left it is served before all lower lanes, but a
+ * lower lane is never starved, it gets its share of every round.
+ *
+ * @see com.github.jedi.DispatcherConfiguration#setPriorityWeights(int[])
+ * @author agent <agent at local>
+ */
+public class PriorityEventQueue implements EventQueue {
+
+    /**
+     * maximum time in ns the consumer sleeps before checking again
+     */
+    private static final long MAX_PARK_NANOS = 1000000L;
+    /**
+     * the lanes, index is the priority
+     */
+    private final EventQueue[] lanes;
+    /**
+     * the number of events each lane may hand out per round
+     */
+    private final int[] weights;
+    /**
+     * the number of events each lane may still hand out in this round, only
+     * accessed by the consumer
+     */
+    private final int[] credits;
+    /**
+     * the consumer waiting for an event, <code>null</code> if none is
+     * waiting
+     */
+    private volatile Thread waiter;
+
+    /**
+     * Creates a new PriorityEventQueue
+     *
+     * @param lanes the lanes, index is the priority
+     * @param weights the number of events each lane may hand out per round
+     */
+    public PriorityEventQueue(List<EventQueue> lanes, int[] weights) {
+        if (lanes == null || weights == null || lanes.isEmpty()
+                || lanes.size() != weights.length) {
+            throw new IllegalArgumentException("A weight is needed for every lane!");
+        }
+        for (int weight : weights) {
+            if (weight < 1) {
+                throw new IllegalArgumentException("Weights must be positive!");
+            }
+        }
+        this.lanes = lanes.toArray(new EventQueue[0]);
+        this.weights = weights.clone();
+        this.credits = weights.clone();
+    }
+
+    @Override
+    public boolean offer(Event event) {
+        if (event == null) {
+            throw new IllegalArgumentException("No event given!");
+        }
+        if (!lanes[laneOf(event)].offer(event)) {
+            return false;
+        }
+        signal();
+        return true;
+    }
+
+    /**
+     * Hands the batch to its lane in one step if all
+     * <code>events</code> belong to the same lane, otherwise they are offered
+     * one by one.
+     *
+     * @param events <code>Event</code>s to be enqueued
+     * @return the number of events which have been enqueued
+     */
+    @Override
+    public int offerAll(List<Event> events) {
+        if (events.isEmpty()) {
+            return 0;
+        }
+        for (Event event : events) {
+            if (event == null) {
+                throw new IllegalArgumentException("No event given!");
+            }
+        }
+        int lane = laneOf(events.get(0));
+        for (Event event : events) {
+            if (laneOf(event) != lane) {
+                lane = -1;
+                break;
+            }
+        }
+        int enqueued = 0;
+        if (lane >= 0) {
+            enqueued = lanes[lane].offerAll(events);
+        } else {
+            for (Event event : events) {
+                if (lanes[laneOf(event)].offer(event)) {
+                    enqueued++;
+                }
+            }
+        }
+        signal();
+        return enqueued;
+    }
+
+    @Override
+    public Event poll() {
+        for (int round = 0; round < 2; round++) {
+            for (int i = lanes.length - 1; i >= 0; i--) {
+                if (credits[i] > 0) {
+                    Event event = lanes[i].poll();
+                    if (event != null) {
+                        credits[i]--;
+                        return event;
+                    }
+                }
+            }
+            /* every lane with events has used up its share, next round */
+            System.arraycopy(weights, 0, credits, 0, weights.length);
+        }
+        return null;
+    }
+
+    @Override
+    public Event take() throws InterruptedException {
+        while (true) {
+            Event event = poll();
+            if (event != null) {
+                return event;
+            }
+            waiter = Thread.currentThread();
+            try {
+                if (size() == 0) {
+                    LockSupport.parkNanos(this, MAX_PARK_NANOS);
+                }
+            } finally {
+                waiter = null;
+            }
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+        }
+    }
+
+    @Override
+    public int size() {
+        int size = 0;
+        for (EventQueue lane : lanes) {
+            size += lane.size();
+        }
+        return size;
+    }
+
+    @Override
+    public void clear() {
+        for (EventQueue lane : lanes) {
+            lane.clear();
+        }
+    }
+
+    /**
+     * Returns the lane
+     * <code>event</code> belongs to
+     *
+     * @param event the event
+     * @return index of the lane
+     */
+    private int laneOf(Event event) {
+        Topic topic = event.getTopic();
+        return (topic == null) ? 0 : Math.min(topic.getPriority(), lanes.length - 1);
+    }
+
+    /**
+     * Wakes up the waiting consumer, if any
+     */
+    private void signal() {
+        Thread consumer = waiter;
+        if (consumer != null) {
+            LockSupport.unpark(consumer);
+        }
+    }
+}
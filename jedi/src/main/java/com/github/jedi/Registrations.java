@@ -0,0 +1,103 @@
+/*
+ *  Copyright (C) 2026  agent <agent at local>
+ * 
+ *  This file is part of jedi.
+ * 
+ *  jedi is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ * 
+ *  jedi is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU LEsser General Public License for more details.
+ * 
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with jedi.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.jedi;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Counts the registrations of each {@link com.github.jedi.EventListener}, so
+ * that what is kept for a listener is released only after its last
+ * registration has been removed. The same listener may be registered for
+ * several names, patterns and types at once, and removing one of them must
+ * not affect the others.<br>
+ * Listeners are told apart by <code>equals</code>, like the
+ * {@link com.github.jedi.EventListenerCollection} does when removing them.
+ *
+ * @author agent <agent at local>
+ */
+final class Registrations {
+
+    /**
+     * the number of registrations of each registered listener
+     */
+    private final ConcurrentMap<EventListener, AtomicInteger> counts =
+            new ConcurrentHashMap<EventListener, AtomicInteger>();
+
+    /**
+     * Counts a new registration of
+     * <code>listener</code>, to be called before it is added to a collection
+     *
+     * @param listener the listener
+     */
+    void added(EventListener listener) {
+        while (true) {
+            AtomicInteger count = counts.get(listener);
+            if (count == null) {
+                if (counts.putIfAbsent(listener, new AtomicInteger(1)) == null) {
+                    return;
+                }
+                continue;
+            }
+            int current = count.get();
+            if (current > 0) {
+                if (count.compareAndSet(current, current + 1)) {
+                    return;
+                }
+            } else {
+                /* the last registration is being released, wait until it is done */
+                Thread.yield();
+            }
+        }
+    }
+
+    /**
+     * Counts the removal of a registration of
+     * <code>listener</code> and informs
+     * <code>last</code> if it was the last one. A registration added
+     * meanwhile waits until <code>last</code> has returned.
+     *
+     * @param listener the listener
+     * @param last informed when the last registration has been removed
+     */
+    void removed(EventListener listener, RemovalListener last) {
+        AtomicInteger count = counts.get(listener);
+        if (count == null || count.decrementAndGet() > 0) {
+            return;
+        }
+        try {
+            last.listenerRemoved(listener);
+        } finally {
+            counts.remove(listener, count);
+        }
+    }
+
+    /**
+     * Returns whether
+     * <code>listener</code> has a registration left
+     *
+     * @param listener the listener
+     * @return <code>true</code> if it is registered
+     */
+    boolean contains(EventListener listener) {
+        AtomicInteger count = counts.get(listener);
+        return count != null && count.get() > 0;
+    }
+}
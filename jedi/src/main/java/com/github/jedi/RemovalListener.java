@@ -0,0 +1,40 @@
+/*
+ *  Copyright (C) 2026  agent <agent at local>
+ * 
+ *  This file is part of jedi.
+ * 
+ *  jedi is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ * 
+ *  jedi is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU LEsser General Public License for more details.
+ * 
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with jedi.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.jedi;
+
+/**
+ * Informed when an {@link com.github.jedi.EventListenerCollection} removes a
+ * listener on its own, i.e. a one-shot listener after its call or a listener
+ * whose registration has expired. An
+ * {@link com.github.jedi.EventDispatcher} counts the removal just as when the
+ * listener is removed explicitly. {@link com.github.jedi.Registrations} uses
+ * it as well, to tell when the last registration of a listener is gone.
+ *
+ * @author agent <agent at local>
+ */
+interface RemovalListener {
+
+    /**
+     * Called after
+     * <code>listener</code> has been removed
+     *
+     * @param listener the removed listener
+     */
+    void listenerRemoved(EventListener listener);
+}
@@ -0,0 +1,63 @@
+/*
+ *  Copyright (C) 2026  agent <agent at local>
+ * 
+ *  This file is part of jedi.
+ * 
+ *  jedi is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ * 
+ *  jedi is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU LEsser General Public License for more details.
+ * 
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with jedi.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.jedi;
+
+/**
+ * An {@link com.github.jedi.EventListener} answering requests made using
+ * {@link com.github.jedi.EventDispatcher#request(java.lang.String, java.lang.Object, java.lang.Object, long, java.util.concurrent.TimeUnit)}.
+ * The value returned by {@link #respond(com.github.jedi.Event)} completes
+ * the future of the request, an exception fails it. If several responders
+ * receive the same request, the first reply wins. Events which are not
+ * requests are ignored.
+ *
+ * @param <R> the type of the replies
+ * @author agent <agent at local>
+ */
+public interface Responder<R> extends EventListener {
+
+    /**
+     * Answers a request
+     *
+     * @param event the request
+     * @return the reply
+     * @throws Exception to fail the request
+     */
+    R respond(Event event) throws Exception;
+
+    /**
+     * Replies to the request with the result of
+     * {@link #respond(com.github.jedi.Event)}
+     *
+     * @param event the fired event
+     */
+    @Override
+    default void handleEvent(Event event) {
+        if (!event.isRequest()) {
+            return;
+        }
+        R reply;
+        try {
+            reply = respond(event);
+        } catch (Exception ex) {
+            event.replyFailure(ex);
+            return;
+        }
+        event.reply(reply);
+    }
+}
@@ -0,0 +1,335 @@
+/*
+ *  Copyright (C) 2026  agent <agent at local>
+ * 
+ *  This file is part of jedi.
+ * 
+ *  jedi is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ * 
+ *  jedi is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU LEsser General Public License for more details.
+ * 
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with jedi.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.jedi;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * A bounded, lock-free {@link com.github.jedi.EventQueue} for many producers
+ * and many consumers. All slots are allocated up front, so enqueueing an
+ * {@link com.github.jedi.Event} does not allocate anything.<br>
+ * Every slot carries a sequence number telling producers and consumers
+ * whether it is free or holds a published event. Producers claim a slot by
+ * advancing the <code>tail</code> with a CAS, consumers release it by
+ * advancing the <code>head</code> with a CAS, which also lets producers
+ * evict the oldest event using
+ * {@link com.github.jedi.BackpressurePolicy#DROP_OLDEST}.<br>
+ * With {@link com.github.jedi.WaitStrategy#PARK} producers unpark the
+ * consumer which parked last; other parked consumers check again after at
+ * most 1 ms.
+ *
+ * @see com.github.jedi.WaitStrategy
+ * @see com.github.jedi.BackpressurePolicy
+ * @author agent <agent at local>
+ */
+public class RingBufferEventQueue implements EventQueue {
+
+    /**
+     * maximum time in ns a parked thread sleeps before checking again
+     */
+    private static final long MAX_PARK_NANOS = 1000000L;
+    /**
+     * the slots holding the events
+     */
+    private final AtomicReferenceArray<Event> slots;
+    /**
+     * sequence number of each slot
+     */
+    private final AtomicLongArray sequences;
+    /**
+     * <code>capacity - 1</code>, used to map a position onto its slot
+     */
+    private final int mask;
+    /**
+     * the position the next event will be published at
+     */
+    private final AtomicLong tail = new AtomicLong();
+    /**
+     * the position of the next event to be consumed
+     */
+    private final AtomicLong head = new AtomicLong();
+    /**
+     * how threads wait for events or free slots
+     */
+    private final WaitStrategy waitStrategy;
+    /**
+     * what happens if the buffer is full
+     */
+    private final BackpressurePolicy backpressurePolicy;
+    /**
+     * the consumer which parked last in {@link #take()}, while it is parked
+     */
+    private volatile Thread waiter;
+
+    /**
+     * Creates a new RingBufferEventQueue
+     *
+     * @param capacity minimum number of slots, will be rounded up to the next
+     * power of two
+     * @param waitStrategy how threads wait for events or free slots
+     * @param backpressurePolicy what happens if the buffer is full
+     */
+    public RingBufferEventQueue(int capacity, WaitStrategy waitStrategy,
+            BackpressurePolicy backpressurePolicy) {
+        if (capacity < 1 || capacity > (1 << 30)) {
+            throw new IllegalArgumentException("Invalid capacity " + capacity + "!");
+        }
+        if (waitStrategy == null || backpressurePolicy == null) {
+            throw new IllegalArgumentException("No wait strategy or backpressure policy given!");
+        }
+        int size = Integer.highestOneBit(capacity);
+        if (size < capacity) {
+            size <<= 1;
+        }
+        this.slots = new AtomicReferenceArray<Event>(size);
+        this.sequences = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            sequences.set(i, i);
+        }
+        this.mask = size - 1;
+        this.waitStrategy = waitStrategy;
+        this.backpressurePolicy = backpressurePolicy;
+    }
+
+    /**
+     * Returns the number of slots of this buffer
+     *
+     * @return number of slots
+     */
+    public int capacity() {
+        return mask + 1;
+    }
+
+    @Override
+    public boolean offer(Event event) {
+        if (event == null) {
+            throw new IllegalArgumentException("No event given!");
+        }
+        int idle = 0;
+        while (!tryPublish(event)) {
+            switch (backpressurePolicy) {
+                case DROP_NEWEST:
+                    return false;
+                case DROP_OLDEST:
+                    Event evicted = poll();
+                    if (evicted != null) {
+                        evicted.drop();
+                    }
+                    break;
+                case FAIL:
+                    throw new IllegalStateException("Queue full");
+                default:
+                    if (Thread.currentThread().isInterrupted()) {
+                        return false;
+                    }
+                    idle(idle++, false);
+            }
+        }
+        signal();
+        return true;
+    }
+
+    /**
+     * Publishes all
+     * <code>events</code> with a single CAS on the tail if enough slots are
+     * free, otherwise they are offered one by one.
+     *
+     * @param events <code>Event</code>s to be enqueued
+     * @return the number of events which have been enqueued
+     */
+    @Override
+    public int offerAll(List<Event> events) {
+        int count = events.size();
+        if (count == 0) {
+            return 0;
+        }
+        for (Event event : events) {
+            if (event == null) {
+                throw new IllegalArgumentException("No event given!");
+            }
+        }
+        if (count <= capacity() && tryPublishAll(events)) {
+            signal();
+            return count;
+        }
+        int enqueued = 0;
+        for (Event event : events) {
+            if (offer(event)) {
+                enqueued++;
+            }
+        }
+        return enqueued;
+    }
+
+    /**
+     * Tries to claim
+     * <code>events.size()</code> consecutive slots at the tail and publish
+     * <code>events</code> into them.
+     *
+     * @param events the events to be published
+     * @return <code>false</code> if not enough slots are free
+     */
+    private boolean tryPublishAll(List<Event> events) {
+        int count = events.size();
+        while (true) {
+            long position = tail.get();
+            for (int i = 0; i < count; i++) {
+                long difference = sequences.get((int) (position + i) & mask) - (position + i);
+                if (difference < 0) {
+                    return false;
+                } else if (difference > 0) {
+                    /* another producer claimed the tail meanwhile */
+                    position = -1;
+                    break;
+                }
+            }
+            if (position >= 0 && tail.compareAndSet(position, position + count)) {
+                for (int i = 0; i < count; i++) {
+                    int index = (int) (position + i) & mask;
+                    slots.lazySet(index, events.get(i));
+                    sequences.set(index, position + i + 1);
+                }
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Wakes up the parked consumer, if any
+     */
+    private void signal() {
+        if (waitStrategy == WaitStrategy.PARK) {
+            Thread consumer = waiter;
+            if (consumer != null) {
+                LockSupport.unpark(consumer);
+            }
+        }
+    }
+
+    /**
+     * Tries to claim the slot at the tail and publish
+     * <code>event</code> into it.
+     *
+     * @param event the event to be published
+     * @return <code>false</code> if the buffer is full
+     */
+    private boolean tryPublish(Event event) {
+        while (true) {
+            long position = tail.get();
+            int index = (int) position & mask;
+            long difference = sequences.get(index) - position;
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    slots.lazySet(index, event);
+                    sequences.set(index, position + 1);
+                    return true;
+                }
+            } else if (difference < 0) {
+                return false;
+            }
+        }
+    }
+
+    @Override
+    public Event poll() {
+        while (true) {
+            long position = head.get();
+            int index = (int) position & mask;
+            long difference = sequences.get(index) - (position + 1);
+            if (difference == 0) {
+                if (head.compareAndSet(position, position + 1)) {
+                    Event event = slots.get(index);
+                    slots.lazySet(index, null);
+                    sequences.lazySet(index, position + mask + 1);
+                    return event;
+                }
+            } else if (difference < 0) {
+                return null;
+            }
+        }
+    }
+
+    @Override
+    public Event take() throws InterruptedException {
+        int idle = 0;
+        Event event;
+        while ((event = poll()) == null) {
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+            idle(idle++, true);
+        }
+        return event;
+    }
+
+    /**
+     * Waits according to the {@link com.github.jedi.WaitStrategy}
+     *
+     * @param round how often the caller has waited already
+     * @param consumer <code>true</code> if the consumer is waiting for an
+     * event and may be signalled by a producer
+     */
+    private void idle(int round, boolean consumer) {
+        switch (waitStrategy) {
+            case BUSY_SPIN:
+                break;
+            case YIELD:
+                Thread.yield();
+                break;
+            default:
+                if (round < 64) {
+                    Thread.yield();
+                } else if (consumer) {
+                    waiter = Thread.currentThread();
+                    if (isEmpty()) {
+                        LockSupport.parkNanos(this, MAX_PARK_NANOS);
+                    }
+                    waiter = null;
+                } else {
+                    LockSupport.parkNanos(this, MAX_PARK_NANOS >> 4);
+                }
+        }
+    }
+
+    /**
+     * Returns whether the next slot to be consumed holds no published event
+     *
+     * @return <code>true</code> if no event is available
+     */
+    private boolean isEmpty() {
+        long position = head.get();
+        return sequences.get((int) position & mask) != position + 1;
+    }
+
+    @Override
+    public int size() {
+        long size = tail.get() - head.get();
+        return (int) Math.max(0, Math.min(size, capacity()));
+    }
+
+    @Override
+    public void clear() {
+        while (poll() != null) {
+        }
+    }
+}
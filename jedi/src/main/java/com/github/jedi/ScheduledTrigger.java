@@ -0,0 +1,204 @@
+/*
+ *  Copyright (C) 2026  agent <agent at local>
+ * 
+ *  This file is part of jedi.
+ * 
+ *  jedi is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ * 
+ *  jedi is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU LEsser General Public License for more details.
+ * 
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with jedi.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.jedi;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Handle of an {@link com.googlecode.jedi.Event} which has been scheduled
+ * to be triggered later, see
+ * {@link com.github.jedi.EventDispatcher#triggerAfter(java.lang.String, java.lang.Object, java.lang.Object, long, java.util.concurrent.TimeUnit)}.
+ * The event is created when it is due and then enqueued like any other
+ * event. Periodic triggers keep a fixed rate and end when they are
+ * cancelled or their dispatcher is stopped.
+ *
+ * @author agent <agent at local>
+ */
+public final class ScheduledTrigger {
+
+    /**
+     * the dispatcher the event is triggered on
+     */
+    private final EventDispatcher dispatcher;
+    /**
+     * topic of the event, <code>null</code> if only the name is known
+     */
+    private final Topic topic;
+    /**
+     * name of the event
+     */
+    private final String name;
+    /**
+     * context of the event
+     */
+    private final Object context;
+    /**
+     * data of the event
+     */
+    private final Object data;
+    /**
+     * period in ns, 0 if the event is triggered only once
+     */
+    private final long period;
+    /**
+     * the <code>System.nanoTime()</code> the event is due next
+     */
+    private volatile long due;
+    /**
+     * the timeout of the next trigger
+     */
+    private volatile TimingWheel.Timeout timeout;
+    /**
+     * whether this trigger has been cancelled
+     */
+    private volatile boolean cancelled;
+    /**
+     * whether this trigger won't fire again
+     */
+    private volatile boolean done;
+    /**
+     * triggers the event on the timer thread
+     */
+    private final Runnable task = new Runnable() {
+
+        @Override
+        public void run() {
+            fire();
+        }
+    };
+
+    /**
+     * Creates a new ScheduledTrigger
+     *
+     * @param dispatcher the dispatcher the event is triggered on
+     * @param topic topic of the event, may be <code>null</code>
+     * @param name name of the event
+     * @param context context of the event
+     * @param data data of the event
+     * @param period period in ns, 0 if the event is triggered only once
+     */
+    ScheduledTrigger(EventDispatcher dispatcher, Topic topic, String name,
+            Object context, Object data, long period) {
+        this.dispatcher = dispatcher;
+        this.topic = topic;
+        this.name = name;
+        this.context = context;
+        this.data = data;
+        this.period = period;
+    }
+
+    /**
+     * Schedules the first trigger
+     *
+     * @param delay delay of the first trigger in ns
+     */
+    void start(long delay) {
+        due = System.nanoTime() + Math.max(0, delay);
+        timeout = TimingWheel.shared().schedule(task, delay, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Triggers the event, runs on the timer thread
+     */
+    private void fire() {
+        if (cancelled) {
+            return;
+        }
+        if (!dispatcher.triggerScheduled(topic, name, context, data) || period == 0) {
+            done = true;
+            return;
+        }
+        due += period;
+        timeout = TimingWheel.shared().schedule(task, due - System.nanoTime(),
+                TimeUnit.NANOSECONDS);
+        if (cancelled) {
+            timeout.cancel();
+        }
+    }
+
+    /**
+     * Cancels all triggers which have not happened yet
+     *
+     * @return <code>true</code> if a pending trigger has been cancelled by
+     * this call
+     */
+    public boolean cancel() {
+        if (cancelled) {
+            return false;
+        }
+        cancelled = true;
+        done = true;
+        return timeout.cancel();
+    }
+
+    /**
+     * Returns whether this trigger has been cancelled
+     *
+     * @return <code>true</code> if cancelled
+     */
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * Returns whether the event won't be triggered again, because it has
+     * been triggered once, this trigger has been cancelled or the dispatcher
+     * has been stopped
+     *
+     * @return <code>true</code> if done
+     */
+    public boolean isDone() {
+        return done || (period == 0 && timeout.isExpired());
+    }
+
+    /**
+     * Returns the name of the scheduled event
+     *
+     * @return name of the event
+     */
+    public String getName() {
+        return topic != null ? topic.getName() : name;
+    }
+
+    /**
+     * Returns the period of the trigger
+     *
+     * @param unit the unit of the result
+     * @return the period, 0 if the event is triggered only once
+     */
+    public long getPeriod(TimeUnit unit) {
+        return unit.convert(period, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Returns the time left until the next trigger
+     *
+     * @param unit the unit of the result
+     * @return the delay, negative if the trigger is overdue
+     */
+    public long getDelay(TimeUnit unit) {
+        return unit.convert(due - System.nanoTime(), TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public String toString() {
+        return "ScheduledTrigger{" + "name=" + getName() + ", period=" + period
+                + "ns, cancelled=" + cancelled + '}';
+    }
+}
@@ -0,0 +1,394 @@
+/*
+ *  Copyright (C) 2026  agent <agent at local>
+ * 
+ *  This file is part of jedi.
+ * 
+ *  jedi is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ * 
+ *  jedi is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU LEsser General Public License for more details.
+ * 
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with jedi.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.jedi;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A hashed timing wheel running short tasks after a delay. The wheel is an
+ * array of buckets, each a doubly linked list of {@link Timeout}s, and a
+ * single thread advancing one bucket per tick. Scheduling and cancelling are
+ * <b>O(1)</b>: new and cancelled timeouts are handed to the wheel thread
+ * through lock-free queues, which links them into or out of their bucket on
+ * the next tick. Timeouts further away than one revolution wait in their
+ * bucket for the required number of rounds.<br>
+ * Tasks run on the wheel thread and must not block. One wheel is shared by
+ * all {@link com.github.jedi.EventDispatcher}s, its daemon thread is started
+ * on first use.
+ *
+ * @author agent <agent at local>
+ */
+class TimingWheel implements Runnable {
+
+    /**
+     * static {@link org.slf4j.Logger} instance
+     */
+    private static final Logger log = LoggerFactory.getLogger(TimingWheel.class.getName());
+    /**
+     * maximum number of new timeouts linked in per tick, bounds the work of a
+     * single tick
+     */
+    private static final int MAX_TRANSFERS_PER_TICK = 100000;
+    /**
+     * the buckets, their number is a power of two
+     */
+    private final Bucket[] wheel;
+    /**
+     * <code>wheel.length - 1</code>
+     */
+    private final int mask;
+    /**
+     * duration of a tick in ns
+     */
+    private final long tickNanos;
+    /**
+     * the point in time all deadlines are relative to
+     */
+    private final long startTime;
+    /**
+     * timeouts waiting to be linked into their bucket
+     */
+    private final Queue<Timeout> pending = new ConcurrentLinkedQueue<Timeout>();
+    /**
+     * timeouts waiting to be unlinked from their bucket
+     */
+    private final Queue<Timeout> cancelled = new ConcurrentLinkedQueue<Timeout>();
+    /**
+     * the wheel thread
+     */
+    private final Thread thread;
+    /**
+     * 0 until the thread has been started
+     */
+    private final AtomicInteger started = new AtomicInteger();
+    /**
+     * the current tick, only accessed by the wheel thread
+     */
+    private long tick;
+
+    /**
+     * Creates a new TimingWheel
+     *
+     * @param name name of the wheel thread
+     * @param tickDuration duration of a tick
+     * @param unit unit of <code>tickDuration</code>
+     * @param buckets minimum number of buckets, rounded up to a power of two
+     */
+    TimingWheel(String name, long tickDuration, TimeUnit unit, int buckets) {
+        int size = Integer.highestOneBit(Math.max(1, buckets));
+        if (size < buckets) {
+            size <<= 1;
+        }
+        this.wheel = new Bucket[size];
+        for (int i = 0; i < size; i++) {
+            wheel[i] = new Bucket();
+        }
+        this.mask = size - 1;
+        this.tickNanos = Math.max(1, unit.toNanos(tickDuration));
+        this.startTime = System.nanoTime();
+        this.thread = new Thread(this, name);
+        this.thread.setDaemon(true);
+    }
+
+    /**
+     * Returns the wheel shared by all dispatchers
+     *
+     * @return the shared wheel
+     */
+    static TimingWheel shared() {
+        return Shared.INSTANCE;
+    }
+
+    /**
+     * Schedules
+     * <code>task</code> to run on the wheel thread after
+     * <code>delay</code>. The task runs at most one tick late.
+     *
+     * @param task the task to run, must not block
+     * @param delay the delay
+     * @param unit unit of <code>delay</code>
+     * @return the handle of the scheduled task
+     */
+    Timeout schedule(Runnable task, long delay, TimeUnit unit) {
+        if (task == null) {
+            throw new IllegalArgumentException("No task given!");
+        }
+        if (started.get() == 0 && started.compareAndSet(0, 1)) {
+            thread.start();
+        }
+        Timeout timeout = new Timeout(this, task,
+                System.nanoTime() - startTime + Math.max(0, unit.toNanos(delay)));
+        pending.add(timeout);
+        return timeout;
+    }
+
+    /**
+     * Returns the number of timeouts which are waiting to be linked into
+     * their bucket
+     *
+     * @return number of pending timeouts
+     */
+    int pendingTimeouts() {
+        return pending.size();
+    }
+
+    /**
+     * The loop of the wheel thread
+     */
+    @Override
+    public void run() {
+        while (true) {
+            long deadline = tickNanos * (tick + 1);
+            long sleep = deadline - (System.nanoTime() - startTime);
+            if (sleep > 0) {
+                LockSupport.parkNanos(this, sleep);
+                continue;
+            }
+            transferPending();
+            removeCancelled();
+            wheel[(int) (tick & mask)].expire(deadline);
+            tick++;
+        }
+    }
+
+    /**
+     * Links new timeouts into their bucket
+     */
+    private void transferPending() {
+        for (int i = 0; i < MAX_TRANSFERS_PER_TICK; i++) {
+            Timeout timeout = pending.poll();
+            if (timeout == null) {
+                return;
+            }
+            if (timeout.state.get() != Timeout.WAITING) {
+                continue;
+            }
+            long ticks = timeout.deadline / tickNanos;
+            timeout.remainingRounds = (ticks - tick) / wheel.length;
+            /* a deadline in the past ends up in the current bucket */
+            wheel[(int) (Math.max(ticks, tick) & mask)].add(timeout);
+        }
+    }
+
+    /**
+     * Unlinks cancelled timeouts from their bucket
+     */
+    private void removeCancelled() {
+        Timeout timeout;
+        while ((timeout = cancelled.poll()) != null) {
+            if (timeout.bucket != null) {
+                timeout.bucket.remove(timeout);
+            }
+        }
+    }
+
+    /**
+     * A task scheduled on a {@link TimingWheel}
+     */
+    static final class Timeout {
+
+        /**
+         * the task waits for its deadline
+         */
+        private static final int WAITING = 0;
+        /**
+         * the task has been cancelled
+         */
+        private static final int CANCELLED = 1;
+        /**
+         * the task has run
+         */
+        private static final int EXPIRED = 2;
+        /**
+         * the wheel of this timeout
+         */
+        private final TimingWheel owner;
+        /**
+         * the task to run
+         */
+        private final Runnable task;
+        /**
+         * the deadline in ns, relative to the start of the wheel
+         */
+        private final long deadline;
+        /**
+         * the state of this timeout
+         */
+        private final AtomicInteger state = new AtomicInteger(WAITING);
+        /**
+         * revolutions left before the deadline, only accessed by the wheel
+         * thread
+         */
+        private long remainingRounds;
+        /**
+         * the bucket this timeout is linked into, only accessed by the wheel
+         * thread
+         */
+        private Bucket bucket;
+        /**
+         * neighbours in the bucket, only accessed by the wheel thread
+         */
+        private Timeout previous, next;
+
+        /**
+         * Creates a new Timeout
+         *
+         * @param owner the wheel of this timeout
+         * @param task the task to run
+         * @param deadline the deadline in ns, relative to the wheel start
+         */
+        private Timeout(TimingWheel owner, Runnable task, long deadline) {
+            this.owner = owner;
+            this.task = task;
+            this.deadline = deadline;
+        }
+
+        /**
+         * Cancels the task unless it has already run
+         *
+         * @return <code>true</code> if the task has been cancelled by this
+         * call
+         */
+        boolean cancel() {
+            if (!state.compareAndSet(WAITING, CANCELLED)) {
+                return false;
+            }
+            owner.cancelled.add(this);
+            return true;
+        }
+
+        /**
+         * Returns whether the task has been cancelled
+         *
+         * @return <code>true</code> if cancelled
+         */
+        boolean isCancelled() {
+            return state.get() == CANCELLED;
+        }
+
+        /**
+         * Returns whether the task has run
+         *
+         * @return <code>true</code> if expired
+         */
+        boolean isExpired() {
+            return state.get() == EXPIRED;
+        }
+
+        /**
+         * Runs the task if it has not been cancelled
+         */
+        private void expire() {
+            if (!state.compareAndSet(WAITING, EXPIRED)) {
+                return;
+            }
+            try {
+                task.run();
+            } catch (RuntimeException ex) {
+                log.warn("Timed task failed", ex);
+            }
+        }
+    }
+
+    /**
+     * A bucket of the wheel, a doubly linked list of timeouts
+     */
+    private static final class Bucket {
+
+        /**
+         * the first and last timeout of the list
+         */
+        private Timeout head, tail;
+
+        /**
+         * Appends a timeout
+         *
+         * @param timeout the timeout to append
+         */
+        void add(Timeout timeout) {
+            timeout.bucket = this;
+            if (head == null) {
+                head = tail = timeout;
+            } else {
+                tail.next = timeout;
+                timeout.previous = tail;
+                tail = timeout;
+            }
+        }
+
+        /**
+         * Unlinks a timeout
+         *
+         * @param timeout the timeout to unlink
+         */
+        void remove(Timeout timeout) {
+            if (timeout.previous != null) {
+                timeout.previous.next = timeout.next;
+            } else {
+                head = timeout.next;
+            }
+            if (timeout.next != null) {
+                timeout.next.previous = timeout.previous;
+            } else {
+                tail = timeout.previous;
+            }
+            timeout.previous = timeout.next = null;
+            timeout.bucket = null;
+        }
+
+        /**
+         * Runs all timeouts of this bucket which are due in the current round
+         *
+         * @param deadline the end of the current tick
+         */
+        void expire(long deadline) {
+            Timeout timeout = head;
+            while (timeout != null) {
+                Timeout next = timeout.next;
+                if (timeout.remainingRounds <= 0 || timeout.deadline <= deadline) {
+                    remove(timeout);
+                    timeout.expire();
+                } else if (timeout.isCancelled()) {
+                    remove(timeout);
+                } else {
+                    timeout.remainingRounds--;
+                }
+                timeout = next;
+            }
+        }
+    }
+
+    /**
+     * Lazy holder of the shared wheel
+     */
+    private static final class Shared {
+
+        /**
+         * the shared wheel, ticking every 5 ms with 512 buckets
+         */
+        private static final TimingWheel INSTANCE = new TimingWheel("EventDispatcher_timer",
+                5, TimeUnit.MILLISECONDS, 512);
+    }
+}
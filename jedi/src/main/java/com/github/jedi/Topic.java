@@ -0,0 +1,137 @@
+/*
+ *  Copyright (C) 2026  agent <agent at local>
+ * 
+ *  This file is part of jedi.
+ * 
+ *  jedi is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ * 
+ *  jedi is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU LEsser General Public License for more details.
+ * 
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with jedi.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.jedi;
+
+/**
+ * A handle for an event name on one {@link com.github.jedi.EventDispatcher}.
+ * Every topic carries a dense integer id, so that triggering and dispatching
+ * through a topic resolves the listeners by an array index instead of hashing
+ * the name. Topics are obtained once using
+ * {@link com.github.jedi.EventDispatcher#getTopic(java.lang.String)} and are
+ * only valid for the dispatcher they were obtained from.
+ *
+ * @author agent <agent at local>
+ */
+public final class Topic {
+
+    /**
+     * the event name of this topic
+     */
+    private final String name;
+    /**
+     * the dense id of this topic within its dispatcher
+     */
+    private final int id;
+    /**
+     * the dispatcher this topic belongs to
+     */
+    private final EventDispatcher dispatcher;
+    /**
+     * the cached wildcard patterns matching this topic, <code>null</code>
+     * until first resolved
+     */
+    private volatile TopicTrie.Match wildcards;
+    /**
+     * the priority of the events of this topic
+     */
+    private volatile int priority;
+
+    /**
+     * Creates a new Topic
+     *
+     * @param name the event name of this topic
+     * @param id the dense id of this topic within its dispatcher
+     * @param dispatcher the dispatcher this topic belongs to
+     */
+    Topic(String name, int id, EventDispatcher dispatcher) {
+        this.name = name;
+        this.id = id;
+        this.dispatcher = dispatcher;
+    }
+
+    /**
+     * Returns the event name of this topic
+     *
+     * @return the event name
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Returns the id of this topic. Ids are assigned from 0 upwards in the
+     * order the topics of a dispatcher are created.
+     *
+     * @return the id of this topic
+     */
+    public int getId() {
+        return id;
+    }
+
+    /**
+     * Returns the priority of the events of this topic, which selects their
+     * lane if the dispatcher has been configured with priority lanes
+     *
+     * @return the priority, 0 by default
+     */
+    public int getPriority() {
+        return priority;
+    }
+
+    /**
+     * Sets the priority of the events of this topic
+     *
+     * @param priority the priority
+     */
+    void setPriority(int priority) {
+        this.priority = priority;
+    }
+
+    /**
+     * Returns the dispatcher this topic belongs to
+     *
+     * @return the dispatcher of this topic
+     */
+    EventDispatcher getDispatcher() {
+        return dispatcher;
+    }
+
+    /**
+     * Returns the cached wildcard patterns matching this topic
+     *
+     * @return the cached match, <code>null</code> if not resolved yet
+     */
+    TopicTrie.Match getWildcards() {
+        return wildcards;
+    }
+
+    /**
+     * Caches the wildcard patterns matching this topic
+     *
+     * @param wildcards the match to cache
+     */
+    void setWildcards(TopicTrie.Match wildcards) {
+        this.wildcards = wildcards;
+    }
+
+    @Override
+    public String toString() {
+        return "Topic " + name + "[" + id + "]";
+    }
+}
@@ -0,0 +1,303 @@
+/*
+ *  Copyright (C) 2026  agent <agent at local>
+ * 
+ *  This file is part of jedi.
+ * 
+ *  jedi is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ * 
+ *  jedi is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU LEsser General Public License for more details.
+ * 
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with jedi.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.jedi;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Holds the {@link com.github.jedi.EventListenerCollection}s registered for
+ * hierarchical wildcard patterns like <code>order.*</code> or
+ * <code>order.#</code>. Names and patterns consist of segments separated by
+ * dots. In a pattern, <code>*</code> matches exactly one segment and
+ * <code>#</code> matches any number of segments, including none.<br>
+ * Matching walks a trie of the pattern segments. Its result for a concrete
+ * name is meant to be cached: every change of the set of patterns increases
+ * the {@link #getGeneration() generation}, which invalidates all cached
+ * {@link Match}es. Names without a {@link com.github.jedi.Topic} of their own
+ * are cached by {@link #lookup(String)}, which holds a bounded number of
+ * them.
+ *
+ * @author agent <agent at local>
+ */
+class TopicTrie {
+
+    /**
+     * wildcard matching exactly one segment
+     */
+    static final String ONE = "*";
+    /**
+     * wildcard matching any number of segments
+     */
+    static final String ANY = "#";
+    /**
+     * maximum number of names whose match is cached by
+     * {@link #lookup(String)}
+     */
+    static final int CACHE_CAPACITY = 1024;
+    /**
+     * the root of the trie, guarded by <code>this</code>
+     */
+    private final Node root = new Node();
+    /**
+     * increased whenever a pattern is added
+     */
+    private volatile int generation;
+    /**
+     * number of patterns
+     */
+    private volatile int size;
+    /**
+     * the matches of names without a topic, by name
+     */
+    private final ConcurrentMap<String, Match> cache = new ConcurrentHashMap<String, Match>();
+    /**
+     * informed about the listeners the collections remove on their own
+     */
+    private final RemovalListener removals;
+
+    /**
+     * Creates a new, empty TopicTrie
+     *
+     * @param removals informed about the listeners the collections remove on
+     * their own
+     */
+    TopicTrie(RemovalListener removals) {
+        this.removals = removals;
+    }
+
+    /**
+     * Returns whether the given
+     * <code>name</code> is a pattern, meaning that one of its segments is a
+     * wildcard
+     *
+     * @param name the name to check
+     * @return <code>true</code> for a pattern
+     */
+    static boolean isPattern(String name) {
+        for (String segment : name.split("\\.", -1)) {
+            if (ONE.equals(segment) || ANY.equals(segment)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the collection for
+     * <code>pattern</code>, creating it if necessary
+     *
+     * @param pattern the wildcard pattern
+     * @return the listeners of the pattern
+     */
+    synchronized EventListenerCollection getOrCreate(String pattern) {
+        Node node = root;
+        for (String segment : pattern.split("\\.", -1)) {
+            Node child = node.children.get(segment);
+            if (child == null) {
+                child = new Node();
+                node.children.put(segment, child);
+            }
+            node = child;
+        }
+        if (node.listeners == null) {
+            node.listeners = new EventListenerCollection(pattern, removals);
+            size++;
+            generation++;
+            cache.clear();
+        }
+        return node.listeners;
+    }
+
+    /**
+     * Returns the collection for
+     * <code>pattern</code>
+     *
+     * @param pattern the wildcard pattern
+     * @return the listeners of the pattern, <code>null</code> if there are
+     * none
+     */
+    synchronized EventListenerCollection get(String pattern) {
+        Node node = root;
+        for (String segment : pattern.split("\\.", -1)) {
+            node = node.children.get(segment);
+            if (node == null) {
+                return null;
+            }
+        }
+        return node.listeners;
+    }
+
+    /**
+     * Returns whether no pattern has been registered
+     *
+     * @return <code>true</code> if there are no patterns
+     */
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns the current generation of the trie
+     *
+     * @return the generation
+     */
+    int getGeneration() {
+        return generation;
+    }
+
+    /**
+     * Returns the collections of all patterns matching the concrete
+     * <code>name</code>, each of them once
+     *
+     * @param name the event name
+     * @return the current match for <code>name</code>
+     */
+    Match match(String name) {
+        int current = generation;
+        List<EventListenerCollection> result = new ArrayList<EventListenerCollection>();
+        synchronized (this) {
+            match(root, name.split("\\.", -1), 0, result);
+        }
+        return new Match(current, result.toArray(new EventListenerCollection[result.size()]));
+    }
+
+    /**
+     * Returns the collections of all patterns matching the concrete
+     * <code>name</code> like {@link #match(String)}, caching the result for
+     * names which have no {@link com.github.jedi.Topic} to cache it. The cache
+     * is cleared when it is full, so that arbitrary names can't let it grow
+     * without bound.
+     *
+     * @param name the event name
+     * @return the current match for <code>name</code>
+     */
+    Match lookup(String name) {
+        Match match = cache.get(name);
+        if (match != null && match.generation == generation) {
+            return match;
+        }
+        match = match(name);
+        if (cache.size() >= CACHE_CAPACITY) {
+            cache.clear();
+        }
+        cache.put(name, match);
+        return match;
+    }
+
+    /**
+     * Collects the collections of all patterns below
+     * <code>node</code> matching the segments from
+     * <code>index</code> on
+     *
+     * @param node the current node
+     * @param segments the segments of the name
+     * @param index the first segment still to be matched
+     * @param result the collections found so far
+     */
+    private static void match(Node node, String[] segments, int index,
+            List<EventListenerCollection> result) {
+        Node any = node.children.get(ANY);
+        if (any != null) {
+            for (int i = index; i <= segments.length; i++) {
+                match(any, segments, i, result);
+            }
+        }
+        if (index == segments.length) {
+            if (node.listeners != null && !containsIdentical(result, node.listeners)) {
+                result.add(node.listeners);
+            }
+            return;
+        }
+        Node child = node.children.get(segments[index]);
+        if (child != null) {
+            match(child, segments, index + 1, result);
+        }
+        Node one = node.children.get(ONE);
+        if (one != null) {
+            match(one, segments, index + 1, result);
+        }
+    }
+
+    /**
+     * Checks whether
+     * <code>list</code> already holds the very same
+     * <code>collection</code>
+     *
+     * @param list the list to search
+     * @param collection the collection to look for
+     * @return <code>true</code> if found
+     */
+    private static boolean containsIdentical(List<EventListenerCollection> list,
+            EventListenerCollection collection) {
+        for (EventListenerCollection element : list) {
+            if (element == collection) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * A node of the trie
+     */
+    private static class Node {
+
+        /**
+         * the child nodes by segment
+         */
+        private final Map<String, Node> children = new HashMap<String, Node>(4);
+        /**
+         * the listeners of the pattern ending here, <code>null</code> if no
+         * pattern ends here
+         */
+        private EventListenerCollection listeners;
+    }
+
+    /**
+     * The collections matching a concrete name at a certain generation of the
+     * trie
+     */
+    static final class Match {
+
+        /**
+         * the generation this match was computed at
+         */
+        final int generation;
+        /**
+         * the matching collections
+         */
+        final EventListenerCollection[] listeners;
+
+        /**
+         * Creates a new Match
+         *
+         * @param generation the generation this match was computed at
+         * @param listeners the matching collections
+         */
+        Match(int generation, EventListenerCollection[] listeners) {
+            this.generation = generation;
+            this.listeners = listeners;
+        }
+    }
+}
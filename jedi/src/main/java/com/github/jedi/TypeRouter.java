@@ -0,0 +1,194 @@
+/*
+ *  Copyright (C) 2026  agent <agent at local>
+ * 
+ *  This file is part of jedi.
+ * 
+ *  jedi is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ * 
+ *  jedi is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU LEsser General Public License for more details.
+ * 
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with jedi.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.jedi;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Holds the {@link com.github.jedi.TypedListener}s of an
+ * {@link com.github.jedi.EventDispatcher} by the type they are registered
+ * for. Which collections apply to a concrete data class, its superclasses and
+ * all of its interfaces, is resolved once per class and cached in a
+ * {@link ClassValue}, which doesn't keep the class from being unloaded.
+ * Registering a new type increases the generation, which invalidates the
+ * cache.
+ *
+ * @author agent <agent at local>
+ */
+class TypeRouter {
+
+    /**
+     * the listeners by registered type
+     */
+    private final ConcurrentMap<Class<?>, EventListenerCollection> byType =
+            new ConcurrentHashMap<Class<?>, EventListenerCollection>();
+    /**
+     * the resolved collections by concrete data class
+     */
+    private final ClassValue<AtomicReference<Resolution>> resolved =
+            new ClassValue<AtomicReference<Resolution>>() {
+                @Override
+                protected AtomicReference<Resolution> computeValue(Class<?> type) {
+                    return new AtomicReference<Resolution>();
+                }
+            };
+    /**
+     * increased whenever a type is registered
+     */
+    private volatile int generation;
+    /**
+     * informed about the listeners the collections remove on their own
+     */
+    private final RemovalListener removals;
+
+    /**
+     * Creates a new, empty TypeRouter
+     *
+     * @param removals informed about the listeners the collections remove on
+     * their own
+     */
+    TypeRouter(RemovalListener removals) {
+        this.removals = removals;
+    }
+
+    /**
+     * Returns the collection for
+     * <code>type</code>, creating it if necessary
+     *
+     * @param type the registered type
+     * @return the listeners of the type
+     */
+    EventListenerCollection getOrCreate(Class<?> type) {
+        EventListenerCollection collection = byType.get(type);
+        if (collection != null) {
+            return collection;
+        }
+        synchronized (this) {
+            collection = byType.get(type);
+            if (collection == null) {
+                collection = new EventListenerCollection(type.getName(), removals);
+                byType.put(type, collection);
+                generation++;
+            }
+            return collection;
+        }
+    }
+
+    /**
+     * Returns the collection for
+     * <code>type</code>
+     *
+     * @param type the registered type
+     * @return the listeners of the type, <code>null</code> if there are none
+     */
+    EventListenerCollection get(Class<?> type) {
+        return byType.get(type);
+    }
+
+    /**
+     * Returns whether no type has been registered
+     *
+     * @return <code>true</code> if there are no typed listeners
+     */
+    boolean isEmpty() {
+        return byType.isEmpty();
+    }
+
+    /**
+     * Returns the collections of all registered types the given class is
+     * assignable to, most specific class first
+     *
+     * @param type the concrete class of the data
+     * @return the applying collections
+     */
+    EventListenerCollection[] resolve(Class<?> type) {
+        int current = generation;
+        AtomicReference<Resolution> cached = resolved.get(type);
+        Resolution resolution = cached.get();
+        if (resolution == null || resolution.generation != current) {
+            resolution = new Resolution(current, walk(type));
+            cached.set(resolution);
+        }
+        return resolution.listeners;
+    }
+
+    /**
+     * Walks the class hierarchy of
+     * <code>type</code> collecting the collections of all registered types
+     *
+     * @param type the concrete class of the data
+     * @return the applying collections
+     */
+    private EventListenerCollection[] walk(Class<?> type) {
+        List<EventListenerCollection> result = new ArrayList<EventListenerCollection>();
+        Set<Class<?>> seen = new HashSet<Class<?>>();
+        Deque<Class<?>> pending = new ArrayDeque<Class<?>>();
+        for (Class<?> c = type; c != null; c = c.getSuperclass()) {
+            pending.add(c);
+        }
+        while (!pending.isEmpty()) {
+            Class<?> c = pending.poll();
+            if (!seen.add(c)) {
+                continue;
+            }
+            EventListenerCollection collection = byType.get(c);
+            if (collection != null) {
+                result.add(collection);
+            }
+            for (Class<?> i : c.getInterfaces()) {
+                pending.add(i);
+            }
+        }
+        return result.toArray(new EventListenerCollection[result.size()]);
+    }
+
+    /**
+     * The collections applying to a concrete class at a certain generation
+     */
+    private static final class Resolution {
+
+        /**
+         * the generation this resolution was computed at
+         */
+        private final int generation;
+        /**
+         * the applying collections
+         */
+        private final EventListenerCollection[] listeners;
+
+        /**
+         * Creates a new Resolution
+         *
+         * @param generation the generation this resolution was computed at
+         * @param listeners the applying collections
+         */
+        private Resolution(int generation, EventListenerCollection[] listeners) {
+            this.generation = generation;
+            this.listeners = listeners;
+        }
+    }
+}
@@ -0,0 +1,40 @@
+/*
+ *  Copyright (C) 2026  agent <agent at local>
+ * 
+ *  This file is part of jedi.
+ * 
+ *  jedi is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ * 
+ *  jedi is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU LEsser General Public License for more details.
+ * 
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with jedi.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.jedi;
+
+/**
+ * A listener for {@link com.github.jedi.Event}s by the type of their data.
+ * It is called for every event whose data is an instance of the type it was
+ * registered for, including subclasses and implementations.
+ *
+ * @see com.github.jedi.EventDispatcher#addListener(java.lang.Class, com.github.jedi.TypedListener)
+ * @param <T> the type of data this listener handles
+ * @author agent <agent at local>
+ */
+public interface TypedListener<T> {
+
+    /**
+     * This method is called everytime an event with data of the registered
+     * type is triggered
+     *
+     * @param event event info
+     * @param data the data of the event
+     */
+    public void handleEvent(Event event, T data);
+}
@@ -0,0 +1,76 @@
+/*
+ *  Copyright (C) 2026  agent <agent at local>
+ * 
+ *  This file is part of jedi.
+ * 
+ *  jedi is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ * 
+ *  jedi is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU LEsser General Public License for more details.
+ * 
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with jedi.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.jedi;
+
+/**
+ * Wraps a {@link com.github.jedi.TypedListener} into an
+ * {@link com.github.jedi.EventListener}, so that it can be kept in an
+ * {@link com.github.jedi.EventListenerCollection}. Two adapters are equal if
+ * they wrap the same listener, and an adapter shows up as its listener, e.g.
+ * in the {@link com.github.jedi.DispatcherMetrics} or among the slow
+ * listeners.
+ *
+ * @param <T> the type of data the listener handles
+ * @author agent <agent at local>
+ */
+class TypedListenerAdapter<T> implements EventListener {
+
+    /**
+     * the type the listener is registered for
+     */
+    private final Class<T> type;
+    /**
+     * the wrapped listener
+     */
+    private final TypedListener<? super T> listener;
+
+    /**
+     * Creates a new TypedListenerAdapter
+     *
+     * @param type the type the listener is registered for
+     * @param listener the wrapped listener
+     */
+    TypedListenerAdapter(Class<T> type, TypedListener<? super T> listener) {
+        this.type = type;
+        this.listener = listener;
+    }
+
+    @Override
+    public void handleEvent(Event event) {
+        listener.handleEvent(event, type.cast(event.getData()));
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == null || getClass() != obj.getClass()) {
+            return false;
+        }
+        return listener.equals(((TypedListenerAdapter<?>) obj).listener);
+    }
+
+    @Override
+    public int hashCode() {
+        return listener.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return listener.toString();
+    }
+}
@@ -0,0 +1,208 @@
+/*
+ *  Copyright (C) 2026  agent <agent at local>
+ * 
+ *  This file is part of jedi.
+ * 
+ *  jedi is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ * 
+ *  jedi is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU LEsser General Public License for more details.
+ * 
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with jedi.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.jedi;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+
+/**
+ * Variable-length encoding of integers and strings on a
+ * <code>ByteBuffer</code>. Integers are written 7 bits per byte, least
+ * significant group first, the high bit of a byte telling whether another
+ * one follows. Signed values are zig-zag encoded first, so that small
+ * negative values stay small. Strings are written as their UTF-8 length
+ * followed by their UTF-8 bytes, without an intermediate byte array.
+ *
+ * @author agent <agent at local>
+ */
+final class Varints {
+
+    /**
+     * Not instantiable
+     */
+    private Varints() {
+    }
+
+    /**
+     * Writes an unsigned variable-length
+     * <code>long</code>
+     *
+     * @param buffer the buffer to write to
+     * @param value the value, treated as unsigned
+     */
+    static void putVarLong(ByteBuffer buffer, long value) {
+        while ((value & ~0x7FL) != 0) {
+            buffer.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+
+    /**
+     * Reads an unsigned variable-length
+     * <code>long</code>
+     *
+     * @param buffer the buffer to read from
+     * @return the value
+     */
+    static long getVarLong(ByteBuffer buffer) {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = buffer.get();
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Malformed variable-length long!");
+    }
+
+    /**
+     * Writes a signed variable-length
+     * <code>long</code>
+     *
+     * @param buffer the buffer to write to
+     * @param value the value
+     */
+    static void putZigZag(ByteBuffer buffer, long value) {
+        putVarLong(buffer, (value << 1) ^ (value >> 63));
+    }
+
+    /**
+     * Reads a signed variable-length
+     * <code>long</code>
+     *
+     * @param buffer the buffer to read from
+     * @return the value
+     */
+    static long getZigZag(ByteBuffer buffer) {
+        long value = getVarLong(buffer);
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    /**
+     * Reads an unsigned variable-length
+     * <code>int</code> which must not be negative
+     *
+     * @param buffer the buffer to read from
+     * @return the value
+     */
+    static int getLength(ByteBuffer buffer) {
+        long value = getVarLong(buffer);
+        if (value < 0 || value > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Malformed length "
+                    + Long.toUnsignedString(value) + "!");
+        }
+        if (value > buffer.remaining()) {
+            throw new BufferUnderflowException();
+        }
+        return (int) value;
+    }
+
+    /**
+     * Writes a string as its UTF-8 length followed by its UTF-8 bytes
+     *
+     * @param buffer the buffer to write to
+     * @param value the string
+     */
+    static void putString(ByteBuffer buffer, String value) {
+        int length = value.length();
+        putVarLong(buffer, utf8Length(value));
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                buffer.put((byte) c);
+            } else if (c < 0x800) {
+                buffer.put((byte) (0xC0 | (c >> 6)));
+                buffer.put((byte) (0x80 | (c & 0x3F)));
+            } else if (Character.isHighSurrogate(c) && i + 1 < length
+                    && Character.isLowSurrogate(value.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, value.charAt(++i));
+                buffer.put((byte) (0xF0 | (codePoint >> 18)));
+                buffer.put((byte) (0x80 | ((codePoint >> 12) & 0x3F)));
+                buffer.put((byte) (0x80 | ((codePoint >> 6) & 0x3F)));
+                buffer.put((byte) (0x80 | (codePoint & 0x3F)));
+            } else {
+                /* a lone surrogate is written like any other char */
+                buffer.put((byte) (0xE0 | (c >> 12)));
+                buffer.put((byte) (0x80 | ((c >> 6) & 0x3F)));
+                buffer.put((byte) (0x80 | (c & 0x3F)));
+            }
+        }
+    }
+
+    /**
+     * Reads a string written by
+     * {@link #putString(java.nio.ByteBuffer, java.lang.String)}
+     *
+     * @param buffer the buffer to read from
+     * @return the string
+     */
+    static String getString(ByteBuffer buffer) {
+        int length = getLength(buffer);
+        /* a malformed 4 byte sequence at the end may yield one char more */
+        char[] chars = new char[length + 1];
+        int count = 0;
+        int end = buffer.position() + length;
+        while (buffer.position() < end) {
+            int b = buffer.get() & 0xFF;
+            if (b < 0x80) {
+                chars[count++] = (char) b;
+            } else if (b < 0xE0) {
+                chars[count++] = (char) (((b & 0x1F) << 6) | (buffer.get() & 0x3F));
+            } else if (b < 0xF0) {
+                chars[count++] = (char) (((b & 0x0F) << 12) | ((buffer.get() & 0x3F) << 6)
+                        | (buffer.get() & 0x3F));
+            } else {
+                int codePoint = ((b & 0x07) << 18) | ((buffer.get() & 0x3F) << 12)
+                        | ((buffer.get() & 0x3F) << 6) | (buffer.get() & 0x3F);
+                chars[count++] = Character.highSurrogate(codePoint);
+                chars[count++] = Character.lowSurrogate(codePoint);
+            }
+        }
+        return new String(chars, 0, count);
+    }
+
+    /**
+     * Returns the number of UTF-8 bytes of a string, as written by
+     * {@link #putString(java.nio.ByteBuffer, java.lang.String)}
+     *
+     * @param value the string
+     * @return its UTF-8 length
+     */
+    static int utf8Length(String value) {
+        int length = value.length();
+        int bytes = length;
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c >= 0x800) {
+                if (Character.isHighSurrogate(c) && i + 1 < length
+                        && Character.isLowSurrogate(value.charAt(i + 1))) {
+                    bytes += 2;
+                    i++;
+                } else {
+                    bytes += 2;
+                }
+            } else if (c >= 0x80) {
+                bytes++;
+            }
+        }
+        return bytes;
+    }
+}
@@ -0,0 +1,250 @@
+/*
+ *  Copyright (C) 2026  agent <agent at local>
+ * 
+ *  This file is part of jedi.
+ * 
+ *  jedi is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ * 
+ *  jedi is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU LEsser General Public License for more details.
+ * 
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with jedi.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.jedi;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A {@link com.github.jedi.DispatchEngine} which dispatches on virtual
+ * threads according to a {@link com.github.jedi.VirtualThreadMode}.<br>
+ * Ordered events are still queued and drained per partition, but by virtual
+ * worker threads. Unordered events of the mode
+ * {@link com.github.jedi.VirtualThreadMode#PER_EVENT} are not queued at all,
+ * each of them is dispatched by a virtual thread of its own. With
+ * {@link com.github.jedi.VirtualThreadMode#PER_LISTENER} this engine is also
+ * the {@link com.github.jedi.ListenerInvoker} of its dispatcher and runs every
+ * listener in a {@link com.github.jedi.ListenerLane}. The concurrency limit
+ * always applies to each listener: lanes enforce it for
+ * {@link com.github.jedi.VirtualThreadMode#PER_LISTENER}, the invoker returned
+ * by {@link #limit(com.github.jedi.ListenerInvoker)} for unordered events of
+ * {@link com.github.jedi.VirtualThreadMode#PER_EVENT}.
+ *
+ * @author agent <agent at local>
+ */
+class VirtualThreadDispatchEngine implements DispatchEngine, ListenerInvoker {
+
+    /**
+     * static {@link org.slf4j.Logger} instance
+     */
+    private static final Logger log = LoggerFactory.getLogger(VirtualThreadDispatchEngine.class.
+            getName());
+    /**
+     * the dispatcher the events are dispatched on
+     */
+    private final EventDispatcher dispatcher;
+    /**
+     * runs the virtual threads
+     */
+    private final ExecutorService executor;
+    /**
+     * which part of dispatching runs on virtual threads
+     */
+    private final VirtualThreadMode mode;
+    /**
+     * <code>true</code> if events are delivered in order
+     */
+    private final boolean ordered;
+    /**
+     * the configured concurrency limit
+     */
+    private final int concurrencyLimit;
+    /**
+     * the virtual workers draining ordered events, <code>null</code> if events
+     * are not queued
+     */
+    private final PartitionedDispatchEngine workers;
+    /**
+     * limits the concurrent calls of each listener by unordered events,
+     * <code>null</code> if unlimited
+     */
+    private final ConcurrentMap<EventListener, Semaphore> permits;
+    /**
+     * the lanes of all listeners with mode
+     * {@link com.github.jedi.VirtualThreadMode#PER_LISTENER}
+     */
+    private final ConcurrentMap<EventListener, ListenerLane> lanes =
+            new ConcurrentHashMap<EventListener, ListenerLane>();
+
+    /**
+     * Creates a new VirtualThreadDispatchEngine
+     *
+     * @param dispatcher the dispatcher the events are dispatched on
+     * @param threadName base name of the threads
+     * @param configuration settings of the dispatcher
+     */
+    VirtualThreadDispatchEngine(EventDispatcher dispatcher, String threadName,
+            DispatcherConfiguration configuration) {
+        if (configuration.getEventPoolSize() > 0
+                && configuration.getVirtualThreadMode() == VirtualThreadMode.PER_LISTENER) {
+            throw new IllegalArgumentException("Pooled events can't be used with "
+                    + VirtualThreadMode.PER_LISTENER + ", listeners may still run when "
+                    + "the dispatcher reuses an event!");
+        }
+        if (!VirtualThreads.isSupported()) {
+            log.warn("Virtual threads are not supported by this JVM, using platform threads for {}",
+                    threadName);
+        }
+        this.dispatcher = dispatcher;
+        this.mode = configuration.getVirtualThreadMode();
+        this.ordered = configuration.isOrderedDelivery();
+        this.concurrencyLimit = configuration.getConcurrencyLimit();
+        this.executor = VirtualThreads.newExecutor(threadName + "-virtual-");
+        boolean queued = ordered || mode == VirtualThreadMode.PER_LISTENER;
+        this.workers = queued ? new PartitionedDispatchEngine(dispatcher, threadName,
+                configuration, true) : null;
+        this.permits = (!queued && concurrencyLimit > 0)
+                ? new ConcurrentHashMap<EventListener, Semaphore>() : null;
+    }
+
+    @Override
+    public void start() {
+        if (workers != null) {
+            workers.start();
+        }
+    }
+
+    @Override
+    public boolean submit(final Event event) {
+        if (workers != null) {
+            return workers.submit(event);
+        }
+        try {
+            executor.execute(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        dispatcher.dispatchEvent(event);
+                    } finally {
+                        event.release();
+                    }
+                }
+            });
+            return true;
+        } catch (RejectedExecutionException ex) {
+            return false;
+        }
+    }
+
+    @Override
+    public int submitAll(List<Event> events) {
+        if (workers != null) {
+            return workers.submitAll(events);
+        }
+        int count = 0;
+        for (Event event : events) {
+            if (submit(event)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Returns the number of queued events, events handed to their virtual
+     * thread right away are not counted
+     *
+     * @return the number of queued events
+     */
+    @Override
+    public int size() {
+        return (workers != null) ? workers.size() : 0;
+    }
+
+    @Override
+    public void invoke(final EventListenerData data, Event event) {
+        if (data.isOneShot()) {
+            /* called only once, so there is nothing to order or limit */
+            new ListenerLane(dispatcher.wrap(data.getListener()), executor, false, 0)
+                    .submit(event.defer());
+            return;
+        }
+        ListenerLane lane = lanes.get(data.getListener());
+        if (lane == null) {
+            lane = new ListenerLane(dispatcher.wrap(data.getListener()), executor, ordered,
+                    concurrencyLimit);
+            ListenerLane existing = lanes.putIfAbsent(data.getListener(), lane);
+            if (existing != null) {
+                lane = existing;
+            }
+        }
+        lane.submit(event.defer());
+    }
+
+    /**
+     * Wraps the invoker of the dispatcher, so that each listener is called by
+     * at most <code>concurrencyLimit</code> unordered events at a time
+     *
+     * @param delegate the invoker of the dispatcher
+     * @return the limiting invoker, <code>delegate</code> itself if there is
+     * nothing to limit
+     */
+    ListenerInvoker limit(final ListenerInvoker delegate) {
+        if (permits == null) {
+            return delegate;
+        }
+        return new ListenerInvoker() {
+            @Override
+            public void invoke(EventListenerData data, Event event) {
+                Semaphore limit = permits.get(data.getListener());
+                if (limit == null) {
+                    limit = new Semaphore(concurrencyLimit);
+                    Semaphore existing = permits.putIfAbsent(data.getListener(), limit);
+                    if (existing != null) {
+                        limit = existing;
+                    }
+                }
+                limit.acquireUninterruptibly();
+                try {
+                    delegate.invoke(data, event);
+                } finally {
+                    limit.release();
+                }
+            }
+        };
+    }
+
+    /**
+     * Drops the lane and the limit of a listener which has been removed from
+     * the dispatcher
+     *
+     * @param listener the removed listener
+     */
+    void listenerRemoved(EventListener listener) {
+        lanes.remove(listener);
+        if (permits != null) {
+            permits.remove(listener);
+        }
+    }
+
+    @Override
+    public void stop() {
+        if (workers != null) {
+            workers.stop();
+        }
+        executor.shutdownNow();
+        lanes.clear();
+    }
+}
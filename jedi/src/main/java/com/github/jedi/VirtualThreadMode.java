@@ -0,0 +1,49 @@
+/*
+ *  Copyright (C) 2026  agent <agent at local>
+ * 
+ *  This file is part of jedi.
+ * 
+ *  jedi is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ * 
+ *  jedi is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU LEsser General Public License for more details.
+ * 
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with jedi.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.jedi;
+
+/**
+ * Determines which part of dispatching an
+ * {@link com.github.jedi.EventDispatcher} moves onto virtual threads, so that
+ * listeners doing blocking I/O don't stall the dispatcher.
+ *
+ * @see com.github.jedi.DispatcherConfiguration#setVirtualThreadMode(com.github.jedi.VirtualThreadMode)
+ * @author agent <agent at local>
+ */
+public enum VirtualThreadMode {
+
+    /**
+     * Events are dispatched on platform worker threads, listeners are called
+     * on the worker thread.
+     */
+    NONE,
+    /**
+     * The listener fan-out of every event runs on a virtual thread. With
+     * ordered delivery the events of a partition are dispatched one after
+     * another by a virtual worker thread, otherwise every event gets a
+     * virtual thread of its own.
+     */
+    PER_EVENT,
+    /**
+     * Every listener invocation runs on a virtual thread. With ordered
+     * delivery each listener receives its events one after another,
+     * otherwise a listener may handle several events at once.
+     */
+    PER_LISTENER
+}
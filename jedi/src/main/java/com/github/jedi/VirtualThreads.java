@@ -0,0 +1,77 @@
+/*
+ *  Copyright (C) 2026  agent <agent at local>
+ * 
+ *  This file is part of jedi.
+ * 
+ *  jedi is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ * 
+ *  jedi is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU LEsser General Public License for more details.
+ * 
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with jedi.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.jedi;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Creates the threads used by
+ * {@link com.github.jedi.VirtualThreadMode}s. This is the fallback for JVMs
+ * without virtual threads, which uses platform daemon threads instead. The
+ * multi-release jar contains a variant for Java 21 and later in
+ * <code>META-INF/versions/21</code> which creates virtual threads.
+ *
+ * @author agent <agent at local>
+ */
+final class VirtualThreads {
+
+    private VirtualThreads() {
+    }
+
+    /**
+     * Returns whether this JVM supports virtual threads
+     *
+     * @return <code>false</code>, this is the fallback
+     */
+    static boolean isSupported() {
+        return false;
+    }
+
+    /**
+     * Creates a new, unstarted thread
+     *
+     * @param task the task of the thread
+     * @param name name of the thread
+     * @return the new thread
+     */
+    static Thread newThread(Runnable task, String name) {
+        Thread thread = new Thread(task, name);
+        thread.setDaemon(true);
+        return thread;
+    }
+
+    /**
+     * Creates an executor which runs every task on a thread of its own
+     *
+     * @param prefix prefix of the thread names
+     * @return the new executor
+     */
+    static ExecutorService newExecutor(final String prefix) {
+        final AtomicInteger counter = new AtomicInteger();
+        return Executors.newCachedThreadPool(new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable task) {
+                return VirtualThreads.newThread(task, prefix + counter.getAndIncrement());
+            }
+        });
+    }
+}
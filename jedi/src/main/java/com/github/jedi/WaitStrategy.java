@@ -0,0 +1,44 @@
+/*
+ *  Copyright (C) 2026  agent <agent at local>
+ * 
+ *  This file is part of jedi.
+ * 
+ *  jedi is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ * 
+ *  jedi is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU LEsser General Public License for more details.
+ * 
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with jedi.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.jedi;
+
+/**
+ * Determines how a thread waits on a
+ * {@link com.github.jedi.RingBufferEventQueue}, either for an event to become
+ * available or, using {@link com.github.jedi.BackpressurePolicy#BLOCK}, for a
+ * free slot.
+ *
+ * @author agent <agent at local>
+ */
+public enum WaitStrategy {
+
+    /**
+     * Spins on the CPU. Lowest latency, but burns a whole core while idle.
+     */
+    BUSY_SPIN,
+    /**
+     * Calls {@link Thread#yield()} between retries.
+     */
+    YIELD,
+    /**
+     * Parks the waiting thread until it is signalled. Adds wake-up latency
+     * but leaves the CPU to other threads while idle.
+     */
+    PARK
+}
@@ -0,0 +1,67 @@
+/*
+ *  Copyright (C) 2026  agent <agent at local>
+ * 
+ *  This file is part of jedi.
+ * 
+ *  jedi is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ * 
+ *  jedi is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU LEsser General Public License for more details.
+ * 
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with jedi.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.jedi;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Creates the threads used by
+ * {@link com.github.jedi.VirtualThreadMode}s as virtual threads. This variant
+ * is only compiled on Java 21 and later and replaces the platform thread
+ * fallback inside the multi-release jar.
+ *
+ * @author agent <agent at local>
+ */
+final class VirtualThreads {
+
+    private VirtualThreads() {
+    }
+
+    /**
+     * Returns whether this JVM supports virtual threads
+     *
+     * @return <code>true</code>
+     */
+    static boolean isSupported() {
+        return true;
+    }
+
+    /**
+     * Creates a new, unstarted virtual thread
+     *
+     * @param task the task of the thread
+     * @param name name of the thread
+     * @return the new thread
+     */
+    static Thread newThread(Runnable task, String name) {
+        return Thread.ofVirtual().name(name).unstarted(task);
+    }
+
+    /**
+     * Creates an executor which runs every task on a virtual thread of its
+     * own
+     *
+     * @param prefix prefix of the thread names
+     * @return the new executor
+     */
+    static ExecutorService newExecutor(String prefix) {
+        return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name(prefix, 0).factory());
+    }
+}
@@ -0,0 +1,190 @@
+/*
+ *  Copyright (C) 2026  agent <agent at local>
+ * 
+ *  This file is part of jedi.
+ * 
+ *  jedi is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ * 
+ *  jedi is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU LEsser General Public License for more details.
+ * 
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with jedi.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.jedi;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import junit.framework.TestCase;
+
+/**
+ * Checks that concurrently triggered {@link com.github.jedi.Event}s are
+ * conflated into one queued event per key without losing any of them.
+ *
+ * @author agent <agent at local>
+ */
+public class ConflationTest extends TestCase {
+
+    /**
+     * number of triggering threads
+     */
+    private static final int PRODUCERS = 4;
+    /**
+     * number of events triggered by each producer
+     */
+    private static final int EVENTS = 2000;
+    /**
+     * number of contexts the producers use
+     */
+    private static final int CONTEXTS = 3;
+    /**
+     * Adds up the data of the merged events, so that the sum received shows
+     * whether an event has been lost or merged twice
+     */
+    private static final EventMerger SUM = new EventMerger() {
+        @Override
+        public Event merge(Event pending, Event latest) {
+            return new Event(latest.getName(), latest.getContext(),
+                    (Integer) pending.getData() + (Integer) latest.getData());
+        }
+    };
+
+    /**
+     * the dispatcher under test
+     */
+    private EventDispatcher dispatcher;
+    /**
+     * number of events received per context
+     */
+    private final Map<Object, AtomicInteger> deliveries =
+            new ConcurrentHashMap<Object, AtomicInteger>();
+    /**
+     * sum of the data received per context
+     */
+    private final Map<Object, AtomicLong> sums = new ConcurrentHashMap<Object, AtomicLong>();
+    /**
+     * sum of the data received for all contexts
+     */
+    private final AtomicLong total = new AtomicLong();
+    /**
+     * counted down when the first event is being handled
+     */
+    private final CountDownLatch blocked = new CountDownLatch(1);
+    /**
+     * lets the handling of the first event end
+     */
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @Override
+    protected void setUp() {
+        dispatcher = EventDispatcher.getInstance(getName() + System.nanoTime());
+        dispatcher.addListener("tick", new EventListener() {
+            @Override
+            public void handleEvent(Event event) {
+                if ("first".equals(event.getContext())) {
+                    blocked.countDown();
+                    try {
+                        release.await();
+                    } catch (InterruptedException ex) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return;
+                }
+                Object context = event.getContext();
+                deliveries.putIfAbsent(context, new AtomicInteger());
+                deliveries.get(context).incrementAndGet();
+                sums.putIfAbsent(context, new AtomicLong());
+                sums.get(context).addAndGet((Integer) event.getData());
+                total.addAndGet((Integer) event.getData());
+            }
+        });
+    }
+
+    @Override
+    protected void tearDown() {
+        release.countDown();
+        dispatcher.stop();
+    }
+
+    /**
+     * Blocks the listener with a first event, lets several producers trigger
+     * events of all contexts at once, then releases the listener and waits
+     * for all of them to arrive
+     */
+    private void triggerConcurrently() throws InterruptedException {
+        dispatcher.trigger("tick", "first", 0);
+        assertTrue(blocked.await(10, TimeUnit.SECONDS));
+        final CountDownLatch start = new CountDownLatch(1);
+        Thread[] producers = new Thread[PRODUCERS];
+        for (int i = 0; i < PRODUCERS; i++) {
+            producers[i] = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        start.await();
+                    } catch (InterruptedException ex) {
+                        return;
+                    }
+                    for (int seq = 0; seq < EVENTS; seq++) {
+                        dispatcher.trigger("tick", "context-" + seq % CONTEXTS, 1);
+                    }
+                }
+            }, "producer-" + i);
+            producers[i].start();
+        }
+        start.countDown();
+        for (Thread producer : producers) {
+            producer.join(TimeUnit.SECONDS.toMillis(30));
+            assertFalse(producer.getName() + " is stuck", producer.isAlive());
+        }
+        release.countDown();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (total.get() < PRODUCERS * EVENTS && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        assertEquals(PRODUCERS * EVENTS, total.get());
+    }
+
+    /**
+     * All events queued while the listener is busy become one event
+     */
+    public void testPerName() throws InterruptedException {
+        dispatcher.setConflation("tick", ConflationMode.PER_NAME, SUM);
+        triggerConcurrently();
+        int received = 0;
+        for (AtomicInteger count : deliveries.values()) {
+            received += count.get();
+        }
+        assertEquals(1, received);
+    }
+
+    /**
+     * The events queued while the listener is busy become one event per
+     * context, each carrying the events of its context only
+     */
+    public void testPerContext() throws InterruptedException {
+        dispatcher.setConflation("tick", ConflationMode.PER_CONTEXT, SUM);
+        triggerConcurrently();
+        assertEquals(CONTEXTS, deliveries.size());
+        for (int i = 0; i < CONTEXTS; i++) {
+            Object context = "context-" + i;
+            assertEquals(1, deliveries.get(context).get());
+            long expected = 0;
+            for (int seq = 0; seq < EVENTS; seq++) {
+                if (seq % CONTEXTS == i) {
+                    expected += PRODUCERS;
+                }
+            }
+            assertEquals(expected, sums.get(context).get());
+        }
+    }
+}
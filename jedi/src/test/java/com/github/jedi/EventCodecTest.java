@@ -0,0 +1,259 @@
+/*
+ *  Copyright (C) 2026  agent <agent at local>
+ * 
+ *  This file is part of jedi.
+ * 
+ *  jedi is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ * 
+ *  jedi is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU LEsser General Public License for more details.
+ * 
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with jedi.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.jedi;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import junit.framework.TestCase;
+
+/**
+ * Round trips of {@link com.github.jedi.EventCodec} and the decoding of
+ * malformed input.
+ *
+ * @author agent <agent at local>
+ */
+public class EventCodecTest extends TestCase {
+
+    /**
+     * the buffer of each test
+     */
+    private ByteBuffer buffer;
+
+    @Override
+    protected void setUp() {
+        buffer = ByteBuffer.allocate(4096);
+    }
+
+    /**
+     * Creates an event with the given time
+     *
+     * @param name name of the event
+     * @param context context of the event
+     * @param data data of the event
+     * @param time time of the event
+     * @return the event
+     */
+    private static Event event(String name, Object context, Object data, long time) {
+        Event event = new Event(name, context, data);
+        event.setTime(time);
+        return event;
+    }
+
+    /**
+     * Encodes all events into the buffer and decodes them with a new codec
+     *
+     * @param events the events
+     * @return the decoded events
+     */
+    private List<Event> roundTrip(Event... events) {
+        EventCodec encoder = new EventCodec();
+        for (Event event : events) {
+            encoder.encode(event, buffer);
+        }
+        buffer.flip();
+        EventCodec decoder = new EventCodec();
+        List<Event> decoded = new ArrayList<Event>();
+        while (buffer.hasRemaining()) {
+            decoded.add(decoder.decode(buffer));
+        }
+        return decoded;
+    }
+
+    /**
+     * Checks that two events have the same name, context, data, value and
+     * time
+     *
+     * @param expected the encoded event
+     * @param actual the decoded event
+     */
+    private static void assertSameEvent(Event expected, Event actual) {
+        assertEquals(expected, actual);
+        assertEquals(expected.getTime(), actual.getTime());
+        assertEquals(expected.hasLongValue(), actual.hasLongValue());
+        assertEquals(expected.hasDoubleValue(), actual.hasDoubleValue());
+        if (expected.hasLongValue()) {
+            assertEquals(expected.getLongValue(), actual.getLongValue());
+        }
+        if (expected.hasDoubleValue()) {
+            assertEquals(Double.doubleToRawLongBits(expected.getDoubleValue()),
+                    Double.doubleToRawLongBits(actual.getDoubleValue()));
+        }
+    }
+
+    public void testNames() {
+        Event[] events = {
+            event(null, null, null, 1000),
+            event("first", null, null, 1001),
+            event("second", null, null, 1002),
+            event("first", null, null, 1003),
+            event(null, null, null, 1004),
+            event("second", null, null, 1005)
+        };
+        List<Event> decoded = roundTrip(events);
+        assertEquals(events.length, decoded.size());
+        for (int i = 0; i < events.length; i++) {
+            assertSameEvent(events[i], decoded.get(i));
+        }
+    }
+
+    public void testRepeatedNameIsWrittenOnce() {
+        EventCodec codec = new EventCodec();
+        codec.encode(event("a.rather.long.event.name", null, null, 0), buffer);
+        int first = buffer.position();
+        codec.encode(event("a.rather.long.event.name", null, null, 0), buffer);
+        assertTrue(buffer.position() - first < first);
+    }
+
+    public void testTimeDeltas() {
+        Event[] events = {
+            event("time", null, null, Long.MAX_VALUE / 2),
+            event("time", null, null, 0),
+            event("time", null, null, -123456789L),
+            event("time", null, null, 1L << 40),
+            event("time", null, null, (1L << 40) - 1)
+        };
+        List<Event> decoded = roundTrip(events);
+        for (int i = 0; i < events.length; i++) {
+            assertSameEvent(events[i], decoded.get(i));
+        }
+    }
+
+    public void testPrimitiveValues() {
+        Event[] events = new Event[7];
+        long[] longs = {0, -1, Long.MIN_VALUE, Long.MAX_VALUE};
+        for (int i = 0; i < longs.length; i++) {
+            events[i] = event("long", null, null, i);
+            events[i].setLongValue(longs[i]);
+        }
+        double[] doubles = {-0.0, Double.NaN, Double.MAX_VALUE};
+        for (int i = 0; i < doubles.length; i++) {
+            events[longs.length + i] = event("double", "context", null, i);
+            events[longs.length + i].setDoubleValue(doubles[i]);
+        }
+        List<Event> decoded = roundTrip(events);
+        for (int i = 0; i < events.length; i++) {
+            assertSameEvent(events[i], decoded.get(i));
+        }
+    }
+
+    public void testContextAndData() {
+        byte[] bytes = {1, 2, 3};
+        Event[] events = {
+            event("payload", null, null, 0),
+            event("payload", "context", null, 0),
+            event("payload", null, 42L, 0),
+            event("payload", "context", "data é中😀", 0),
+            event("payload", Boolean.TRUE, 7, 0),
+            event("payload", null, bytes, 0),
+            event("payload", null, new ArrayList<String>(Arrays.asList("serialized")), 0)
+        };
+        List<Event> decoded = roundTrip(events);
+        for (int i = 0; i < events.length - 2; i++) {
+            assertSameEvent(events[i], decoded.get(i));
+        }
+        assertTrue(Arrays.equals(bytes, (byte[]) decoded.get(5).getData()));
+        assertEquals(events[6].getData(), decoded.get(6).getData());
+    }
+
+    public void testSerializationTurnedOff() {
+        new EventCodec().encode(event("payload", null,
+                new ArrayList<String>(Arrays.asList("serialized")), 0), buffer);
+        buffer.flip();
+        try {
+            new EventCodec(new DefaultPayloadCodec(false)).decode(buffer);
+            fail("Serialized payload decoded");
+        } catch (IllegalArgumentException expected) {
+        }
+        buffer.clear();
+        try {
+            new EventCodec(new DefaultPayloadCodec(false)).encode(event("payload", null,
+                    new ArrayList<String>(), 0), buffer);
+            fail("Payload serialized");
+        } catch (IllegalArgumentException expected) {
+        }
+    }
+
+    public void testDecodeAfterReset() {
+        EventCodec encoder = new EventCodec();
+        encoder.encode(event("name", null, null, 500), buffer);
+        encoder.reset();
+        int start = buffer.position();
+        encoder.encode(event("name", null, null, 700), buffer);
+        buffer.flip();
+        buffer.position(start);
+
+        EventCodec decoder = new EventCodec();
+        Event decoded = decoder.decode(buffer);
+        assertEquals("name", decoded.getName());
+        assertEquals(700, decoded.getTime());
+    }
+
+    public void testUnknownNameId() {
+        Varints.putVarLong(buffer, 5);
+        buffer.flip();
+        assertMalformed();
+    }
+
+    public void testNegativeNameTag() {
+        Varints.putVarLong(buffer, -1L);
+        buffer.flip();
+        assertMalformed();
+    }
+
+    public void testMalformedFlags() {
+        buffer.put((byte) 0);
+        Varints.putZigZag(buffer, 0);
+        buffer.put((byte) 0x40);
+        buffer.flip();
+        assertMalformed();
+    }
+
+    public void testUnknownPayloadTag() {
+        buffer.put((byte) 0);
+        Varints.putZigZag(buffer, 0);
+        buffer.put((byte) 2);
+        buffer.put((byte) 99);
+        buffer.flip();
+        assertMalformed();
+    }
+
+    public void testNegativePayloadLength() {
+        buffer.put((byte) 0);
+        Varints.putZigZag(buffer, 0);
+        buffer.put((byte) 2);
+        buffer.put((byte) 6);
+        Varints.putVarLong(buffer, -1L);
+        buffer.flip();
+        assertMalformed();
+    }
+
+    /**
+     * Checks that decoding the buffer fails with an
+     * <code>IllegalArgumentException</code>
+     */
+    private void assertMalformed() {
+        try {
+            new EventCodec().decode(buffer);
+            fail("Malformed input decoded");
+        } catch (IllegalArgumentException expected) {
+        }
+    }
+}
@@ -0,0 +1,176 @@
+/*
+ *  Copyright (C) 2026  agent <agent at local>
+ * 
+ *  This file is part of jedi.
+ * 
+ *  jedi is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ * 
+ *  jedi is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU LEsser General Public License for more details.
+ * 
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with jedi.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.jedi;
+
+import java.util.BitSet;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import junit.framework.TestCase;
+
+/**
+ * Checks delivery and latency of the queued dispatching path under several
+ * concurrent producers.
+ *
+ * @author agent <agent at local>
+ */
+public class EventDispatcherLatencyTest extends TestCase {
+
+    /**
+     * number of producer threads
+     */
+    private static final int PRODUCERS = 4;
+    /**
+     * number of events triggered by each producer
+     */
+    private static final int EVENTS = 10000;
+    /**
+     * number of events a producer triggers at once before pausing
+     */
+    private static final int BURST = 10;
+
+    /**
+     * the dispatcher under test
+     */
+    private EventDispatcher dispatcher;
+
+    @Override
+    protected void setUp() {
+        dispatcher = EventDispatcher.getInstance(getName() + System.nanoTime());
+    }
+
+    @Override
+    protected void tearDown() {
+        dispatcher.stop();
+    }
+
+    /**
+     * Every event of every producer arrives, and the time from
+     * <code>trigger</code> to the listener stays bounded
+     */
+    public void testConcurrentProducers() throws InterruptedException {
+        final BitSet[] received = new BitSet[PRODUCERS];
+        for (int i = 0; i < PRODUCERS; i++) {
+            received[i] = new BitSet(EVENTS);
+        }
+        final LatencyHistogram latency = new LatencyHistogram();
+        final CountDownLatch done = new CountDownLatch(PRODUCERS * EVENTS);
+        dispatcher.addListener("latency", new EventListener() {
+            @Override
+            public void handleEvent(Event event) {
+                long[] sample = (long[]) event.getData();
+                latency.record(System.nanoTime() - sample[2]);
+                /* listeners of one name are called by one thread at a time */
+                received[(int) sample[0]].set((int) sample[1]);
+                done.countDown();
+            }
+        });
+
+        Thread[] producers = new Thread[PRODUCERS];
+        final CountDownLatch start = new CountDownLatch(1);
+        for (int i = 0; i < PRODUCERS; i++) {
+            final int producer = i;
+            producers[i] = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        start.await();
+                    } catch (InterruptedException ex) {
+                        return;
+                    }
+                    for (int seq = 0; seq < EVENTS; seq++) {
+                        dispatcher.trigger("latency", null,
+                                new long[]{producer, seq, System.nanoTime()});
+                        if (seq % BURST == BURST - 1) {
+                            /* a sustainable rate, so latency is not the backlog of a flood */
+                            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1));
+                        }
+                    }
+                }
+            }, "producer-" + i);
+            producers[i].start();
+        }
+        start.countDown();
+        for (Thread producer : producers) {
+            producer.join();
+        }
+
+        assertTrue("Not all events were delivered, " + done.getCount() + " missing",
+                done.await(30, TimeUnit.SECONDS));
+        for (int i = 0; i < PRODUCERS; i++) {
+            assertEquals("Events of producer " + i, EVENTS, received[i].cardinality());
+        }
+        assertEquals(PRODUCERS * EVENTS, latency.getCount());
+        /* generous bounds, the build may run on a single loaded core */
+        long p99 = latency.getValueAtPercentile(99);
+        assertTrue("99th percentile latency of " + p99 + " ns",
+                p99 < TimeUnit.MILLISECONDS.toNanos(50));
+    }
+
+    /**
+     * Producers don't wait while a listener is busy: triggering stays fast
+     * although the dispatching thread is blocked
+     */
+    public void testProducersDontWaitForSlowListener() throws InterruptedException {
+        final CountDownLatch blocked = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final CountDownLatch done = new CountDownLatch(1 + PRODUCERS * 1000);
+        dispatcher.addListener("slow", new EventListener() {
+            @Override
+            public void handleEvent(Event event) {
+                if (event.getData() == null) {
+                    blocked.countDown();
+                    try {
+                        release.await();
+                    } catch (InterruptedException ex) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                done.countDown();
+            }
+        });
+        dispatcher.trigger("slow", null, null);
+        assertTrue(blocked.await(10, TimeUnit.SECONDS));
+
+        Thread[] producers = new Thread[PRODUCERS];
+        for (int i = 0; i < PRODUCERS; i++) {
+            producers[i] = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    for (int seq = 0; seq < 1000; seq++) {
+                        dispatcher.trigger("slow", null, seq);
+                    }
+                }
+            }, "producer-" + i);
+        }
+        long start = System.nanoTime();
+        for (Thread producer : producers) {
+            producer.start();
+        }
+        for (Thread producer : producers) {
+            producer.join(TimeUnit.SECONDS.toMillis(10));
+            assertFalse("A producer waited for the listener", producer.isAlive());
+        }
+        long elapsed = System.nanoTime() - start;
+        release.countDown();
+
+        assertTrue("Not all events were delivered", done.await(30, TimeUnit.SECONDS));
+        assertTrue("Triggering took " + elapsed + " ns", elapsed < TimeUnit.SECONDS.toNanos(5));
+    }
+}
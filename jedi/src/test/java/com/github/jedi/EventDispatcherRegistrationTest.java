@@ -0,0 +1,120 @@
+/*
+ *  Copyright (C) 2026  agent <agent at local>
+ * 
+ *  This file is part of jedi.
+ * 
+ *  jedi is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ * 
+ *  jedi is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU LEsser General Public License for more details.
+ * 
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with jedi.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.jedi;
+
+import junit.framework.TestCase;
+
+/**
+ * Checks that what a dispatcher keeps for a listener is released only after
+ * the last registration of the listener has been removed.
+ *
+ * @author agent <agent at local>
+ */
+public class EventDispatcherRegistrationTest extends TestCase {
+
+    /**
+     * the dispatcher under test, with metrics kept per listener
+     */
+    private EventDispatcher dispatcher;
+    /**
+     * the listener registered several times
+     */
+    private EventListener listener;
+
+    @Override
+    protected void setUp() {
+        DispatcherConfiguration configuration = new DispatcherConfiguration();
+        configuration.setMetricsEnabled(true);
+        dispatcher = EventDispatcher.getInstance(getName() + System.nanoTime(), configuration);
+        listener = new EventListener() {
+            @Override
+            public void handleEvent(Event event) {
+            }
+        };
+    }
+
+    @Override
+    protected void tearDown() {
+        EventDispatcher.removeSuperGlobalListener(listener);
+        dispatcher.stop();
+    }
+
+    /**
+     * Returns how often the listener has been called according to the
+     * metrics of the dispatcher
+     *
+     * @return the number of calls, -1 if the metrics have been released
+     */
+    private long invocations() {
+        ListenerMetrics metrics = dispatcher.getMetrics().getListenerMetrics(listener);
+        return (metrics == null) ? -1 : metrics.getInvocations();
+    }
+
+    /**
+     * A one-shot registration going away keeps the state of the listener's
+     * other registration
+     */
+    public void testOneShotOnOneOfTwoNames() {
+        dispatcher.addListener("kept", listener);
+        dispatcher.addListener("once", listener, true);
+        dispatcher.dispatchNow("kept", null, null);
+        dispatcher.dispatchNow("once", null, null);
+        assertEquals(2, invocations());
+
+        dispatcher.dispatchNow("once", null, null);
+        assertEquals(2, invocations());
+        dispatcher.removeListener("kept", listener);
+        assertEquals(-1, invocations());
+    }
+
+    /**
+     * Removing one of several registrations keeps the state, removing the
+     * last one releases it
+     */
+    public void testNameAndPatternAndGlobal() {
+        dispatcher.addListener("name", listener);
+        dispatcher.addListener("name.*", listener);
+        dispatcher.addGlobalListener(listener);
+        dispatcher.dispatchNow("name", null, null);
+        assertEquals(2, invocations());
+
+        dispatcher.removeListener("name", listener);
+        dispatcher.removeListener("name.*", listener);
+        assertEquals(2, invocations());
+        dispatcher.removeGlobalListener(listener);
+        assertEquals(-1, invocations());
+    }
+
+    /**
+     * Removing a super-global registration keeps the state of a dispatcher
+     * the listener is still registered on
+     */
+    public void testSuperGlobalRemoval() {
+        dispatcher.addListener("name", listener);
+        EventDispatcher.addSuperGlobalListener(listener, false, -1);
+        dispatcher.dispatchNow("name", null, null);
+        assertTrue(invocations() > 0);
+        long calls = invocations();
+
+        EventDispatcher.removeSuperGlobalListener(listener);
+        assertEquals(calls, invocations());
+        dispatcher.removeListener("name", listener);
+        assertEquals(-1, invocations());
+    }
+}
@@ -0,0 +1,363 @@
+/*
+ *  Copyright (C) 2026  agent <agent at local>
+ * 
+ *  This file is part of jedi.
+ * 
+ *  jedi is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ * 
+ *  jedi is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU LEsser General Public License for more details.
+ * 
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with jedi.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.jedi;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import junit.framework.TestCase;
+
+/**
+ * Checks recovery, flushing and acknowledging of the
+ * {@link com.github.jedi.EventJournal}, on its own and behind a dispatcher.
+ *
+ * @author agent <agent at local>
+ */
+public class EventJournalTest extends TestCase {
+
+    /**
+     * bytes of a record in front of its event: length, status and CRC
+     */
+    private static final int PREFIX = 9;
+    /**
+     * size of the segments
+     */
+    private static final int SEGMENT_SIZE = 64 * 1024;
+
+    /**
+     * the directory of the journals of a test
+     */
+    private File directory;
+
+    @Override
+    protected void setUp() throws IOException {
+        directory = File.createTempFile("jedi-journal", "");
+        assertTrue(directory.delete() && directory.mkdir());
+    }
+
+    @Override
+    protected void tearDown() {
+        delete(directory);
+    }
+
+    /**
+     * Deletes a file or a directory with its content
+     *
+     * @param file the file
+     */
+    private static void delete(File file) {
+        File[] children = file.listFiles();
+        if (children != null) {
+            for (File child : children) {
+                delete(child);
+            }
+        }
+        file.delete();
+    }
+
+    /**
+     * Opens a journal in
+     * <code>directory</code>
+     *
+     * @param directory the directory of the segments
+     * @param syncInterval time in ms between two flushes
+     * @param syncOnAppend whether writers wait for the flush of their event
+     * @return the opened journal
+     */
+    private static EventJournal open(File directory, long syncInterval, boolean syncOnAppend)
+            throws IOException {
+        EventJournal journal = new EventJournal(directory, new DefaultPayloadCodec(),
+                SEGMENT_SIZE, syncInterval, syncOnAppend, "journal-test");
+        journal.open();
+        return journal;
+    }
+
+    /**
+     * Returns the data of the events a journal in
+     * <code>directory</code> would replay, leaving the segments as they are
+     *
+     * @param directory the directory of the segments
+     * @return the data of the recovered events, in their order
+     */
+    private static List<Object> recover(File directory) throws IOException {
+        EventJournal journal = open(directory, 1000, false);
+        List<Object> data = new ArrayList<Object>();
+        for (Event event : journal.takeRecovered()) {
+            data.add(event.getData());
+        }
+        journal.close();
+        return data;
+    }
+
+    /**
+     * Appends events with the data
+     * <code>0</code> to <code>count - 1</code>
+     *
+     * @param journal the journal
+     * @param count number of events
+     * @return the appended events
+     */
+    private static Event[] append(EventJournal journal, int count) {
+        Event[] events = new Event[count];
+        for (int i = 0; i < count; i++) {
+            events[i] = new Event("journaled", "context", i);
+            journal.append(events[i]);
+        }
+        return events;
+    }
+
+    /**
+     * Returns the only segment file in
+     * <code>directory</code>
+     *
+     * @param directory the directory of the segments
+     * @return the segment file
+     */
+    private static File segment(File directory) {
+        File[] files = directory.listFiles();
+        assertNotNull(files);
+        assertEquals(1, files.length);
+        return files[0];
+    }
+
+    /**
+     * Returns the offsets of the records of a segment file
+     *
+     * @param file the segment file
+     * @return the offsets of the records
+     */
+    private static List<Integer> records(File file) throws IOException {
+        RandomAccessFile raf = new RandomAccessFile(file, "r");
+        try {
+            ByteBuffer content = ByteBuffer.allocate((int) raf.length());
+            raf.getChannel().read(content, 0);
+            List<Integer> offsets = new ArrayList<Integer>();
+            int position = 0;
+            int length;
+            while (position + PREFIX <= content.capacity()
+                    && (length = content.getInt(position)) >= 4) {
+                offsets.add(position);
+                position += PREFIX - 4 + length;
+            }
+            return offsets;
+        } finally {
+            raf.close();
+        }
+    }
+
+    /**
+     * Events not done are recovered in order, done ones are not
+     */
+    public void testRecoversPendingEvents() throws IOException {
+        EventJournal journal = open(directory, 1000, false);
+        Event[] events = append(journal, 5);
+        events[1].acknowledge();
+        events[3].acknowledge();
+        journal.close();
+
+        List<Object> expected = new ArrayList<Object>();
+        expected.add(0);
+        expected.add(2);
+        expected.add(4);
+        assertEquals(expected, recover(directory));
+    }
+
+    /**
+     * A segment whose events are all done is deleted
+     */
+    public void testDoneSegmentIsDeleted() throws IOException {
+        EventJournal journal = open(directory, 1000, false);
+        for (Event event : append(journal, 5)) {
+            event.acknowledge();
+        }
+        journal.close();
+        assertEquals(0, directory.listFiles().length);
+    }
+
+    /**
+     * Recovery stops at the first record whose CRC doesn't match, dropping
+     * the rest of the segment
+     */
+    public void testCorruptRecordTruncatesSegment() throws IOException {
+        EventJournal journal = open(directory, 1000, false);
+        append(journal, 5);
+        journal.close();
+        File file = segment(directory);
+        List<Integer> offsets = records(file);
+        assertEquals(5, offsets.size());
+
+        RandomAccessFile raf = new RandomAccessFile(file, "rw");
+        try {
+            int body = offsets.get(2) + PREFIX;
+            raf.seek(body);
+            int value = raf.read();
+            raf.seek(body);
+            raf.write(value ^ 0xFF);
+        } finally {
+            raf.close();
+        }
+        List<Object> expected = new ArrayList<Object>();
+        expected.add(0);
+        expected.add(1);
+        assertEquals(expected, recover(directory));
+    }
+
+    /**
+     * A segment cut off in the middle of a record recovers the complete
+     * records in front of it
+     */
+    public void testTruncatedSegment() throws IOException {
+        EventJournal journal = open(directory, 1000, false);
+        append(journal, 5);
+        journal.close();
+        File file = segment(directory);
+        List<Integer> offsets = records(file);
+
+        RandomAccessFile raf = new RandomAccessFile(file, "rw");
+        try {
+            raf.setLength(offsets.get(3) + PREFIX + 1);
+        } finally {
+            raf.close();
+        }
+        List<Object> expected = new ArrayList<Object>();
+        expected.add(0);
+        expected.add(1);
+        expected.add(2);
+        assertEquals(expected, recover(directory));
+    }
+
+    /**
+     * Writers waiting for their flush are released by one flush started
+     * right away, long before the sync interval has passed
+     */
+    public void testGroupCommit() throws InterruptedException, IOException {
+        final EventJournal journal = open(directory, TimeUnit.MINUTES.toMillis(10), true);
+        final int writers = 4;
+        final int events = 50;
+        final CountDownLatch done = new CountDownLatch(writers);
+        for (int i = 0; i < writers; i++) {
+            new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    append(journal, events);
+                    done.countDown();
+                }
+            }, "writer-" + i).start();
+        }
+        assertTrue("Writers still wait for the flush", done.await(10, TimeUnit.SECONDS));
+        journal.close();
+        assertEquals(writers * events, recover(directory).size());
+    }
+
+    /**
+     * Replayed events keep their records, which are marked as done once
+     * dispatched, instead of being appended again
+     */
+    public void testReplayDoesNotAppendAgain() throws IOException, InterruptedException {
+        String name = getName() + System.nanoTime();
+        File journals = new File(directory, name);
+        EventJournal journal = open(journals, 1000, false);
+        append(journal, 3);
+        journal.close();
+        File original = segment(journals);
+
+        DispatcherConfiguration configuration = new DispatcherConfiguration();
+        configuration.setJournalDirectory(directory);
+        EventDispatcher dispatcher = EventDispatcher.getInstance(name, configuration);
+        final CountDownLatch received = new CountDownLatch(3);
+        dispatcher.addListener("journaled", new EventListener() {
+            @Override
+            public void handleEvent(Event event) {
+                received.countDown();
+            }
+        });
+        assertEquals(3, dispatcher.replayJournal());
+        assertTrue(received.await(10, TimeUnit.SECONDS));
+        /* marked as done after the listener has returned */
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (original.exists() && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        dispatcher.stop();
+
+        assertFalse("The replayed segment was kept", original.exists());
+        assertEquals("Replayed events were appended again", 0, journals.listFiles().length);
+    }
+
+    /**
+     * Events merged into a queued event stay pending in the journal until the
+     * merged event has been dispatched
+     */
+    public void testConflatedEventsAreAcknowledgedTogether()
+            throws IOException, InterruptedException {
+        String name = getName() + System.nanoTime();
+        File journals = new File(directory, name);
+        DispatcherConfiguration configuration = new DispatcherConfiguration();
+        configuration.setJournalDirectory(directory);
+        EventDispatcher dispatcher = EventDispatcher.getInstance(name, configuration);
+        dispatcher.setConflation("journaled", ConflationMode.PER_NAME);
+        final CountDownLatch blocked = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final AtomicInteger received = new AtomicInteger();
+        dispatcher.addListener("journaled", new EventListener() {
+            @Override
+            public void handleEvent(Event event) {
+                if (received.incrementAndGet() == 1) {
+                    blocked.countDown();
+                    try {
+                        release.await();
+                    } catch (InterruptedException ex) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+            }
+        });
+        try {
+            dispatcher.trigger("journaled", null, 0);
+            assertTrue(blocked.await(10, TimeUnit.SECONDS));
+            for (int i = 1; i <= 5; i++) {
+                dispatcher.trigger("journaled", null, i);
+            }
+            /* the first event is being handled, the others are merged into one */
+            assertEquals(6, recover(journals).size());
+
+            release.countDown();
+            long wait = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while (received.get() < 2 && System.nanoTime() < wait) {
+                Thread.sleep(1);
+            }
+            assertEquals(2, received.get());
+        } finally {
+            release.countDown();
+            dispatcher.stop();
+        }
+        /* the segment is deleted once the merged event has been marked as done */
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (journals.listFiles().length > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        assertEquals(0, recover(journals).size());
+    }
+}
@@ -0,0 +1,163 @@
+/*
+ *  Copyright (C) 2026  agent <agent at local>
+ * 
+ *  This file is part of jedi.
+ * 
+ *  jedi is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ * 
+ *  jedi is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU LEsser General Public License for more details.
+ * 
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with jedi.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.jedi;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import junit.framework.TestCase;
+
+/**
+ * Checks the lock-free snapshots of the
+ * {@link com.github.jedi.EventListenerCollection} under contention.
+ *
+ * @author agent <agent at local>
+ */
+public class EventListenerCollectionTest extends TestCase {
+
+    /**
+     * number of concurrent threads
+     */
+    private static final int THREADS = 4;
+    /**
+     * number of listeners each thread adds and removes
+     */
+    private static final int LISTENERS = 500;
+
+    /**
+     * A listener counting its calls
+     */
+    private static final class CountingListener implements EventListener {
+
+        /**
+         * the number of calls
+         */
+        final AtomicInteger calls = new AtomicInteger();
+
+        @Override
+        public void handleEvent(Event event) {
+            calls.incrementAndGet();
+        }
+    }
+
+    /**
+     * Runs
+     * <code>task</code> on several threads at once and waits for them
+     *
+     * @param task the task
+     */
+    private static void runConcurrently(final Runnable task) throws InterruptedException {
+        final CountDownLatch start = new CountDownLatch(1);
+        Thread[] threads = new Thread[THREADS];
+        for (int i = 0; i < THREADS; i++) {
+            threads[i] = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        start.await();
+                    } catch (InterruptedException ex) {
+                        return;
+                    }
+                    task.run();
+                }
+            }, "contender-" + i);
+            threads[i].start();
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join(TimeUnit.SECONDS.toMillis(30));
+            assertFalse(thread.getName() + " is stuck", thread.isAlive());
+        }
+    }
+
+    /**
+     * A one-shot listener is called exactly once and reported as removed
+     * exactly once, however many threads dispatch at the same time
+     */
+    public void testOneShotIsCalledOnce() throws InterruptedException {
+        for (int round = 0; round < 200; round++) {
+            final AtomicInteger removals = new AtomicInteger();
+            final EventListenerCollection collection = new EventListenerCollection("once",
+                    new RemovalListener() {
+                        @Override
+                        public void listenerRemoved(EventListener listener) {
+                            removals.incrementAndGet();
+                        }
+                    });
+            CountingListener oneShot = new CountingListener();
+            CountingListener regular = new CountingListener();
+            collection.addEventListener(oneShot, true);
+            collection.addEventListener(regular, false);
+            runConcurrently(new Runnable() {
+                @Override
+                public void run() {
+                    collection.dispatchEvent(new Event("once"));
+                }
+            });
+
+            assertEquals("Calls in round " + round, 1, oneShot.calls.get());
+            assertEquals(1, removals.get());
+            assertEquals(THREADS, regular.calls.get());
+            assertEquals(1, collection.getAllListeners().length);
+        }
+    }
+
+    /**
+     * No registration is lost when threads add and remove listeners at the
+     * same time
+     */
+    public void testConcurrentAddAndRemove() throws InterruptedException {
+        final EventListenerCollection collection = new EventListenerCollection("churn");
+        final CountingListener[][] listeners = new CountingListener[THREADS][LISTENERS];
+        final AtomicInteger next = new AtomicInteger();
+        runConcurrently(new Runnable() {
+            @Override
+            public void run() {
+                CountingListener[] own = listeners[next.getAndIncrement()];
+                for (int i = 0; i < LISTENERS; i++) {
+                    own[i] = new CountingListener();
+                    collection.addEventListener(own[i], false, -1, i % 3);
+                }
+            }
+        });
+        assertEquals(THREADS * LISTENERS, collection.getAllListeners().length);
+        int previous = Integer.MAX_VALUE;
+        for (EventListenerData data : collection.getAllListeners()) {
+            assertTrue("Listeners are not sorted by priority", data.getPriority() <= previous);
+            previous = data.getPriority();
+        }
+
+        next.set(0);
+        runConcurrently(new Runnable() {
+            @Override
+            public void run() {
+                CountingListener[] own = listeners[next.getAndIncrement()];
+                for (int i = 0; i < LISTENERS; i += 2) {
+                    assertNotNull(collection.removeEventListener(own[i]));
+                }
+            }
+        });
+        collection.dispatchEvent(new Event("churn"));
+        for (CountingListener[] own : listeners) {
+            for (int i = 0; i < LISTENERS; i++) {
+                assertEquals(i % 2, own[i].calls.get());
+            }
+        }
+    }
+}
@@ -0,0 +1,192 @@
+/*
+ *  Copyright (C) 2026  agent <agent at local>
+ * 
+ *  This file is part of jedi.
+ * 
+ *  jedi is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ * 
+ *  jedi is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU LEsser General Public License for more details.
+ * 
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with jedi.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.jedi;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import junit.framework.TestCase;
+
+/**
+ * Checks retries and dead letters of the
+ * {@link com.github.jedi.GuardedInvoker}.
+ *
+ * @author agent <agent at local>
+ */
+public class GuardedInvokerTest extends TestCase {
+
+    /**
+     * the invoker under test
+     */
+    private GuardedInvoker invoker;
+
+    /**
+     * Creates the invoker under test
+     *
+     * @param retries how often a failed invocation is retried
+     */
+    private void createInvoker(int retries) {
+        DispatcherConfiguration configuration = new DispatcherConfiguration();
+        configuration.setListenerRetries(retries);
+        configuration.setRetryBackoff(1);
+        configuration.setMaxRetryBackoff(4);
+        invoker = new GuardedInvoker(getName(), configuration);
+    }
+
+    @Override
+    protected void tearDown() {
+        if (invoker != null) {
+            invoker.stop();
+        }
+    }
+
+    /**
+     * A listener throwing a given number of times before it succeeds
+     */
+    private static class FailingListener implements EventListener {
+
+        /**
+         * number of calls which throw
+         */
+        private final int failures;
+        /**
+         * number of calls so far
+         */
+        final AtomicInteger calls = new AtomicInteger();
+        /**
+         * counted down by the first call which doesn't throw
+         */
+        final CountDownLatch succeeded = new CountDownLatch(1);
+
+        /**
+         * Creates a new FailingListener
+         *
+         * @param failures number of calls which throw
+         */
+        FailingListener(int failures) {
+            this.failures = failures;
+        }
+
+        @Override
+        public void handleEvent(Event event) {
+            int call = calls.incrementAndGet();
+            if (call <= failures) {
+                throw new IllegalStateException("failure " + call);
+            }
+            succeeded.countDown();
+        }
+    }
+
+    /**
+     * Waits until the invoker keeps
+     * <code>count</code> dead letters
+     *
+     * @param count the expected number of dead letters
+     */
+    private void awaitDeadLetters(int count) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (invoker.getDeadLetterCount() < count && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        assertEquals(count, invoker.getDeadLetterCount());
+    }
+
+    /**
+     * A listener failing fewer times than retries are allowed gets the event
+     * in the end, without a dead letter
+     */
+    public void testRetriedUntilSuccess() throws InterruptedException {
+        createInvoker(3);
+        FailingListener listener = new FailingListener(2);
+        invoker.invoke(new EventListenerData(listener), new Event("retried", null, "payload"));
+
+        assertTrue(listener.succeeded.await(10, TimeUnit.SECONDS));
+        assertEquals(3, listener.calls.get());
+        assertEquals(2, invoker.getFailures());
+        assertEquals(0, invoker.getDeadLetterCount());
+    }
+
+    /**
+     * Once all retries have failed, the event becomes a dead letter carrying
+     * a copy of the event and the last failure
+     */
+    public void testDeadLetterAfterRetries() throws InterruptedException {
+        createInvoker(2);
+        FailingListener listener = new FailingListener(Integer.MAX_VALUE);
+        Event event = new Event("failed", "context", "payload");
+        invoker.invoke(new EventListenerData(listener), event);
+
+        awaitDeadLetters(1);
+        assertEquals(3, listener.calls.get());
+        assertEquals(3, invoker.getFailures());
+        List<DeadLetter> deadLetters = invoker.drainDeadLetters();
+        assertEquals(1, deadLetters.size());
+        DeadLetter deadLetter = deadLetters.get(0);
+        assertSame(listener, deadLetter.getListener());
+        assertEquals(3, deadLetter.getAttempts());
+        assertEquals("failed", deadLetter.getEvent().getName());
+        assertEquals("context", deadLetter.getEvent().getContext());
+        assertEquals("payload", deadLetter.getEvent().getData());
+        assertEquals("failure 3", deadLetter.getCause().getMessage());
+        assertEquals(0, invoker.getDeadLetterCount());
+    }
+
+    /**
+     * The retries of one listener never overlap with each other, however many
+     * of its invocations failed at once
+     */
+    public void testRetriesOfAListenerRunOneAtATime() throws InterruptedException {
+        createInvoker(2);
+        final Thread caller = Thread.currentThread();
+        final AtomicInteger running = new AtomicInteger();
+        final AtomicInteger maxRunning = new AtomicInteger();
+        EventListener listener = new EventListener() {
+            @Override
+            public void handleEvent(Event event) {
+                if (Thread.currentThread() == caller) {
+                    /* the first attempts run on the dispatching thread */
+                    throw new IllegalStateException("failure");
+                }
+                int now = running.incrementAndGet();
+                try {
+                    int max;
+                    while (now > (max = maxRunning.get())
+                            && !maxRunning.compareAndSet(max, now)) {
+                    }
+                    Thread.sleep(1);
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    running.decrementAndGet();
+                }
+                throw new IllegalStateException("failure");
+            }
+        };
+        EventListenerData data = new EventListenerData(listener);
+        int events = 20;
+        for (int i = 0; i < events; i++) {
+            invoker.invoke(data, new Event("failed", null, i));
+        }
+
+        awaitDeadLetters(events);
+        assertEquals(1, maxRunning.get());
+        assertEquals(3 * events, invoker.getFailures());
+    }
+}
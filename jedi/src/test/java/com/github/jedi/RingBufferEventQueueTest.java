@@ -0,0 +1,273 @@
+/*
+ *  Copyright (C) 2026  agent <agent at local>
+ * 
+ *  This file is part of jedi.
+ * 
+ *  jedi is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ * 
+ *  jedi is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU LEsser General Public License for more details.
+ * 
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with jedi.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.jedi;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+import junit.framework.TestCase;
+
+/**
+ * Checks the slots, the backpressure policies and the waiting of the
+ * {@link com.github.jedi.RingBufferEventQueue}.
+ *
+ * @author agent <agent at local>
+ */
+public class RingBufferEventQueueTest extends TestCase {
+
+    /**
+     * number of producer threads
+     */
+    private static final int PRODUCERS = 4;
+    /**
+     * number of consumer threads
+     */
+    private static final int CONSUMERS = 2;
+    /**
+     * number of events offered by each producer
+     */
+    private static final int EVENTS = 20000;
+
+    /**
+     * Creates an event carrying
+     * <code>seq</code> as its data
+     *
+     * @param seq the data
+     * @return the event
+     */
+    private static Event event(int seq) {
+        return new Event("ring", null, seq);
+    }
+
+    public void testCapacityIsRoundedUp() {
+        assertEquals(8, new RingBufferEventQueue(5, WaitStrategy.BUSY_SPIN,
+                BackpressurePolicy.DROP_NEWEST).capacity());
+        assertEquals(1, new RingBufferEventQueue(1, WaitStrategy.BUSY_SPIN,
+                BackpressurePolicy.DROP_NEWEST).capacity());
+    }
+
+    /**
+     * The positions run around the slots many times, events keep their order
+     */
+    public void testWraparound() {
+        RingBufferEventQueue queue = new RingBufferEventQueue(4, WaitStrategy.BUSY_SPIN,
+                BackpressurePolicy.DROP_NEWEST);
+        int next = 0;
+        for (int round = 0; round < 100; round++) {
+            int count = 1 + round % 4;
+            for (int i = 0; i < count; i++) {
+                assertTrue(queue.offer(event(next + i)));
+            }
+            assertEquals(count, queue.size());
+            for (int i = 0; i < count; i++) {
+                assertEquals(next + i, queue.poll().getData());
+            }
+            assertNull(queue.poll());
+            next += count;
+        }
+        assertEquals(0, queue.size());
+    }
+
+    /**
+     * A batch is published across the end of the slot array
+     */
+    public void testOfferAllWrapsAround() {
+        RingBufferEventQueue queue = new RingBufferEventQueue(4, WaitStrategy.BUSY_SPIN,
+                BackpressurePolicy.DROP_NEWEST);
+        queue.offer(event(0));
+        queue.offer(event(1));
+        queue.offer(event(2));
+        queue.poll();
+        queue.poll();
+        assertEquals(3, queue.offerAll(Arrays.asList(event(3), event(4), event(5))));
+        for (int i = 2; i <= 5; i++) {
+            assertEquals(i, queue.poll().getData());
+        }
+        assertNull(queue.poll());
+    }
+
+    public void testDropNewest() {
+        RingBufferEventQueue queue = new RingBufferEventQueue(2, WaitStrategy.BUSY_SPIN,
+                BackpressurePolicy.DROP_NEWEST);
+        assertTrue(queue.offer(event(0)));
+        assertTrue(queue.offer(event(1)));
+        assertFalse(queue.offer(event(2)));
+        assertEquals(0, queue.poll().getData());
+        assertEquals(1, queue.poll().getData());
+        assertNull(queue.poll());
+    }
+
+    /**
+     * A full queue evicts its oldest events to make room
+     */
+    public void testDropOldest() {
+        RingBufferEventQueue queue = new RingBufferEventQueue(4, WaitStrategy.BUSY_SPIN,
+                BackpressurePolicy.DROP_OLDEST);
+        for (int i = 0; i < 7; i++) {
+            assertTrue(queue.offer(event(i)));
+        }
+        assertEquals(4, queue.size());
+        for (int i = 3; i < 7; i++) {
+            assertEquals(i, queue.poll().getData());
+        }
+        assertNull(queue.poll());
+    }
+
+    public void testFail() {
+        RingBufferEventQueue queue = new RingBufferEventQueue(2, WaitStrategy.BUSY_SPIN,
+                BackpressurePolicy.FAIL);
+        queue.offer(event(0));
+        queue.offer(event(1));
+        try {
+            queue.offer(event(2));
+            fail("Offered to a full queue");
+        } catch (IllegalStateException expected) {
+        }
+        assertEquals(2, queue.size());
+        assertEquals(0, queue.poll().getData());
+    }
+
+    /**
+     * Every event of several blocked producers is taken exactly once by
+     * several consumers, and each consumer sees the events of a producer in
+     * order
+     */
+    public void testConcurrentProducersAndConsumers() throws InterruptedException {
+        final RingBufferEventQueue queue = new RingBufferEventQueue(64, WaitStrategy.PARK,
+                BackpressurePolicy.BLOCK);
+        final BitSet[] received = new BitSet[PRODUCERS];
+        for (int i = 0; i < PRODUCERS; i++) {
+            received[i] = new BitSet(EVENTS);
+        }
+        final AtomicInteger duplicates = new AtomicInteger();
+        final AtomicInteger reordered = new AtomicInteger();
+        final AtomicInteger remaining = new AtomicInteger(PRODUCERS * EVENTS);
+        Thread[] threads = new Thread[PRODUCERS + CONSUMERS];
+        for (int i = 0; i < PRODUCERS; i++) {
+            final int producer = i;
+            threads[i] = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    for (int seq = 0; seq < EVENTS; seq++) {
+                        queue.offer(new Event("ring", producer, seq));
+                    }
+                }
+            }, "producer-" + i);
+        }
+        for (int i = 0; i < CONSUMERS; i++) {
+            threads[PRODUCERS + i] = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    int[] last = new int[PRODUCERS];
+                    Arrays.fill(last, -1);
+                    while (remaining.get() > 0) {
+                        Event event = queue.poll();
+                        if (event == null) {
+                            Thread.yield();
+                            continue;
+                        }
+                        int producer = (Integer) event.getContext();
+                        int seq = (Integer) event.getData();
+                        if (seq <= last[producer]) {
+                            reordered.incrementAndGet();
+                        }
+                        last[producer] = seq;
+                        synchronized (received[producer]) {
+                            if (received[producer].get(seq)) {
+                                duplicates.incrementAndGet();
+                            }
+                            received[producer].set(seq);
+                        }
+                        remaining.decrementAndGet();
+                    }
+                }
+            }, "consumer-" + i);
+        }
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join(TimeUnit.SECONDS.toMillis(30));
+            assertFalse(thread.getName() + " is stuck", thread.isAlive());
+        }
+
+        assertEquals(0, duplicates.get());
+        assertEquals(0, reordered.get());
+        for (int i = 0; i < PRODUCERS; i++) {
+            assertEquals("Events of producer " + i, EVENTS, received[i].cardinality());
+        }
+        assertNull(queue.poll());
+    }
+
+    /**
+     * A consumer parked in <code>take</code> receives an event offered
+     * afterwards
+     */
+    public void testParkedConsumerIsWokenUp() throws InterruptedException {
+        final RingBufferEventQueue queue = new RingBufferEventQueue(8, WaitStrategy.PARK,
+                BackpressurePolicy.BLOCK);
+        final AtomicReference<Event> taken = new AtomicReference<Event>();
+        final CountDownLatch done = new CountDownLatch(1);
+        Thread consumer = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    taken.set(queue.take());
+                } catch (InterruptedException ex) {
+                    return;
+                }
+                done.countDown();
+            }
+        }, "consumer");
+        consumer.start();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (LockSupport.getBlocker(consumer) != queue) {
+            assertTrue("The consumer never parked", System.nanoTime() < deadline);
+            Thread.yield();
+        }
+
+        Event event = event(42);
+        assertTrue(queue.offer(event));
+        assertTrue("The consumer was not woken up", done.await(10, TimeUnit.SECONDS));
+        assertSame(event, taken.get());
+    }
+
+    public void testTakeIsInterruptible() throws InterruptedException {
+        final RingBufferEventQueue queue = new RingBufferEventQueue(8, WaitStrategy.PARK,
+                BackpressurePolicy.BLOCK);
+        final CountDownLatch interrupted = new CountDownLatch(1);
+        Thread consumer = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    queue.take();
+                } catch (InterruptedException ex) {
+                    interrupted.countDown();
+                }
+            }
+        }, "consumer");
+        consumer.start();
+        consumer.interrupt();
+        assertTrue(interrupted.await(10, TimeUnit.SECONDS));
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ *  Copyright (C) 2026  agent <agent at local>
+ * 
+ *  This file is part of jedi.
+ * 
+ *  jedi is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ * 
+ *  jedi is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU LEsser General Public License for more details.
+ * 
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with jedi.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.jedi;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import junit.framework.TestCase;
+
+/**
+ * Checks expiry and cancellation of the {@link com.github.jedi.TimingWheel}.
+ *
+ * @author agent <agent at local>
+ */
+public class TimingWheelTest extends TestCase {
+
+    /**
+     * the wheel under test: 1 ms ticks and 8 buckets, so that longer delays
+     * take several revolutions
+     */
+    private TimingWheel wheel;
+
+    @Override
+    protected void setUp() {
+        wheel = new TimingWheel(getName(), 1, TimeUnit.MILLISECONDS, 8);
+    }
+
+    /**
+     * A task counting down a latch and recording when it ran
+     */
+    private static final class Task implements Runnable {
+
+        /**
+         * counted down when the task runs
+         */
+        final CountDownLatch done = new CountDownLatch(1);
+        /**
+         * when the task was scheduled, in ns
+         */
+        final long scheduledAt = System.nanoTime();
+        /**
+         * when the task ran, in ns
+         */
+        volatile long ranAt;
+
+        @Override
+        public void run() {
+            ranAt = System.nanoTime();
+            done.countDown();
+        }
+
+        /**
+         * Returns the time from scheduling to running
+         *
+         * @return the delay in ms
+         */
+        long delayMillis() {
+            return TimeUnit.NANOSECONDS.toMillis(ranAt - scheduledAt);
+        }
+    }
+
+    /**
+     * Tasks run once their delay has passed, also after several revolutions
+     * of the wheel
+     */
+    public void testExpiry() throws InterruptedException {
+        long[] delays = {0, 3, 7, 30, 100};
+        Task[] tasks = new Task[delays.length];
+        TimingWheel.Timeout[] timeouts = new TimingWheel.Timeout[delays.length];
+        for (int i = 0; i < delays.length; i++) {
+            tasks[i] = new Task();
+            timeouts[i] = wheel.schedule(tasks[i], delays[i], TimeUnit.MILLISECONDS);
+        }
+        for (int i = 0; i < delays.length; i++) {
+            assertTrue("Task " + i + " did not run", tasks[i].done.await(10, TimeUnit.SECONDS));
+            assertTrue("Task " + i + " ran after " + tasks[i].delayMillis() + " ms",
+                    tasks[i].delayMillis() >= delays[i]);
+            assertTrue(timeouts[i].isExpired());
+            assertFalse(timeouts[i].cancel());
+        }
+    }
+
+    /**
+     * A cancelled task never runs, while the other tasks of its bucket do
+     */
+    public void testCancel() throws InterruptedException {
+        Task cancelled = new Task();
+        Task kept = new Task();
+        TimingWheel.Timeout timeout = wheel.schedule(cancelled, 20, TimeUnit.MILLISECONDS);
+        wheel.schedule(kept, 20, TimeUnit.MILLISECONDS);
+        assertTrue(timeout.cancel());
+        assertFalse(timeout.cancel());
+        assertTrue(timeout.isCancelled());
+
+        assertTrue(kept.done.await(10, TimeUnit.SECONDS));
+        assertFalse(cancelled.done.await(100, TimeUnit.MILLISECONDS));
+        assertFalse(timeout.isExpired());
+    }
+
+    /**
+     * A task cancelled after it has been linked into its bucket does not run
+     */
+    public void testCancelLinkedTimeout() throws InterruptedException {
+        Task cancelled = new Task();
+        TimingWheel.Timeout timeout = wheel.schedule(cancelled, 50, TimeUnit.MILLISECONDS);
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (wheel.pendingTimeouts() > 0) {
+            assertTrue(System.nanoTime() < deadline);
+            Thread.sleep(1);
+        }
+        assertTrue(timeout.cancel());
+        assertFalse(cancelled.done.await(150, TimeUnit.MILLISECONDS));
+    }
+}